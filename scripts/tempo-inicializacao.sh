@@ -0,0 +1,37 @@
+#!/bin/bash
+# Mede o tempo até a primeira requisição (a partir do início da JVM) com a
+# configuração padrão, com o perfil producao e com o perfil producao mais o
+# arquivo CDS. Requer "mvn package -Pcds" antes. Argumentos extras são
+# repassados à aplicação (ex.: --spring.datasource.url=...).
+#
+#   scripts/tempo-inicializacao.sh [execucoes] [argumentos da aplicação...]
+
+EXECUCOES=${1:-5}
+shift
+JAR=$(ls target/minhasFinancas-*.jar | head -1)
+PRINCIPAL=com.john.minhasfinancas.MinhasFinancasApplication
+JAVA=${JAVA:-java}
+
+medir() {
+	local nome=$1
+	shift
+	local total=0
+	for i in $(seq "$EXECUCOES"); do
+		local ms
+		ms=$("$JAVA" "$@" --inicializacao.encerrar-apos-pronto=true "${ARGUMENTOS[@]}" 2>&1 \
+			| sed -n 's/.*Primeira requisi.* respondida \([0-9]*\) ms.*/\1/p')
+		if [ -z "$ms" ]; then
+			echo "$nome: a aplicação não respondeu à requisição de aquecimento" >&2
+			return 1
+		fi
+		total=$((total + ms))
+	done
+	echo "$nome: $((total / EXECUCOES)) ms em média até a primeira requisição ($EXECUCOES execuções)"
+}
+
+ARGUMENTOS=("$@")
+medir "padrão" -jar "$JAR"
+medir "producao" -jar "$JAR" --spring.profiles.active=producao
+if [ -f target/cds/jvm.args ]; then
+	medir "producao + CDS" @target/cds/jvm.args "$PRINCIPAL" --spring.profiles.active=producao
+fi
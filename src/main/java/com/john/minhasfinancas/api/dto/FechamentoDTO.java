@@ -0,0 +1,17 @@
+package com.john.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FechamentoDTO {
+
+	private Integer ano;
+	private Integer mes;
+
+}
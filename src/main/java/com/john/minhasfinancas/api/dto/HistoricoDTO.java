@@ -0,0 +1,28 @@
+package com.john.minhasfinancas.api.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoricoDTO {
+
+	private String operacao;
+	private LocalDateTime dataHora;
+	private Long usuario;
+
+	@JsonRawValue
+	private String anterior;
+
+	@JsonRawValue
+	private String atual;
+
+}
@@ -21,5 +21,7 @@ public class LancamentoDTO {
 	private BigDecimal valor;
 	private String tipo;
 	private String status;
+	private Long categoria;
+	private Integer parcela;
 
 }
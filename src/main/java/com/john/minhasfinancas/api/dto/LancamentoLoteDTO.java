@@ -0,0 +1,19 @@
+package com.john.minhasfinancas.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoLoteDTO {
+
+	private List<?> lancamentos;
+	private List<Long> naoEncontrados;
+
+}
@@ -0,0 +1,20 @@
+package com.john.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrevisaoDTO {
+
+	private BigDecimal saldoAtual;
+	private List<SaldoPrevistoDTO> meses;
+
+}
@@ -0,0 +1,20 @@
+package com.john.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecorrenciaDTO {
+
+	private Long id;
+	private Integer quantidadeParcelas;
+	private Integer anoFinal;
+	private Integer mesFinal;
+	private Boolean ativa;
+
+}
@@ -0,0 +1,19 @@
+package com.john.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenDTO {
+
+	private Long id;
+	private String nome;
+	private String email;
+	private String token;
+
+}
@@ -0,0 +1,49 @@
+package com.john.minhasfinancas.api.interceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.john.minhasfinancas.exception.ErroAutenticacao;
+import com.john.minhasfinancas.service.JwtService;
+
+public class AutenticacaoInterceptor implements HandlerInterceptor {
+
+	public static final String USUARIO_AUTENTICADO = "usuarioAutenticado";
+
+	private static final String PREFIXO = "Bearer ";
+
+	private final JwtService jwtService;
+
+	public AutenticacaoInterceptor(JwtService jwtService) {
+		this.jwtService = jwtService;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws Exception {
+		if (CorsUtils.isPreFlightRequest(request)) {
+			return true;
+		}
+
+		String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (authorization == null || !authorization.startsWith(PREFIXO)) {
+			response.sendError(HttpStatus.UNAUTHORIZED.value(), "Token não informado.");
+			return false;
+		}
+
+		try {
+			request.setAttribute(USUARIO_AUTENTICADO,
+					jwtService.obterUsuarioAutorizado(authorization.substring(PREFIXO.length())));
+			return true;
+		} catch (ErroAutenticacao e) {
+			response.sendError(HttpStatus.UNAUTHORIZED.value(), e.getMessage());
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.john.minhasfinancas.api.interceptor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.john.minhasfinancas.config.ContadorSql;
+import com.john.minhasfinancas.config.RegistroLatencias;
+
+/**
+ * Mede cada requisição do início do primeiro despacho ao fim da resposta, o
+ * que inclui o tempo dos relatórios assíncronos, e registra a latência pelo
+ * padrão do endpoint junto com a quantidade de comandos SQL executados.
+ */
+@Component
+public class LatenciaInterceptor implements AsyncHandlerInterceptor {
+
+	private static final String INICIO = LatenciaInterceptor.class.getName() + ".inicio";
+	private static final String CONTADOR = LatenciaInterceptor.class.getName() + ".contador";
+
+	private final RegistroLatencias registro;
+
+	public LatenciaInterceptor(RegistroLatencias registro) {
+		this.registro = registro;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws Exception {
+		if (handler instanceof HandlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+			request.setAttribute(INICIO, System.nanoTime());
+			request.setAttribute(CONTADOR, ContadorSql.iniciar());
+		}
+		return true;
+	}
+
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+			Object handler) throws Exception {
+		ContadorSql.associar(null);
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) throws Exception {
+		ContadorSql.associar(null);
+		Long inicio = (Long) request.getAttribute(INICIO);
+		if (inicio == null) {
+			return;
+		}
+		request.removeAttribute(INICIO);
+
+		AtomicInteger contador = (AtomicInteger) request.getAttribute(CONTADOR);
+		String endpoint = request.getMethod() + " "
+				+ request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String parametros = request.getQueryString() != null
+				? request.getRequestURI() + "?" + request.getQueryString()
+				: request.getRequestURI();
+		registro.registrarRequisicao(endpoint, parametros, System.nanoTime() - inicio, contador.get());
+	}
+
+}
@@ -0,0 +1,157 @@
+package com.john.minhasfinancas.api.interceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.john.minhasfinancas.model.entity.Usuario;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Os buckets cheios são removidos periodicamente; enquanto o mapa estiver no
+ * limite, as chaves novas dividem um único bucket de excedente, então uma
+ * enxurrada de chaves forjadas não faz o mapa crescer nem custa uma varredura
+ * na thread da requisição.
+ * <p>
+ * Nas requisições assíncronas o bulkhead continua ocupado enquanto o relatório
+ * roda fora da thread do Tomcat e só é liberado no afterCompletion do despacho
+ * assíncrono; o despacho em si não consome outro token nem outra vaga.
+ */
+@Component
+public class LimiteRequisicoesInterceptor implements AsyncHandlerInterceptor, MeterBinder {
+
+	private static final String BULKHEAD = LimiteRequisicoesInterceptor.class.getName() + ".bulkhead";
+
+	private final int capacidade;
+	private final double tokensPorSegundo;
+	private final int maximoBuckets;
+	private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+	private final TokenBucket excedente;
+	private final Semaphore leituras;
+	private final Semaphore escritas;
+	private final LongAdder rejeitadasPorTaxa = new LongAdder();
+	private final LongAdder rejeitadasPorLeitura = new LongAdder();
+	private final LongAdder rejeitadasPorEscrita = new LongAdder();
+
+	public LimiteRequisicoesInterceptor(@Value("${limite.requisicoes.capacidade:20}") int capacidade,
+			@Value("${limite.requisicoes.por-segundo:10}") double tokensPorSegundo,
+			@Value("${limite.requisicoes.maximo-usuarios:100000}") int maximoBuckets,
+			@Value("${limite.bulkhead.leitura:8}") int maximoLeituras,
+			@Value("${limite.bulkhead.escrita:16}") int maximoEscritas) {
+		this.capacidade = capacidade;
+		this.tokensPorSegundo = tokensPorSegundo;
+		this.maximoBuckets = maximoBuckets;
+		this.excedente = new TokenBucket(capacidade, tokensPorSegundo);
+		this.leituras = new Semaphore(maximoLeituras);
+		this.escritas = new Semaphore(maximoEscritas);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("limite.requisicoes.rejeitadas", rejeitadasPorTaxa, LongAdder::doubleValue)
+				.tag("motivo", "taxa").register(registry);
+		FunctionCounter.builder("limite.requisicoes.rejeitadas", rejeitadasPorLeitura, LongAdder::doubleValue)
+				.tag("motivo", "bulkhead-leitura").register(registry);
+		FunctionCounter.builder("limite.requisicoes.rejeitadas", rejeitadasPorEscrita, LongAdder::doubleValue)
+				.tag("motivo", "bulkhead-escrita").register(registry);
+		Gauge.builder("limite.bulkhead.disponivel", leituras, Semaphore::availablePermits).tag("tipo", "leitura")
+				.register(registry);
+		Gauge.builder("limite.bulkhead.disponivel", escritas, Semaphore::availablePermits).tag("tipo", "escrita")
+				.register(registry);
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws Exception {
+		if (CorsUtils.isPreFlightRequest(request) || !(handler instanceof HandlerMethod)
+				|| request.getDispatcherType() == DispatcherType.ASYNC) {
+			return true;
+		}
+
+		long espera = obterBucket(request).consumir();
+		if (espera > 0) {
+			rejeitadasPorTaxa.increment();
+			rejeitar(response, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(espera + TimeUnit.SECONDS.toNanos(1) - 1)));
+			return false;
+		}
+
+		Semaphore bulkhead = obterBulkhead(request, (HandlerMethod) handler);
+		if (bulkhead != null) {
+			if (!bulkhead.tryAcquire()) {
+				(bulkhead == leituras ? rejeitadasPorLeitura : rejeitadasPorEscrita).increment();
+				rejeitar(response, 1);
+				return false;
+			}
+			request.setAttribute(BULKHEAD, bulkhead);
+		}
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) throws Exception {
+		Semaphore bulkhead = (Semaphore) request.getAttribute(BULKHEAD);
+		if (bulkhead != null) {
+			request.removeAttribute(BULKHEAD);
+			bulkhead.release();
+		}
+	}
+
+	private TokenBucket obterBucket(HttpServletRequest request) {
+		Usuario usuario = (Usuario) request.getAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO);
+		String chave = usuario != null ? "usuario:" + usuario.getId() : "ip:" + request.getRemoteAddr();
+
+		TokenBucket bucket = buckets.get(chave);
+		if (bucket == null) {
+			if (buckets.size() >= maximoBuckets) {
+				return excedente;
+			}
+			bucket = buckets.computeIfAbsent(chave, c -> new TokenBucket(capacidade, tokensPorSegundo));
+		}
+		return bucket;
+	}
+
+	/**
+	 * Remove os buckets cheios, que se comportam igual a um bucket novo.
+	 */
+	@Scheduled(fixedDelayString = "${limite.requisicoes.limpeza:10000}")
+	public void limpar() {
+		buckets.values().removeIf(TokenBucket::cheio);
+	}
+
+	private Semaphore obterBulkhead(HttpServletRequest request, HandlerMethod handler) {
+		if (handler.hasMethodAnnotation(LeituraPesada.class)) {
+			return leituras;
+		}
+		if (!HttpMethod.GET.matches(request.getMethod())) {
+			return escritas;
+		}
+		return null;
+	}
+
+	private void rejeitar(HttpServletResponse response, long segundos) throws Exception {
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+		response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Limite de requisições excedido.");
+	}
+
+}
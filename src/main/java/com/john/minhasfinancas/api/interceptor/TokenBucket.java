@@ -0,0 +1,41 @@
+package com.john.minhasfinancas.api.interceptor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucket {
+
+	private final long intervaloNanos;
+	private final long toleranciaNanos;
+	private final AtomicLong proximaLiberacao;
+
+	public TokenBucket(int capacidade, double tokensPorSegundo) {
+		this.intervaloNanos = (long) (TimeUnit.SECONDS.toNanos(1) / tokensPorSegundo);
+		this.toleranciaNanos = intervaloNanos * capacidade;
+		this.proximaLiberacao = new AtomicLong(System.nanoTime() - toleranciaNanos);
+	}
+
+	/**
+	 * Consome um token. Retorna zero quando a requisição foi aceita ou o tempo
+	 * em nanossegundos até o próximo token ficar disponível.
+	 */
+	public long consumir() {
+		long agora = System.nanoTime();
+		while (true) {
+			long atual = proximaLiberacao.get();
+			long proxima = Math.max(atual, agora - toleranciaNanos) + intervaloNanos;
+			long espera = proxima - agora;
+			if (espera > 0) {
+				return espera;
+			}
+			if (proximaLiberacao.compareAndSet(atual, proxima)) {
+				return 0;
+			}
+		}
+	}
+
+	public boolean cheio() {
+		return proximaLiberacao.get() <= System.nanoTime() - toleranciaNanos;
+	}
+
+}
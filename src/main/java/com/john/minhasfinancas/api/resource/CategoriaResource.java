@@ -0,0 +1,39 @@
+package com.john.minhasfinancas.api.resource;
+
+import java.time.YearMonth;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.john.minhasfinancas.api.interceptor.AutenticacaoInterceptor;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.service.CategoriaService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("api/categorias")
+@RequiredArgsConstructor
+public class CategoriaResource {
+
+	private final CategoriaService service;
+
+	@GetMapping
+	public ResponseEntity listar() {
+		return ResponseEntity.ok(service.listar());
+	}
+
+	@GetMapping("totais")
+	public ResponseEntity obterTotais(@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam(value = "mes", required = false) Integer mes,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		YearMonth atual = YearMonth.now();
+		return ResponseEntity.ok(service.obterTotais(usuario.getId(), ano != null ? ano : atual.getYear(),
+				mes != null ? mes : atual.getMonthValue()));
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.john.minhasfinancas.api.resource;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.john.minhasfinancas.api.dto.FechamentoDTO;
+import com.john.minhasfinancas.api.interceptor.AutenticacaoInterceptor;
+import com.john.minhasfinancas.exception.RegraNegocioException;
+import com.john.minhasfinancas.model.entity.Fechamento;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.service.FechamentoService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("api/fechamentos")
+@RequiredArgsConstructor
+public class FechamentoResource {
+
+	private final FechamentoService service;
+
+	@PostMapping
+	public ResponseEntity fechar(@RequestBody FechamentoDTO dto,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		try {
+			Fechamento fechamento = service.fechar(usuario, dto.getAno(), dto.getMes());
+			return new ResponseEntity(fechamento, HttpStatus.CREATED);
+
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	@GetMapping
+	public ResponseEntity obterUltimoFechamento(
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		return service.obterUltimoFechamento(usuario.getId())
+				.map(fechamento -> new ResponseEntity(fechamento, HttpStatus.OK))
+				.orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND));
+	}
+
+}
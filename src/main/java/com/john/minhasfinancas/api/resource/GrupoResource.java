@@ -0,0 +1,212 @@
+package com.john.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.john.minhasfinancas.api.dto.GrupoDTO;
+import com.john.minhasfinancas.api.dto.MembroGrupoDTO;
+import com.john.minhasfinancas.api.interceptor.AutenticacaoInterceptor;
+import com.john.minhasfinancas.api.interceptor.LeituraPesada;
+import com.john.minhasfinancas.config.ExecutorRelatorios;
+import com.john.minhasfinancas.exception.RegraNegocioException;
+import com.john.minhasfinancas.exception.ServicoIndisponivelException;
+import com.john.minhasfinancas.model.entity.Grupo;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.LancamentoFiltro;
+import com.john.minhasfinancas.service.GrupoService;
+import com.john.minhasfinancas.service.LancamentoService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("api/grupos")
+@RequiredArgsConstructor
+public class GrupoResource {
+
+	private final GrupoService service;
+	private final LancamentoService lancamentoService;
+	private final ExecutorRelatorios executorRelatorios;
+
+	@PostMapping
+	public ResponseEntity criar(@RequestBody GrupoDTO dto,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		try {
+			Grupo grupo = service.criar(usuario, dto.getNome());
+			return new ResponseEntity(grupo, HttpStatus.CREATED);
+
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	@GetMapping
+	public ResponseEntity obterGrupos(
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		return ResponseEntity.ok(service.obterGruposDoUsuario(usuario.getId()));
+	}
+
+	@GetMapping("convites")
+	public ResponseEntity obterConvites(
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		return ResponseEntity.ok(service.obterConvitesDoUsuario(usuario.getId()));
+	}
+
+	@PostMapping("{id}/convites")
+	public ResponseEntity convidar(@PathVariable("id") Long id, @RequestBody MembroGrupoDTO dto,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		return service.obterGrupoDoMembro(id, usuario.getId()).map(grupo -> {
+			try {
+				return new ResponseEntity(service.convidar(grupo, usuario, dto.getEmail()), HttpStatus.CREATED);
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}).orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND));
+	}
+
+	@PostMapping("{id}/convites/aceite")
+	public ResponseEntity aceitarConvite(@PathVariable("id") Long id,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		return service.obterGrupoDoConvidado(id, usuario.getId()).map(grupo -> {
+			try {
+				return ResponseEntity.ok(service.aceitarConvite(grupo, usuario));
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}).orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND));
+	}
+
+	@DeleteMapping("{id}/convites")
+	public ResponseEntity recusarConvite(@PathVariable("id") Long id,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		return service.obterGrupoDoConvidado(id, usuario.getId()).map(grupo -> {
+			try {
+				service.recusarConvite(grupo, usuario);
+				return new ResponseEntity(HttpStatus.NO_CONTENT);
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}).orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND));
+	}
+
+	@DeleteMapping("{id}/membros/{idUsuario}")
+	public ResponseEntity removerMembro(@PathVariable("id") Long id, @PathVariable("idUsuario") Long idUsuario,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		return service.obterGrupoDoMembro(id, usuario.getId()).map(grupo -> {
+			try {
+				service.removerMembro(grupo, usuario, idUsuario);
+				return new ResponseEntity(HttpStatus.NO_CONTENT);
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}).orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND));
+	}
+
+	@GetMapping("{id}/saldo")
+	@LeituraPesada
+	public DeferredResult<ResponseEntity> obterSaldo(@PathVariable("id") Long id,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		Optional<Grupo> grupo = service.obterGrupoDoMembro(id, usuario.getId());
+		if (!grupo.isPresent()) {
+			return ExecutorRelatorios.concluido(new ResponseEntity(HttpStatus.NOT_FOUND));
+		}
+
+		return executorRelatorios.executar(() -> {
+			try {
+				BigDecimal saldo = service.obterRelatorio(grupo.get()).getSaldo();
+				return ResponseEntity.ok(saldo);
+			} catch (ServicoIndisponivelException e) {
+				return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.header(HttpHeaders.RETRY_AFTER, "1")
+						.body(e.getMessage());
+			}
+		});
+	}
+
+	@GetMapping("{id}/relatorio")
+	@LeituraPesada
+	public DeferredResult<ResponseEntity> obterRelatorio(@PathVariable("id") Long id,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		Optional<Grupo> grupo = service.obterGrupoDoMembro(id, usuario.getId());
+		if (!grupo.isPresent()) {
+			return ExecutorRelatorios.concluido(new ResponseEntity(HttpStatus.NOT_FOUND));
+		}
+
+		return executorRelatorios.executar(() -> {
+			try {
+				return ResponseEntity.ok(service.obterRelatorio(grupo.get()));
+			} catch (ServicoIndisponivelException e) {
+				return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.header(HttpHeaders.RETRY_AFTER, "1")
+						.body(e.getMessage());
+			}
+		});
+	}
+
+	@GetMapping("{id}/lancamentos")
+	@LeituraPesada
+	public ResponseEntity buscarLancamentos(@PathVariable("id") Long id,
+			@RequestParam(value = "descricao", required = false) String descricao,
+			@RequestParam(value = "mes", required = false) Integer mes,
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam(value = "tipo", required = false) TipoLancamento tipo,
+			@RequestParam(value = "status", required = false) StatusLancamento status,
+			@RequestParam(value = "categoria", required = false) Long categoria,
+			@RequestParam(value = "valorMinimo", required = false) BigDecimal valorMinimo,
+			@RequestParam(value = "valorMaximo", required = false) BigDecimal valorMaximo,
+			@RequestParam(value = "dataCadastroInicial", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataCadastroInicial,
+			@RequestParam(value = "dataCadastroFinal", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataCadastroFinal,
+			@RequestParam(value = "fields", required = false) List<String> campos,
+			Sort sort,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		Optional<Grupo> grupo = service.obterGrupoDoMembro(id, usuario.getId());
+		if (!grupo.isPresent()) {
+			return new ResponseEntity(HttpStatus.NOT_FOUND);
+		}
+
+		LancamentoFiltro filtro = LancamentoFiltro.builder()
+				.idsUsuarios(grupo.get().getMembros().stream().map(Usuario::getId).collect(Collectors.toList()))
+				.descricao(descricao)
+				.mes(mes)
+				.ano(ano)
+				.tipo(tipo)
+				.status(status)
+				.idCategoria(categoria)
+				.valorMinimo(valorMinimo)
+				.valorMaximo(valorMaximo)
+				.dataCadastroInicial(dataCadastroInicial)
+				.dataCadastroFinal(dataCadastroFinal)
+				.build();
+
+		try {
+			if (campos != null) {
+				return ResponseEntity.ok(lancamentoService.buscar(filtro, sort, campos));
+			}
+			return ResponseEntity.ok(lancamentoService.buscar(filtro, sort));
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+}
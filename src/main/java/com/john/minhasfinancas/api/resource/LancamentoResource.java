@@ -1,8 +1,20 @@
 package com.john.minhasfinancas.api.resource;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,20 +22,35 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import com.john.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.john.minhasfinancas.api.dto.HistoricoDTO;
 import com.john.minhasfinancas.api.dto.LancamentoDTO;
+import com.john.minhasfinancas.api.dto.LancamentoLoteDTO;
+import com.john.minhasfinancas.api.dto.RecorrenciaDTO;
+import com.john.minhasfinancas.api.interceptor.AutenticacaoInterceptor;
+import com.john.minhasfinancas.api.interceptor.LeituraPesada;
+import com.john.minhasfinancas.config.ExecutorRelatorios;
 import com.john.minhasfinancas.exception.RegraNegocioException;
+import com.john.minhasfinancas.model.entity.Categoria;
+import com.john.minhasfinancas.model.entity.HistoricoLancamento;
 import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.entity.Recorrencia;
 import com.john.minhasfinancas.model.entity.Usuario;
 import com.john.minhasfinancas.model.enums.StatusLancamento;
 import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.LancamentoFiltro;
+import com.john.minhasfinancas.service.DuplicidadeService;
+import com.john.minhasfinancas.service.ExclusaoService;
+import com.john.minhasfinancas.service.HistoricoService;
 import com.john.minhasfinancas.service.LancamentoService;
-import com.john.minhasfinancas.service.UsuarioService;
+import com.john.minhasfinancas.service.RecorrenciaService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -33,45 +60,187 @@ import lombok.RequiredArgsConstructor;
 public class LancamentoResource {
 
 	private final LancamentoService service;
-	private final UsuarioService usuarioService;
+	private final RecorrenciaService recorrenciaService;
+	private final DuplicidadeService duplicidadeService;
+	private final HistoricoService historicoService;
+	private final ExecutorRelatorios executorRelatorios;
+	private final ExclusaoService exclusaoService;
+
+	@Value("${lancamento.lote.maximo:100}")
+	private int maximoLote;
 
 	@GetMapping
+	@LeituraPesada
 	public ResponseEntity buscar(@RequestParam(value = "descricao", required = false) String descricao,
 			@RequestParam(value = "mes", required = false) Integer mes,
-			@RequestParam(value = "ano", required = false) Integer ano, @RequestParam("usuario") Long idUsuario) {
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam(value = "tipo", required = false) TipoLancamento tipo,
+			@RequestParam(value = "status", required = false) StatusLancamento status,
+			@RequestParam(value = "categoria", required = false) Long categoria,
+			@RequestParam(value = "valorMinimo", required = false) BigDecimal valorMinimo,
+			@RequestParam(value = "valorMaximo", required = false) BigDecimal valorMaximo,
+			@RequestParam(value = "dataCadastroInicial", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataCadastroInicial,
+			@RequestParam(value = "dataCadastroFinal", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataCadastroFinal,
+			@RequestParam(value = "anoInicial", required = false) Integer anoInicial,
+			@RequestParam(value = "mesInicial", required = false) Integer mesInicial,
+			@RequestParam(value = "anoFinal", required = false) Integer anoFinal,
+			@RequestParam(value = "mesFinal", required = false) Integer mesFinal,
+			@RequestParam(value = "fields", required = false) List<String> campos,
+			Sort sort,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+
+		LancamentoFiltro filtro = LancamentoFiltro.builder()
+				.idUsuario(usuario.getId())
+				.descricao(descricao)
+				.mes(mes)
+				.ano(ano)
+				.tipo(tipo)
+				.status(status)
+				.idCategoria(categoria)
+				.valorMinimo(valorMinimo)
+				.valorMaximo(valorMaximo)
+				.dataCadastroInicial(dataCadastroInicial)
+				.dataCadastroFinal(dataCadastroFinal)
+				.anoInicial(anoInicial)
+				.mesInicial(mesInicial)
+				.anoFinal(anoFinal)
+				.mesFinal(mesFinal)
+				.build();
 
-		Lancamento lancamentoFiltro = new Lancamento();
-		lancamentoFiltro.setDescricao(descricao);
-		lancamentoFiltro.setMes(mes);
-		lancamentoFiltro.setAno(ano);
+		try {
+			if (campos != null) {
+				return ResponseEntity.ok(service.buscar(filtro, sort, campos));
+			}
+			List<Lancamento> lancamentos = service.buscar(filtro, sort);
+			return ResponseEntity.ok(lancamentos);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@GetMapping("descricoes")
+	public ResponseEntity sugerirDescricoes(@RequestParam("prefixo") String prefixo,
+			@RequestParam(value = "limite", defaultValue = "10") int limite,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		return ResponseEntity.ok(service.sugerirDescricoes(usuario.getId(), prefixo, Math.min(limite, 50)));
+	}
 
-		Optional<Usuario> usuario = usuarioService.obterPorId(idUsuario);
+	@GetMapping("lote")
+	public ResponseEntity obterLote(@RequestParam("ids") List<Long> ids,
+			@RequestParam(value = "fields", required = false) List<String> campos,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		Set<Long> idsSolicitados = new LinkedHashSet<>(ids);
+		if (idsSolicitados.size() > maximoLote) {
+			return ResponseEntity.badRequest().body("Informe no máximo " + maximoLote + " lançamentos por consulta.");
+		}
 
-		if (!usuario.isPresent()) {
-			return ResponseEntity.badRequest()
-					.body("Não foi possível realizar a consulta. Usuário não encontrado para o id informado.");
-		} else {
-			lancamentoFiltro.setUsuario(usuario.get());
+		Map<Long, Object> encontrados = new HashMap<>();
+		try {
+			if (campos != null) {
+				for (Map<String, Object> lancamento : service.obterPorIds(usuario.getId(), idsSolicitados, campos)) {
+					encontrados.put((Long) lancamento.get("id"), lancamento);
+				}
+			} else {
+				for (Lancamento lancamento : service.obterPorIds(usuario.getId(), idsSolicitados)) {
+					encontrados.put(lancamento.getId(), converter(lancamento));
+				}
+			}
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
 		}
 
-		List<Lancamento> lancamentos = service.buscar(lancamentoFiltro);
-		return ResponseEntity.ok(lancamentos);
+		List<Object> lancamentos = new ArrayList<>(encontrados.size());
+		List<Long> naoEncontrados = new ArrayList<>();
+		for (Long id : idsSolicitados) {
+			Object lancamento = encontrados.get(id);
+			if (lancamento != null) {
+				lancamentos.add(lancamento);
+			} else {
+				naoEncontrados.add(id);
+			}
+		}
+
+		return ResponseEntity.ok(LancamentoLoteDTO.builder()
+				.lancamentos(lancamentos)
+				.naoEncontrados(naoEncontrados)
+				.build());
 	}
-	
+
+	@GetMapping("duplicados")
+	@LeituraPesada
+	public DeferredResult<ResponseEntity> buscarDuplicados(
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		return executorRelatorios.executar(() -> {
+			List<List<Long>> grupos = duplicidadeService.buscarGrupos(usuario.getId());
+
+			Map<Long, LancamentoDTO> lancamentos = new HashMap<>();
+			List<Long> ids = new ArrayList<>();
+			grupos.forEach(ids::addAll);
+			for (Lancamento lancamento : service.obterPorIds(usuario.getId(), ids)) {
+				lancamentos.put(lancamento.getId(), converter(lancamento));
+			}
+
+			List<List<LancamentoDTO>> duplicados = new ArrayList<>(grupos.size());
+			for (List<Long> grupo : grupos) {
+				List<LancamentoDTO> lancamentosDoGrupo = new ArrayList<>(grupo.size());
+				for (Long id : grupo) {
+					LancamentoDTO lancamento = lancamentos.get(id);
+					if (lancamento != null) {
+						lancamentosDoGrupo.add(lancamento);
+					}
+				}
+				if (lancamentosDoGrupo.size() > 1) {
+					duplicados.add(lancamentosDoGrupo);
+				}
+			}
+			return ResponseEntity.ok(duplicados);
+		});
+	}
+
 	@GetMapping("{id}")
-	public ResponseEntity obterLancamento(@PathVariable("id") Long id) {
-		return service.obterPorId(id)
+	public ResponseEntity obterLancamento(@PathVariable("id") Long id,
+			@RequestParam(value = "fields", required = false) List<String> campos,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		if (campos != null) {
+			try {
+				return service.obterPorIds(usuario.getId(), Collections.singleton(id), campos).stream()
+						.findFirst()
+						.map(lancamento -> new ResponseEntity(lancamento, HttpStatus.OK))
+						.orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND));
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}
+		return obterLancamentoDoUsuario(id, usuario)
 				.map(lancamento  -> new ResponseEntity(converter(lancamento), HttpStatus.OK))
 				.orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND));
 				
 	}
 
+	@GetMapping("{id}/historico")
+	public ResponseEntity obterHistorico(@PathVariable("id") Long id,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		List<HistoricoDTO> historico = new ArrayList<>();
+		for (HistoricoLancamento evento : historicoService.obterHistorico(id, usuario.getId())) {
+			historico.add(HistoricoDTO.builder()
+					.operacao(evento.getOperacao().name())
+					.dataHora(evento.getDataHora())
+					.usuario(evento.getIdUsuario())
+					.anterior(evento.getAnterior())
+					.atual(evento.getAtual())
+					.build());
+		}
+		return ResponseEntity.ok(historico);
+	}
+
 	@PostMapping
-	public ResponseEntity salvar(@RequestBody LancamentoDTO dto) {
+	public ResponseEntity salvar(@RequestBody LancamentoDTO dto,
+			@RequestParam(value = "permitirDuplicado", defaultValue = "false") boolean permitirDuplicado,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
 
 		try {
-			Lancamento entidade = converter(dto);
-			entidade = service.salvar(entidade);
+			Lancamento entidade = converter(dto, usuario);
+			entidade = service.salvar(entidade, permitirDuplicado);
 			return new ResponseEntity(entidade, HttpStatus.CREATED);
 
 		} catch (RegraNegocioException e) {
@@ -81,13 +250,12 @@ public class LancamentoResource {
 	}
 
 	@PutMapping("{id}")
-	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto) {
-		return service.obterPorId(id).map(entity -> {
+	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		return obterLancamentoDoUsuario(id, usuario).map(entity -> {
 			try {
-				Lancamento lancamento = converter(dto);
-				lancamento.setId(entity.getId());
-				service.atualizar(lancamento);
-				return ResponseEntity.ok(lancamento);
+				copiar(dto, entity);
+				return ResponseEntity.ok(service.atualizar(entity));
 			} catch (RegraNegocioException e) {
 				return ResponseEntity.badRequest().body(e.getMessage());
 			}
@@ -96,8 +264,9 @@ public class LancamentoResource {
 	}
 
 	@PutMapping("{id}/atualiza-status")
-	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto) {
-		return service.obterPorId(id).map(entity -> {
+	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		return obterLancamentoDoUsuario(id, usuario).map(entity -> {
 			StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
 			if (statusSelecionado == null) {
 				return ResponseEntity.badRequest()
@@ -116,14 +285,72 @@ public class LancamentoResource {
 
 	}
 
+	@PostMapping("{id}/recorrencia")
+	public ResponseEntity criarRecorrencia(@PathVariable("id") Long id, @RequestBody RecorrenciaDTO dto,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		return obterLancamentoDoUsuario(id, usuario).map(entity -> {
+			try {
+				Recorrencia regra = Recorrencia.builder()
+						.quantidadeParcelas(dto.getQuantidadeParcelas())
+						.anoFinal(dto.getAnoFinal())
+						.mesFinal(dto.getMesFinal())
+						.build();
+				Recorrencia recorrencia = recorrenciaService.criar(entity, regra);
+				return new ResponseEntity(converter(recorrencia), HttpStatus.CREATED);
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+
+		}).orElseGet(() -> new ResponseEntity("Lançamento não encontrado na base de  dados.", HttpStatus.BAD_REQUEST));
+	}
+
+	@DeleteMapping("{id}/recorrencia")
+	public ResponseEntity encerrarRecorrencia(@PathVariable("id") Long id,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		return obterLancamentoDoUsuario(id, usuario)
+				.map(Lancamento::getRecorrencia)
+				.map(recorrencia -> {
+					recorrenciaService.encerrar(recorrencia);
+					return new ResponseEntity(HttpStatus.NO_CONTENT);
+				})
+				.orElseGet(() -> new ResponseEntity("Recorrência não encontrada na base de  dados.", HttpStatus.BAD_REQUEST));
+	}
+
+	@PostMapping("exclusoes")
+	public ResponseEntity excluirPorFiltro(@RequestParam(value = "anoInicial", required = false) Integer anoInicial,
+			@RequestParam(value = "anoFinal", required = false) Integer anoFinal,
+			@RequestParam(value = "status", required = false) StatusLancamento status,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		try {
+			return new ResponseEntity(exclusaoService.iniciar(usuario.getId(), anoInicial, anoFinal, status),
+					HttpStatus.ACCEPTED);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	@GetMapping("exclusoes/{id}")
+	public ResponseEntity obterExclusao(@PathVariable("id") Long id,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		return exclusaoService.obterProgresso(usuario.getId(), id)
+				.map(progresso -> new ResponseEntity(progresso, HttpStatus.OK))
+				.orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND));
+	}
+
 	@DeleteMapping("{id}")
-	public ResponseEntity deletar(@PathVariable("id") Long id) {
-		return service.obterPorId(id).map(entity -> {
+	public ResponseEntity deletar(@PathVariable("id") Long id,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		return obterLancamentoDoUsuario(id, usuario).map(entity -> {
 			service.deletar(entity);
 			return new ResponseEntity(HttpStatus.NO_CONTENT);
 		}).orElseGet(() -> new ResponseEntity("Lançamento não encontrado na base de  dados.", HttpStatus.BAD_REQUEST));
 	}
 	
+	private Optional<Lancamento> obterLancamentoDoUsuario(Long id, Usuario usuario) {
+		return service.obterPorId(id)
+				.filter(lancamento -> lancamento.getUsuario().getId().equals(usuario.getId()));
+	}
+
 	private LancamentoDTO converter(Lancamento lancamento) {
 		return LancamentoDTO.builder()
 				.id(lancamento.getId())
@@ -133,22 +360,40 @@ public class LancamentoResource {
 				.mes(lancamento.getMes())
 				.tipo(lancamento.getTipo().name())
 				.status(lancamento.getStatus().name())
+				.categoria(lancamento.getCategoria() != null ? lancamento.getCategoria().getId() : null)
+				.parcela(lancamento.getParcela())
 				.usuario(lancamento.getUsuario().getId())
 				.build();
 	}
 
-	private Lancamento converter(LancamentoDTO dto) {
+	private RecorrenciaDTO converter(Recorrencia recorrencia) {
+		return RecorrenciaDTO.builder()
+				.id(recorrencia.getId())
+				.quantidadeParcelas(recorrencia.getQuantidadeParcelas())
+				.anoFinal(recorrencia.getAnoFinal())
+				.mesFinal(recorrencia.getMesFinal())
+				.ativa(recorrencia.getAtiva())
+				.build();
+	}
+
+	private Lancamento converter(LancamentoDTO dto, Usuario usuario) {
 		Lancamento lancamento = new Lancamento();
 		lancamento.setId(dto.getId());
+		lancamento.setUsuario(usuario);
+		copiar(dto, lancamento);
+		return lancamento;
+	}
+
+	/**
+	 * Copia apenas os campos editáveis, preservando recorrência, parcela,
+	 * data de cadastro e os campos de duplicidade de um lançamento existente.
+	 */
+	private void copiar(LancamentoDTO dto, Lancamento lancamento) {
 		lancamento.setDescricao(dto.getDescricao());
 		lancamento.setAno(dto.getAno());
 		lancamento.setMes(dto.getMes());
 		lancamento.setValor(dto.getValor());
-
-		Usuario usuario = usuarioService.obterPorId(dto.getUsuario())
-				.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o id informado."));
-
-		lancamento.setUsuario(usuario);
+		lancamento.setCategoria(dto.getCategoria() != null ? Categoria.builder().id(dto.getCategoria()).build() : null);
 
 		if (dto.getTipo() != null) {
 			lancamento.setTipo(TipoLancamento.valueOf(dto.getTipo()));
@@ -157,8 +402,6 @@ public class LancamentoResource {
 		if (dto.getStatus() != null) {
 			lancamento.setStatus(StatusLancamento.valueOf(dto.getStatus()));
 		}
-
-		return lancamento;
 	}
 
 }
@@ -0,0 +1,33 @@
+package com.john.minhasfinancas.api.resource;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.john.minhasfinancas.service.impl.AquecimentoCaches;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Prontidão na porta da aplicação, para o balanceador: o actuator só atende
+ * em 127.0.0.1.
+ */
+@RestController
+@RequestMapping("api/prontidao")
+@RequiredArgsConstructor
+public class ProntidaoResource {
+
+	private final AquecimentoCaches aquecimento;
+
+	@GetMapping
+	public ResponseEntity verificar() {
+		Health saude = aquecimento.saude();
+		return new ResponseEntity(saude,
+				Status.UP.equals(saude.getStatus()) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+}
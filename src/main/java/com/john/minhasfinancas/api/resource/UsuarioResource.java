@@ -1,22 +1,39 @@
 package com.john.minhasfinancas.api.resource;
 
 import java.math.BigDecimal;
-import java.util.Optional;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import com.john.minhasfinancas.api.dto.PrevisaoDTO;
+import com.john.minhasfinancas.api.dto.SaldoPrevistoDTO;
+import com.john.minhasfinancas.api.dto.TokenDTO;
 import com.john.minhasfinancas.api.dto.UsuarioDTO;
+import com.john.minhasfinancas.api.interceptor.AutenticacaoInterceptor;
+import com.john.minhasfinancas.api.interceptor.LeituraPesada;
+import com.john.minhasfinancas.config.ExecutorRelatorios;
 import com.john.minhasfinancas.exception.ErroAutenticacao;
 import com.john.minhasfinancas.exception.RegraNegocioException;
+import com.john.minhasfinancas.exception.ServicoIndisponivelException;
 import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.service.DashboardService;
+import com.john.minhasfinancas.service.JwtService;
 import com.john.minhasfinancas.service.LancamentoService;
+import com.john.minhasfinancas.service.PrevisaoSaldo;
+import com.john.minhasfinancas.service.PrevisaoService;
 import com.john.minhasfinancas.service.UsuarioService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,14 +45,28 @@ public class UsuarioResource {
 
 	private final UsuarioService service;
 	private final LancamentoService lancamentoService;
+	private final JwtService jwtService;
+	private final PrevisaoService previsaoService;
+	private final DashboardService dashboardService;
+	private final ExecutorRelatorios executorRelatorios;
 
 	@PostMapping("/autenticar")
 	public ResponseEntity autenticar(@RequestBody UsuarioDTO dto) {
 		try {
 			 Usuario usuarioAutencicado = service.autenticar(dto.getEmail(), dto.getSenha());
-			 return  ResponseEntity.ok(usuarioAutencicado);
+			 TokenDTO token = TokenDTO.builder()
+					 .id(usuarioAutencicado.getId())
+					 .nome(usuarioAutencicado.getNome())
+					 .email(usuarioAutencicado.getEmail())
+					 .token(jwtService.gerarToken(usuarioAutencicado))
+					 .build();
+			 return  ResponseEntity.ok(token);
 		} catch (ErroAutenticacao e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (ServicoIndisponivelException e) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, "1")
+					.body(e.getMessage());
 		}
 
 	}
@@ -50,20 +81,78 @@ public class UsuarioResource {
 
 		} catch (RegraNegocioException e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (ServicoIndisponivelException e) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, "1")
+					.body(e.getMessage());
 		}
 
 	}
 	
 	@GetMapping("{id}/saldo")
-	public ResponseEntity obterSaldo(@PathVariable("id") Long id) {
-		Optional<Usuario> usuario = service.obterPorId(id);
-
-		if (!usuario.isPresent()) {
-			return new ResponseEntity(HttpStatus.NOT_FOUND);
+	@LeituraPesada
+	public DeferredResult<ResponseEntity> obterSaldo(@PathVariable("id") Long id,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		if (!usuario.getId().equals(id)) {
+			return ExecutorRelatorios.concluido(new ResponseEntity(HttpStatus.NOT_FOUND));
 		}
 		
-		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
-		return ResponseEntity.ok(saldo);
+		return executorRelatorios.executar(() -> {
+			BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
+			return ResponseEntity.ok(saldo);
+		});
+	}
+
+	@GetMapping("{id}/dashboard")
+	@LeituraPesada
+	public DeferredResult<ResponseEntity> obterDashboard(@PathVariable("id") Long id,
+			@RequestParam(value = "ultimos", defaultValue = "5") int ultimos,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		if (!usuario.getId().equals(id)) {
+			return ExecutorRelatorios.concluido(new ResponseEntity(HttpStatus.NOT_FOUND));
+		}
+
+		return executorRelatorios.executar(() -> {
+			try {
+				return ResponseEntity.ok(dashboardService.obterDashboard(id, Math.max(1, Math.min(ultimos, 50))));
+			} catch (ServicoIndisponivelException e) {
+				return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.header(HttpHeaders.RETRY_AFTER, "1")
+						.body(e.getMessage());
+			}
+		});
+	}
+
+	@GetMapping("{id}/previsao")
+	@LeituraPesada
+	public DeferredResult<ResponseEntity> obterPrevisao(@PathVariable("id") Long id,
+			@RequestParam(value = "meses", required = false) Integer meses,
+			@RequestAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO) Usuario usuario) {
+		if (!usuario.getId().equals(id)) {
+			return ExecutorRelatorios.concluido(new ResponseEntity(HttpStatus.NOT_FOUND));
+		}
+
+		return executorRelatorios.executar(() -> {
+			PrevisaoSaldo previsao = previsaoService.prever(id);
+			int total = meses == null ? previsao.getMeses() : Math.max(0, Math.min(meses, previsao.getMeses()));
+
+			List<SaldoPrevistoDTO> saldos = new ArrayList<>(total);
+			for (int i = 0; i < total; i++) {
+				YearMonth periodo = previsao.getPeriodo(i);
+				saldos.add(SaldoPrevistoDTO.builder()
+						.ano(periodo.getYear())
+						.mes(periodo.getMonthValue())
+						.receitas(previsao.getReceitas(i))
+						.despesas(previsao.getDespesas(i))
+						.saldo(previsao.getSaldo(i))
+						.build());
+			}
+
+			return ResponseEntity.ok(PrevisaoDTO.builder()
+					.saldoAtual(previsao.getSaldoAtual())
+					.meses(saldos)
+					.build());
+		});
 	}
 
 }
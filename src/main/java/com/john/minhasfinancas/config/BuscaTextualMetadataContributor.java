@@ -0,0 +1,18 @@
+package com.john.minhasfinancas.config;
+
+import org.hibernate.boot.MetadataBuilder;
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+import com.john.minhasfinancas.service.impl.DescricaoServiceImpl;
+
+public class BuscaTextualMetadataContributor implements MetadataBuilderContributor {
+
+	@Override
+	public void contribute(MetadataBuilder metadataBuilder) {
+		metadataBuilder.applySqlFunction(DescricaoServiceImpl.FUNCAO_BUSCA_TEXTUAL, new SQLFunctionTemplate(
+				StandardBasicTypes.BOOLEAN, "to_tsvector('portuguese', financas.sem_acento(?1)) @@ to_tsquery('portuguese', ?2)"));
+	}
+
+}
@@ -0,0 +1,389 @@
+package com.john.minhasfinancas.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.Collections;
+
+/**
+ * Statement que mede cada execução e repassa para o
+ * {@link DataSourceMonitorado}. De um lote de comandos guarda o primeiro SQL
+ * e a quantidade. O prazo de {@link PrazoSql}, se houver, é aplicado na
+ * criação.
+ */
+class ComandoMonitorado implements Statement {
+
+	final DataSourceMonitorado dataSource;
+	private final Statement comando;
+	private final Connection conexao;
+	private String primeiroComandoLote;
+	private int comandosLote;
+
+	ComandoMonitorado(Statement comando, Connection conexao, DataSourceMonitorado dataSource) throws SQLException {
+		PrazoSql.aplicar(comando);
+		this.comando = comando;
+		this.conexao = conexao;
+		this.dataSource = dataSource;
+	}
+
+	@Override
+	public ResultSet executeQuery(String sql) throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comando.executeQuery(sql);
+		} finally {
+			medir(sql, System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public int executeUpdate(String sql) throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comando.executeUpdate(sql);
+		} finally {
+			medir(sql, System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public void close() throws SQLException {
+		comando.close();
+	}
+
+	@Override
+	public int getMaxFieldSize() throws SQLException {
+		return comando.getMaxFieldSize();
+	}
+
+	@Override
+	public void setMaxFieldSize(int valor) throws SQLException {
+		comando.setMaxFieldSize(valor);
+	}
+
+	@Override
+	public int getMaxRows() throws SQLException {
+		return comando.getMaxRows();
+	}
+
+	@Override
+	public void setMaxRows(int valor) throws SQLException {
+		comando.setMaxRows(valor);
+	}
+
+	@Override
+	public void setEscapeProcessing(boolean valor) throws SQLException {
+		comando.setEscapeProcessing(valor);
+	}
+
+	@Override
+	public int getQueryTimeout() throws SQLException {
+		return comando.getQueryTimeout();
+	}
+
+	@Override
+	public void setQueryTimeout(int segundos) throws SQLException {
+		comando.setQueryTimeout(segundos);
+	}
+
+	@Override
+	public void cancel() throws SQLException {
+		comando.cancel();
+	}
+
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		return comando.getWarnings();
+	}
+
+	@Override
+	public void clearWarnings() throws SQLException {
+		comando.clearWarnings();
+	}
+
+	@Override
+	public void setCursorName(String nome) throws SQLException {
+		comando.setCursorName(nome);
+	}
+
+	@Override
+	public boolean execute(String sql) throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comando.execute(sql);
+		} finally {
+			medir(sql, System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public ResultSet getResultSet() throws SQLException {
+		return comando.getResultSet();
+	}
+
+	@Override
+	public int getUpdateCount() throws SQLException {
+		return comando.getUpdateCount();
+	}
+
+	@Override
+	public boolean getMoreResults() throws SQLException {
+		return comando.getMoreResults();
+	}
+
+	@Override
+	public void setFetchDirection(int valor) throws SQLException {
+		comando.setFetchDirection(valor);
+	}
+
+	@Override
+	public int getFetchDirection() throws SQLException {
+		return comando.getFetchDirection();
+	}
+
+	@Override
+	public void setFetchSize(int valor) throws SQLException {
+		comando.setFetchSize(valor);
+	}
+
+	@Override
+	public int getFetchSize() throws SQLException {
+		return comando.getFetchSize();
+	}
+
+	@Override
+	public int getResultSetConcurrency() throws SQLException {
+		return comando.getResultSetConcurrency();
+	}
+
+	@Override
+	public int getResultSetType() throws SQLException {
+		return comando.getResultSetType();
+	}
+
+	@Override
+	public void addBatch(String sql) throws SQLException {
+		comando.addBatch(sql);
+		if (comandosLote == 0) {
+			primeiroComandoLote = sql;
+		}
+		comandosLote++;
+	}
+
+	@Override
+	public void clearBatch() throws SQLException {
+		comando.clearBatch();
+		limparLote();
+	}
+
+	@Override
+	public int[] executeBatch() throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comando.executeBatch();
+		} finally {
+			medirLote(System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return conexao;
+	}
+
+	@Override
+	public boolean getMoreResults(int atual) throws SQLException {
+		return comando.getMoreResults(atual);
+	}
+
+	@Override
+	public ResultSet getGeneratedKeys() throws SQLException {
+		return comando.getGeneratedKeys();
+	}
+
+	@Override
+	public int executeUpdate(String sql, int chavesGeradas) throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comando.executeUpdate(sql, chavesGeradas);
+		} finally {
+			medir(sql, System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public int executeUpdate(String sql, int[] indicesColunas) throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comando.executeUpdate(sql, indicesColunas);
+		} finally {
+			medir(sql, System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public int executeUpdate(String sql, String[] nomesColunas) throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comando.executeUpdate(sql, nomesColunas);
+		} finally {
+			medir(sql, System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public boolean execute(String sql, int chavesGeradas) throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comando.execute(sql, chavesGeradas);
+		} finally {
+			medir(sql, System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public boolean execute(String sql, int[] indicesColunas) throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comando.execute(sql, indicesColunas);
+		} finally {
+			medir(sql, System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public boolean execute(String sql, String[] nomesColunas) throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comando.execute(sql, nomesColunas);
+		} finally {
+			medir(sql, System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public int getResultSetHoldability() throws SQLException {
+		return comando.getResultSetHoldability();
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException {
+		return comando.isClosed();
+	}
+
+	@Override
+	public void setPoolable(boolean valor) throws SQLException {
+		comando.setPoolable(valor);
+	}
+
+	@Override
+	public boolean isPoolable() throws SQLException {
+		return comando.isPoolable();
+	}
+
+	@Override
+	public void closeOnCompletion() throws SQLException {
+		comando.closeOnCompletion();
+	}
+
+	@Override
+	public boolean isCloseOnCompletion() throws SQLException {
+		return comando.isCloseOnCompletion();
+	}
+
+	@Override
+	public long getLargeUpdateCount() throws SQLException {
+		return comando.getLargeUpdateCount();
+	}
+
+	@Override
+	public void setLargeMaxRows(long valor) throws SQLException {
+		comando.setLargeMaxRows(valor);
+	}
+
+	@Override
+	public long getLargeMaxRows() throws SQLException {
+		return comando.getLargeMaxRows();
+	}
+
+	@Override
+	public long[] executeLargeBatch() throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comando.executeLargeBatch();
+		} finally {
+			medirLote(System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql) throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comando.executeLargeUpdate(sql);
+		} finally {
+			medir(sql, System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql, int chavesGeradas) throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comando.executeLargeUpdate(sql, chavesGeradas);
+		} finally {
+			medir(sql, System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql, int[] indicesColunas) throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comando.executeLargeUpdate(sql, indicesColunas);
+		} finally {
+			medir(sql, System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql, String[] nomesColunas) throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comando.executeLargeUpdate(sql, nomesColunas);
+		} finally {
+			medir(sql, System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> tipo) throws SQLException {
+		return comando.unwrap(tipo);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> tipo) throws SQLException {
+		return comando.isWrapperFor(tipo);
+	}
+
+	void medir(String sql, long duracao) {
+		if (dataSource.lenta(duracao)) {
+			dataSource.capturar(sql, Collections.emptyList(), 1, duracao);
+		}
+	}
+
+	void medirLote(long duracao) {
+		if (dataSource.lenta(duracao)) {
+			dataSource.capturar(primeiroComandoLote, Collections.emptyList(), comandosLote, duracao);
+		}
+		limparLote();
+	}
+
+	void limparLote() {
+		primeiroComandoLote = null;
+		comandosLote = 0;
+	}
+
+}
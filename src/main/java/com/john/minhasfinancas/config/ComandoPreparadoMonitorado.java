@@ -0,0 +1,444 @@
+package com.john.minhasfinancas.config;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * PreparedStatement que guarda os parâmetros de bind para a captura de
+ * consultas lentas. Num lote guarda os parâmetros das primeiras
+ * {@value #MAXIMO_LINHAS_LOTE} linhas e conta todas.
+ */
+final class ComandoPreparadoMonitorado extends ComandoMonitorado implements PreparedStatement {
+
+	static final int MAXIMO_LINHAS_LOTE = 20;
+
+	private final PreparedStatement comandoPreparado;
+	private final String sql;
+	private final List<Object> parametros = new ArrayList<>();
+	private final List<List<Object>> lote = new ArrayList<>();
+	private int linhasLote;
+
+	ComandoPreparadoMonitorado(PreparedStatement comandoPreparado, String sql, Connection conexao,
+			DataSourceMonitorado dataSource) throws SQLException {
+		super(comandoPreparado, conexao, dataSource);
+		this.comandoPreparado = comandoPreparado;
+		this.sql = sql;
+	}
+
+	@Override
+	public ResultSet executeQuery() throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comandoPreparado.executeQuery();
+		} finally {
+			medir(System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public int executeUpdate() throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comandoPreparado.executeUpdate();
+		} finally {
+			medir(System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public void setNull(int indice, int tipoSql) throws SQLException {
+		comandoPreparado.setNull(indice, tipoSql);
+		definirParametro(indice, null);
+	}
+
+	@Override
+	public void setBoolean(int indice, boolean valor) throws SQLException {
+		comandoPreparado.setBoolean(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setByte(int indice, byte valor) throws SQLException {
+		comandoPreparado.setByte(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setShort(int indice, short valor) throws SQLException {
+		comandoPreparado.setShort(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setInt(int indice, int valor) throws SQLException {
+		comandoPreparado.setInt(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setLong(int indice, long valor) throws SQLException {
+		comandoPreparado.setLong(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setFloat(int indice, float valor) throws SQLException {
+		comandoPreparado.setFloat(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setDouble(int indice, double valor) throws SQLException {
+		comandoPreparado.setDouble(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setBigDecimal(int indice, BigDecimal valor) throws SQLException {
+		comandoPreparado.setBigDecimal(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setString(int indice, String valor) throws SQLException {
+		comandoPreparado.setString(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setBytes(int indice, byte[] valor) throws SQLException {
+		comandoPreparado.setBytes(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setDate(int indice, Date valor) throws SQLException {
+		comandoPreparado.setDate(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setTime(int indice, Time valor) throws SQLException {
+		comandoPreparado.setTime(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setTimestamp(int indice, Timestamp valor) throws SQLException {
+		comandoPreparado.setTimestamp(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setAsciiStream(int indice, InputStream valor, int tamanho) throws SQLException {
+		comandoPreparado.setAsciiStream(indice, valor, tamanho);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setUnicodeStream(int indice, InputStream valor, int tamanho) throws SQLException {
+		comandoPreparado.setUnicodeStream(indice, valor, tamanho);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setBinaryStream(int indice, InputStream valor, int tamanho) throws SQLException {
+		comandoPreparado.setBinaryStream(indice, valor, tamanho);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void clearParameters() throws SQLException {
+		comandoPreparado.clearParameters();
+		parametros.clear();
+	}
+
+	@Override
+	public void setObject(int indice, Object valor, int tipoSql) throws SQLException {
+		comandoPreparado.setObject(indice, valor, tipoSql);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setObject(int indice, Object valor) throws SQLException {
+		comandoPreparado.setObject(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public boolean execute() throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comandoPreparado.execute();
+		} finally {
+			medir(System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	public void addBatch() throws SQLException {
+		comandoPreparado.addBatch();
+		if (lote.size() < MAXIMO_LINHAS_LOTE) {
+			lote.add(new ArrayList<>(parametros));
+		}
+		linhasLote++;
+	}
+
+	@Override
+	public void setCharacterStream(int indice, Reader valor, int tamanho) throws SQLException {
+		comandoPreparado.setCharacterStream(indice, valor, tamanho);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setRef(int indice, Ref valor) throws SQLException {
+		comandoPreparado.setRef(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setBlob(int indice, Blob valor) throws SQLException {
+		comandoPreparado.setBlob(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setClob(int indice, Clob valor) throws SQLException {
+		comandoPreparado.setClob(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setArray(int indice, Array valor) throws SQLException {
+		comandoPreparado.setArray(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public ResultSetMetaData getMetaData() throws SQLException {
+		return comandoPreparado.getMetaData();
+	}
+
+	@Override
+	public void setDate(int indice, Date valor, Calendar calendario) throws SQLException {
+		comandoPreparado.setDate(indice, valor, calendario);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setTime(int indice, Time valor, Calendar calendario) throws SQLException {
+		comandoPreparado.setTime(indice, valor, calendario);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setTimestamp(int indice, Timestamp valor, Calendar calendario) throws SQLException {
+		comandoPreparado.setTimestamp(indice, valor, calendario);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setNull(int indice, int tipoSql, String nomeTipo) throws SQLException {
+		comandoPreparado.setNull(indice, tipoSql, nomeTipo);
+		definirParametro(indice, null);
+	}
+
+	@Override
+	public void setURL(int indice, URL valor) throws SQLException {
+		comandoPreparado.setURL(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public ParameterMetaData getParameterMetaData() throws SQLException {
+		return comandoPreparado.getParameterMetaData();
+	}
+
+	@Override
+	public void setRowId(int indice, RowId valor) throws SQLException {
+		comandoPreparado.setRowId(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setNString(int indice, String valor) throws SQLException {
+		comandoPreparado.setNString(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setNCharacterStream(int indice, Reader valor, long tamanho) throws SQLException {
+		comandoPreparado.setNCharacterStream(indice, valor, tamanho);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setNClob(int indice, NClob valor) throws SQLException {
+		comandoPreparado.setNClob(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setClob(int indice, Reader valor, long tamanho) throws SQLException {
+		comandoPreparado.setClob(indice, valor, tamanho);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setBlob(int indice, InputStream valor, long tamanho) throws SQLException {
+		comandoPreparado.setBlob(indice, valor, tamanho);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setNClob(int indice, Reader valor, long tamanho) throws SQLException {
+		comandoPreparado.setNClob(indice, valor, tamanho);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setSQLXML(int indice, SQLXML valor) throws SQLException {
+		comandoPreparado.setSQLXML(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setObject(int indice, Object valor, int tipoSql, int escala) throws SQLException {
+		comandoPreparado.setObject(indice, valor, tipoSql, escala);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setAsciiStream(int indice, InputStream valor, long tamanho) throws SQLException {
+		comandoPreparado.setAsciiStream(indice, valor, tamanho);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setBinaryStream(int indice, InputStream valor, long tamanho) throws SQLException {
+		comandoPreparado.setBinaryStream(indice, valor, tamanho);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setCharacterStream(int indice, Reader valor, long tamanho) throws SQLException {
+		comandoPreparado.setCharacterStream(indice, valor, tamanho);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setAsciiStream(int indice, InputStream valor) throws SQLException {
+		comandoPreparado.setAsciiStream(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setBinaryStream(int indice, InputStream valor) throws SQLException {
+		comandoPreparado.setBinaryStream(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setCharacterStream(int indice, Reader valor) throws SQLException {
+		comandoPreparado.setCharacterStream(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setNCharacterStream(int indice, Reader valor) throws SQLException {
+		comandoPreparado.setNCharacterStream(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setClob(int indice, Reader valor) throws SQLException {
+		comandoPreparado.setClob(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setBlob(int indice, InputStream valor) throws SQLException {
+		comandoPreparado.setBlob(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setNClob(int indice, Reader valor) throws SQLException {
+		comandoPreparado.setNClob(indice, valor);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setObject(int indice, Object valor, SQLType tipoSql, int escala) throws SQLException {
+		comandoPreparado.setObject(indice, valor, tipoSql, escala);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public void setObject(int indice, Object valor, SQLType tipoSql) throws SQLException {
+		comandoPreparado.setObject(indice, valor, tipoSql);
+		definirParametro(indice, valor);
+	}
+
+	@Override
+	public long executeLargeUpdate() throws SQLException {
+		long inicio = System.nanoTime();
+		try {
+			return comandoPreparado.executeLargeUpdate();
+		} finally {
+			medir(System.nanoTime() - inicio);
+		}
+	}
+
+	@Override
+	void medirLote(long duracao) {
+		if (dataSource.lenta(duracao)) {
+			dataSource.capturar(sql, new ArrayList<>(lote), linhasLote, duracao);
+		}
+		limparLote();
+	}
+
+	@Override
+	void limparLote() {
+		super.limparLote();
+		lote.clear();
+		linhasLote = 0;
+	}
+
+	private void medir(long duracao) {
+		if (dataSource.lenta(duracao)) {
+			dataSource.capturar(sql, Collections.singletonList(new ArrayList<>(parametros)), 1, duracao);
+		}
+	}
+
+	private void definirParametro(int indice, Object valor) {
+		while (parametros.size() < indice) {
+			parametros.add(null);
+		}
+		parametros.set(indice - 1, valor);
+	}
+
+}
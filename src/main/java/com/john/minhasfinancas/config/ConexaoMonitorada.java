@@ -0,0 +1,306 @@
+package com.john.minhasfinancas.config;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * Conexão do pool que devolve comandos monitorados. {@code prepareCall} não é
+ * medido: a aplicação não chama procedimentos.
+ */
+final class ConexaoMonitorada implements Connection {
+
+	private final Connection conexao;
+	private final DataSourceMonitorado dataSource;
+
+	ConexaoMonitorada(Connection conexao, DataSourceMonitorado dataSource) {
+		this.conexao = conexao;
+		this.dataSource = dataSource;
+	}
+
+	@Override
+	public Statement createStatement() throws SQLException {
+		return new ComandoMonitorado(conexao.createStatement(), this, dataSource);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		return new ComandoPreparadoMonitorado(conexao.prepareStatement(sql), sql, this, dataSource);
+	}
+
+	@Override
+	public CallableStatement prepareCall(String sql) throws SQLException {
+		return conexao.prepareCall(sql);
+	}
+
+	@Override
+	public String nativeSQL(String sql) throws SQLException {
+		return conexao.nativeSQL(sql);
+	}
+
+	@Override
+	public void setAutoCommit(boolean valor) throws SQLException {
+		conexao.setAutoCommit(valor);
+	}
+
+	@Override
+	public boolean getAutoCommit() throws SQLException {
+		return conexao.getAutoCommit();
+	}
+
+	@Override
+	public void commit() throws SQLException {
+		conexao.commit();
+	}
+
+	@Override
+	public void rollback() throws SQLException {
+		conexao.rollback();
+	}
+
+	@Override
+	public void close() throws SQLException {
+		conexao.close();
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException {
+		return conexao.isClosed();
+	}
+
+	@Override
+	public DatabaseMetaData getMetaData() throws SQLException {
+		return conexao.getMetaData();
+	}
+
+	@Override
+	public void setReadOnly(boolean valor) throws SQLException {
+		conexao.setReadOnly(valor);
+	}
+
+	@Override
+	public boolean isReadOnly() throws SQLException {
+		return conexao.isReadOnly();
+	}
+
+	@Override
+	public void setCatalog(String catalogo) throws SQLException {
+		conexao.setCatalog(catalogo);
+	}
+
+	@Override
+	public String getCatalog() throws SQLException {
+		return conexao.getCatalog();
+	}
+
+	@Override
+	public void setTransactionIsolation(int nivel) throws SQLException {
+		conexao.setTransactionIsolation(nivel);
+	}
+
+	@Override
+	public int getTransactionIsolation() throws SQLException {
+		return conexao.getTransactionIsolation();
+	}
+
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		return conexao.getWarnings();
+	}
+
+	@Override
+	public void clearWarnings() throws SQLException {
+		conexao.clearWarnings();
+	}
+
+	@Override
+	public Statement createStatement(int tipoResultado, int concorrencia) throws SQLException {
+		return new ComandoMonitorado(conexao.createStatement(tipoResultado, concorrencia), this, dataSource);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int tipoResultado, int concorrencia) throws SQLException {
+		return new ComandoPreparadoMonitorado(conexao.prepareStatement(sql, tipoResultado, concorrencia), sql, this, dataSource);
+	}
+
+	@Override
+	public CallableStatement prepareCall(String sql, int tipoResultado, int concorrencia) throws SQLException {
+		return conexao.prepareCall(sql, tipoResultado, concorrencia);
+	}
+
+	@Override
+	public Map<String, Class<?>> getTypeMap() throws SQLException {
+		return conexao.getTypeMap();
+	}
+
+	@Override
+	public void setTypeMap(Map<String, Class<?>> mapa) throws SQLException {
+		conexao.setTypeMap(mapa);
+	}
+
+	@Override
+	public void setHoldability(int retencao) throws SQLException {
+		conexao.setHoldability(retencao);
+	}
+
+	@Override
+	public int getHoldability() throws SQLException {
+		return conexao.getHoldability();
+	}
+
+	@Override
+	public Savepoint setSavepoint() throws SQLException {
+		return conexao.setSavepoint();
+	}
+
+	@Override
+	public Savepoint setSavepoint(String nome) throws SQLException {
+		return conexao.setSavepoint(nome);
+	}
+
+	@Override
+	public void rollback(Savepoint pontoSalvamento) throws SQLException {
+		conexao.rollback(pontoSalvamento);
+	}
+
+	@Override
+	public void releaseSavepoint(Savepoint pontoSalvamento) throws SQLException {
+		conexao.releaseSavepoint(pontoSalvamento);
+	}
+
+	@Override
+	public Statement createStatement(int tipoResultado, int concorrencia, int retencao) throws SQLException {
+		return new ComandoMonitorado(conexao.createStatement(tipoResultado, concorrencia, retencao), this, dataSource);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int tipoResultado, int concorrencia, int retencao) throws SQLException {
+		return new ComandoPreparadoMonitorado(conexao.prepareStatement(sql, tipoResultado, concorrencia, retencao), sql, this, dataSource);
+	}
+
+	@Override
+	public CallableStatement prepareCall(String sql, int tipoResultado, int concorrencia, int retencao) throws SQLException {
+		return conexao.prepareCall(sql, tipoResultado, concorrencia, retencao);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int chavesGeradas) throws SQLException {
+		return new ComandoPreparadoMonitorado(conexao.prepareStatement(sql, chavesGeradas), sql, this, dataSource);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int[] indicesColunas) throws SQLException {
+		return new ComandoPreparadoMonitorado(conexao.prepareStatement(sql, indicesColunas), sql, this, dataSource);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, String[] nomesColunas) throws SQLException {
+		return new ComandoPreparadoMonitorado(conexao.prepareStatement(sql, nomesColunas), sql, this, dataSource);
+	}
+
+	@Override
+	public Clob createClob() throws SQLException {
+		return conexao.createClob();
+	}
+
+	@Override
+	public Blob createBlob() throws SQLException {
+		return conexao.createBlob();
+	}
+
+	@Override
+	public NClob createNClob() throws SQLException {
+		return conexao.createNClob();
+	}
+
+	@Override
+	public SQLXML createSQLXML() throws SQLException {
+		return conexao.createSQLXML();
+	}
+
+	@Override
+	public boolean isValid(int segundos) throws SQLException {
+		return conexao.isValid(segundos);
+	}
+
+	@Override
+	public void setClientInfo(String nome, String valor) throws SQLClientInfoException {
+		conexao.setClientInfo(nome, valor);
+	}
+
+	@Override
+	public void setClientInfo(Properties propriedades) throws SQLClientInfoException {
+		conexao.setClientInfo(propriedades);
+	}
+
+	@Override
+	public String getClientInfo(String nome) throws SQLException {
+		return conexao.getClientInfo(nome);
+	}
+
+	@Override
+	public Properties getClientInfo() throws SQLException {
+		return conexao.getClientInfo();
+	}
+
+	@Override
+	public Array createArrayOf(String tipo, Object[] elementos) throws SQLException {
+		return conexao.createArrayOf(tipo, elementos);
+	}
+
+	@Override
+	public Struct createStruct(String tipo, Object[] atributos) throws SQLException {
+		return conexao.createStruct(tipo, atributos);
+	}
+
+	@Override
+	public void setSchema(String esquema) throws SQLException {
+		conexao.setSchema(esquema);
+	}
+
+	@Override
+	public String getSchema() throws SQLException {
+		return conexao.getSchema();
+	}
+
+	@Override
+	public void abort(Executor executor) throws SQLException {
+		conexao.abort(executor);
+	}
+
+	@Override
+	public void setNetworkTimeout(Executor executor, int milissegundos) throws SQLException {
+		conexao.setNetworkTimeout(executor, milissegundos);
+	}
+
+	@Override
+	public int getNetworkTimeout() throws SQLException {
+		return conexao.getNetworkTimeout();
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> tipo) throws SQLException {
+		return conexao.unwrap(tipo);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> tipo) throws SQLException {
+		return conexao.isWrapperFor(tipo);
+	}
+
+}
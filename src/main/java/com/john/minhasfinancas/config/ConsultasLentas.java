@@ -0,0 +1,204 @@
+package com.john.minhasfinancas.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Guarda, num anel limitado em memória, os comandos SQL que passaram do tempo
+ * limite junto com os parâmetros e o plano de execução. O plano é obtido numa
+ * thread própria, com fila limitada, direto no pool sem monitoramento. Só
+ * SELECTs sem {@code for update} rodam com EXPLAIN ANALYZE, e ainda assim numa
+ * transação somente leitura desfeita ao final; os demais comandos DML usam
+ * EXPLAIN simples e o restante fica sem plano. O EXPLAIN ANALYZE executa a
+ * consulta de novo, por isso vem desligado ({@code consultas-lentas.analisar}).
+ * Os parâmetros de bind são guardados mascarados: só números, booleanos e
+ * datas aparecem; os valores reais servem apenas para obter o plano.
+ */
+@Component
+public class ConsultasLentas implements MeterBinder {
+
+	private static final Logger log = LoggerFactory.getLogger(ConsultasLentas.class);
+
+	private static final String MASCARA = "***";
+
+	private final DataSource dataSource;
+	private final long limiteNanos;
+	private final int capacidade;
+	private final boolean analisar;
+	private final ThreadPoolExecutor executor;
+	private final Deque<ConsultaLenta> consultas = new ArrayDeque<>();
+	private final LongAdder capturadas = new LongAdder();
+	private final LongAdder semPlano = new LongAdder();
+
+	public ConsultasLentas(DataSource dataSource,
+			@Value("${consultas-lentas.limite:500}") long limiteMs,
+			@Value("${consultas-lentas.capacidade:100}") int capacidade,
+			@Value("${consultas-lentas.analisar:false}") boolean analisar,
+			@Value("${consultas-lentas.fila:20}") int tamanhoFila) {
+		this.dataSource = dataSource instanceof DataSourceMonitorado
+				? ((DataSourceMonitorado) dataSource).getTargetDataSource()
+				: dataSource;
+		this.limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteMs);
+		this.capacidade = capacidade;
+		this.analisar = analisar;
+		this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(tamanhoFila), runnable -> {
+					Thread thread = new Thread(runnable, "consultas-lentas");
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdownNow();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("sql.consultas.lentas", capturadas, LongAdder::doubleValue).register(registry);
+		FunctionCounter.builder("sql.consultas.lentas.sem-plano", semPlano, LongAdder::doubleValue)
+				.register(registry);
+	}
+
+	public boolean lenta(long duracaoNanos) {
+		return duracaoNanos >= limiteNanos;
+	}
+
+	/**
+	 * @param linhas parâmetros de bind de cada linha executada (num lote, das
+	 * primeiras linhas)
+	 * @param quantidade total de linhas executadas
+	 */
+	public void capturar(String sql, List<List<Object>> linhas, int quantidade, long duracaoNanos) {
+		capturadas.increment();
+		ConsultaLenta.ConsultaLentaBuilder consulta = ConsultaLenta.builder()
+				.sql(sql)
+				.parametros(linhas.stream()
+						.map(linha -> linha.stream().map(ConsultasLentas::mascarar).collect(Collectors.toList()))
+						.collect(Collectors.toList()))
+				.linhas(quantidade)
+				.duracao(TimeUnit.NANOSECONDS.toMicros(duracaoNanos) / 1000.0)
+				.dataHora(LocalDateTime.now());
+
+		String explain = explain(sql);
+		if (explain == null) {
+			guardar(consulta.build());
+			return;
+		}
+		try {
+			executor.execute(() -> guardar(consulta
+					.analisada(explain.contains("analyze"))
+					.plano(obterPlano(explain + sql, linhas.isEmpty() ? Collections.emptyList() : linhas.get(0)))
+					.build()));
+		} catch (RejectedExecutionException e) {
+			semPlano.increment();
+			guardar(consulta.build());
+		}
+	}
+
+	public List<ConsultaLenta> obterConsultas() {
+		synchronized (consultas) {
+			return new ArrayList<>(consultas);
+		}
+	}
+
+	private void guardar(ConsultaLenta consulta) {
+		synchronized (consultas) {
+			consultas.addFirst(consulta);
+			if (consultas.size() > capacidade) {
+				consultas.removeLast();
+			}
+		}
+	}
+
+	private String explain(String sql) {
+		String comando = sql.trim().toLowerCase(Locale.ROOT);
+		if (comando.startsWith("select") && !comando.contains(" for update")) {
+			return analisar ? "explain analyze " : "explain ";
+		}
+		if (comando.startsWith("select") || comando.startsWith("insert") || comando.startsWith("update")
+				|| comando.startsWith("delete")) {
+			return "explain ";
+		}
+		return null;
+	}
+
+	private String obterPlano(String explain, List<Object> parametros) {
+		try (Connection conexao = dataSource.getConnection()) {
+			conexao.setReadOnly(explain.contains("analyze"));
+			conexao.setAutoCommit(false);
+			try (PreparedStatement comando = conexao.prepareStatement(explain)) {
+				for (int i = 0; i < parametros.size(); i++) {
+					comando.setObject(i + 1, parametros.get(i));
+				}
+				List<String> linhas = new ArrayList<>();
+				try (ResultSet resultado = comando.executeQuery()) {
+					while (resultado.next()) {
+						linhas.add(resultado.getString(1));
+					}
+				}
+				return String.join("\n", linhas);
+			} finally {
+				conexao.rollback();
+			}
+		} catch (SQLException e) {
+			semPlano.increment();
+			log.debug("Falha ao obter o plano de {}", explain, e);
+			return "Falha ao obter o plano: " + e.getMessage();
+		}
+	}
+
+	private static String mascarar(Object parametro) {
+		if (parametro == null || parametro instanceof Number || parametro instanceof Boolean
+				|| parametro instanceof Date || parametro instanceof TemporalAccessor) {
+			return String.valueOf(parametro);
+		}
+		return MASCARA;
+	}
+
+	@Data
+	@Builder
+	public static class ConsultaLenta {
+		private String sql;
+		private List<List<String>> parametros;
+		private int linhas;
+		private double duracao;
+		private LocalDateTime dataHora;
+		private boolean analisada;
+		private String plano;
+	}
+
+}
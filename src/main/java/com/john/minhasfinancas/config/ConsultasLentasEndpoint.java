@@ -0,0 +1,30 @@
+package com.john.minhasfinancas.config;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.john.minhasfinancas.config.ConsultasLentas.ConsultaLenta;
+
+/**
+ * Consultas lentas capturadas, da mais recente para a mais antiga, em
+ * {@code /actuator/consultaslentas} na porta de administração.
+ */
+@Component
+@Endpoint(id = "consultaslentas")
+public class ConsultasLentasEndpoint {
+
+	private final ConsultasLentas consultasLentas;
+
+	public ConsultasLentasEndpoint(ConsultasLentas consultasLentas) {
+		this.consultasLentas = consultasLentas;
+	}
+
+	@ReadOperation
+	public List<ConsultaLenta> consultas() {
+		return consultasLentas.obterConsultas();
+	}
+
+}
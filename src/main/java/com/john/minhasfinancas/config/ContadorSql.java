@@ -0,0 +1,42 @@
+package com.john.minhasfinancas.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conta os comandos SQL executados na requisição associada à thread corrente.
+ * A contagem é feita por {@link DataSourceMonitorado}, então inclui tanto o
+ * Hibernate quanto o JdbcTemplate.
+ */
+public final class ContadorSql {
+
+	private static final ThreadLocal<AtomicInteger> CONTADOR = new ThreadLocal<>();
+
+	private ContadorSql() {
+	}
+
+	public static AtomicInteger iniciar() {
+		AtomicInteger contador = new AtomicInteger();
+		CONTADOR.set(contador);
+		return contador;
+	}
+
+	public static AtomicInteger atual() {
+		return CONTADOR.get();
+	}
+
+	public static void associar(AtomicInteger contador) {
+		if (contador != null) {
+			CONTADOR.set(contador);
+		} else {
+			CONTADOR.remove();
+		}
+	}
+
+	public static void contar() {
+		AtomicInteger contador = CONTADOR.get();
+		if (contador != null) {
+			contador.incrementAndGet();
+		}
+	}
+
+}
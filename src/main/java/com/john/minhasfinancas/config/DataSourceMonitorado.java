@@ -0,0 +1,59 @@
+package com.john.minhasfinancas.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Mede a execução de cada comando SQL, através de {@link ConexaoMonitorada} e
+ * dos comandos que ela devolve, e repassa para {@link ConsultasLentas} e
+ * {@link ContadorSql}. Numa execução rápida o custo é o de dois
+ * {@code System.nanoTime()} e uma comparação.
+ */
+public class DataSourceMonitorado extends DelegatingDataSource {
+
+	private final ObjectProvider<ConsultasLentas> provedor;
+	private volatile ConsultasLentas consultas;
+
+	public DataSourceMonitorado(DataSource alvo, ObjectProvider<ConsultasLentas> provedor) {
+		super(alvo);
+		this.provedor = provedor;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return new ConexaoMonitorada(super.getConnection(), this);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return new ConexaoMonitorada(super.getConnection(username, password), this);
+	}
+
+	boolean lenta(long duracaoNanos) {
+		ContadorSql.contar();
+		ConsultasLentas atual = consultas();
+		return atual != null && atual.lenta(duracaoNanos);
+	}
+
+	void capturar(String sql, List<List<Object>> linhas, int quantidade, long duracaoNanos) {
+		if (sql != null) {
+			consultas().capturar(sql, linhas, quantidade, duracaoNanos);
+		}
+	}
+
+	private ConsultasLentas consultas() {
+		ConsultasLentas atual = consultas;
+		if (atual == null) {
+			atual = provedor.getIfAvailable();
+			consultas = atual;
+		}
+		return atual;
+	}
+
+}
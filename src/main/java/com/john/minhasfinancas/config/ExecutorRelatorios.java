@@ -0,0 +1,123 @@
+package com.john.minhasfinancas.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Executa relatórios e cálculos pesados fora das threads do Tomcat. No modo
+ * ASSINCRONO a tarefa vai para um pool limitado e a thread da requisição é
+ * liberada; quando o pool está cheio a resposta é 503 imediato e, ao esgotar o
+ * tempo limite ou a conexão cair, a tarefa é cancelada. No modo SINCRONO a
+ * tarefa roda na própria thread da requisição. Os comandos SQL da tarefa
+ * contam para a requisição que a originou.
+ */
+@Component
+public class ExecutorRelatorios implements MeterBinder {
+
+	public enum Modo {
+		ASSINCRONO,
+		SINCRONO
+	}
+
+	private final Modo modo;
+	private final long tempoLimiteMs;
+	private final ThreadPoolExecutor executor;
+	private final LongAdder rejeitados = new LongAdder();
+	private final LongAdder expirados = new LongAdder();
+
+	public ExecutorRelatorios(@Value("${relatorios.modo:ASSINCRONO}") Modo modo,
+			@Value("${relatorios.executor.threads:4}") int threads,
+			@Value("${relatorios.executor.fila:50}") int tamanhoFila,
+			@Value("${relatorios.tempo-limite:10000}") long tempoLimiteMs) {
+		this.modo = modo;
+		this.tempoLimiteMs = tempoLimiteMs;
+
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(tamanhoFila), runnable -> {
+					Thread thread = new Thread(runnable, "relatorios-" + contador.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdownNow();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		new ExecutorServiceMetrics(executor, "relatorios", Tags.empty()).bindTo(registry);
+		FunctionCounter.builder("relatorios.recusados", rejeitados, LongAdder::doubleValue).tag("motivo", "fila-cheia")
+				.register(registry);
+		FunctionCounter.builder("relatorios.recusados", expirados, LongAdder::doubleValue).tag("motivo", "tempo-limite")
+				.register(registry);
+	}
+
+	public DeferredResult<ResponseEntity> executar(Supplier<ResponseEntity> tarefa) {
+		DeferredResult<ResponseEntity> resultado = new DeferredResult<>(tempoLimiteMs);
+		if (modo == Modo.SINCRONO) {
+			resultado.setResult(tarefa.get());
+			return resultado;
+		}
+
+		AtomicInteger contadorSql = ContadorSql.atual();
+		Future<?> execucao;
+		try {
+			execucao = executor.submit(() -> {
+				ContadorSql.associar(contadorSql);
+				try {
+					resultado.setResult(tarefa.get());
+				} catch (RuntimeException e) {
+					resultado.setErrorResult(e);
+				} finally {
+					ContadorSql.associar(null);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			rejeitados.increment();
+			resultado.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, "1")
+					.body("Muitos relatórios em andamento; tente novamente."));
+			return resultado;
+		}
+
+		resultado.onTimeout(() -> {
+			expirados.increment();
+			execucao.cancel(true);
+			resultado.setResult(new ResponseEntity("Não foi possível concluir o relatório no tempo esperado.",
+					HttpStatus.SERVICE_UNAVAILABLE));
+		});
+		resultado.onError(e -> execucao.cancel(true));
+		return resultado;
+	}
+
+	public static DeferredResult<ResponseEntity> concluido(ResponseEntity resposta) {
+		DeferredResult<ResponseEntity> resultado = new DeferredResult<>();
+		resultado.setResult(resposta);
+		return resultado;
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.john.minhasfinancas.config;
+
+import java.lang.reflect.Method;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+@Configuration
+public class InicializacaoConfiguration {
+
+	/**
+	 * Com {@code spring.main.lazy-initialization} os agendamentos só seriam
+	 * registrados quando o bean fosse usado pela primeira vez, então beans com
+	 * métodos {@link Scheduled} continuam sendo criados na inicialização.
+	 */
+	@Bean
+	public static LazyInitializationExcludeFilter agendamentosNaInicializacao() {
+		return (nome, definicao, tipo) -> tipo != null && possuiAgendamento(tipo);
+	}
+
+	private static boolean possuiAgendamento(Class<?> tipo) {
+		for (Method metodo : ReflectionUtils.getUniqueDeclaredMethods(tipo)) {
+			if (AnnotatedElementUtils.hasAnnotation(metodo, Scheduled.class)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.john.minhasfinancas.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registra a latência de cada método de {@code LancamentoService} e
+ * {@code UsuarioService}, inclusive quando termina com exceção.
+ */
+@Aspect
+@Component
+public class LatenciaServicos {
+
+	private final RegistroLatencias registro;
+
+	public LatenciaServicos(RegistroLatencias registro) {
+		this.registro = registro;
+	}
+
+	@Around("execution(public * com.john.minhasfinancas.service.LancamentoService.*(..))"
+			+ " || execution(public * com.john.minhasfinancas.service.UsuarioService.*(..))")
+	public Object medir(ProceedingJoinPoint chamada) throws Throwable {
+		long inicio = System.nanoTime();
+		try {
+			return chamada.proceed();
+		} finally {
+			registro.registrar(chamada.getSignature().getDeclaringType().getSimpleName() + "."
+					+ chamada.getSignature().getName(), System.nanoTime() - inicio);
+		}
+	}
+
+}
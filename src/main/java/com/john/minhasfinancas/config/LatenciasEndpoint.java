@@ -0,0 +1,33 @@
+package com.john.minhasfinancas.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Diagnóstico de latências em {@code /actuator/latencias}, exposto apenas na
+ * porta de administração.
+ */
+@Component
+@Endpoint(id = "latencias")
+public class LatenciasEndpoint {
+
+	private final RegistroLatencias registro;
+
+	public LatenciasEndpoint(RegistroLatencias registro) {
+		this.registro = registro;
+	}
+
+	@ReadOperation
+	public Map<String, Object> latencias() {
+		Map<String, Object> latencias = new LinkedHashMap<>();
+		latencias.put("janelaSegundos", registro.getJanelaSegundos());
+		latencias.put("latencias", registro.obterResumos());
+		latencias.put("maisLentas", registro.obterMaisLentas());
+		return latencias;
+	}
+
+}
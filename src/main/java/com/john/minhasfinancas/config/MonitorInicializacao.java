@@ -0,0 +1,101 @@
+package com.john.minhasfinancas.config;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Mede, a partir do início da JVM, o tempo até a aplicação ficar pronta e até
+ * a primeira requisição ser respondida. Com
+ * {@code inicializacao.encerrar-apos-pronto} a aplicação faz ela mesma a
+ * primeira requisição e encerra, o que serve tanto ao benchmark de
+ * inicialização quanto à execução de treino do arquivo CDS.
+ */
+@Component
+public class MonitorInicializacao extends OncePerRequestFilter implements MeterBinder {
+
+	private static final Logger log = LoggerFactory.getLogger(MonitorInicializacao.class);
+
+	private final boolean encerrarAposPronto;
+	private final String urlAquecimento;
+	private final AtomicLong pronta = new AtomicLong(-1);
+	private final AtomicLong primeiraRequisicao = new AtomicLong(-1);
+
+	public MonitorInicializacao(@Value("${inicializacao.encerrar-apos-pronto:false}") boolean encerrarAposPronto,
+			@Value("${inicializacao.url-aquecimento:/api/lancamentos}") String urlAquecimento) {
+		this.encerrarAposPronto = encerrarAposPronto;
+		this.urlAquecimento = urlAquecimento;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("aplicacao.inicializacao", pronta, AtomicLong::get).tag("etapa", "pronta")
+				.baseUnit("milliseconds").register(registry);
+		Gauge.builder("aplicacao.inicializacao", primeiraRequisicao, AtomicLong::get)
+				.tag("etapa", "primeira-requisicao").baseUnit("milliseconds").register(registry);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			if (primeiraRequisicao.get() < 0 && primeiraRequisicao.compareAndSet(-1, tempoDesdeInicio())) {
+				log.info("Primeira requisição respondida {} ms após o início da JVM", primeiraRequisicao.get());
+			}
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void pronta(ApplicationReadyEvent evento) {
+		pronta.set(tempoDesdeInicio());
+		log.info("Aplicação pronta {} ms após o início da JVM", pronta.get());
+
+		if (encerrarAposPronto) {
+			ConfigurableApplicationContext contexto = evento.getApplicationContext();
+			String porta = contexto.getEnvironment().getProperty("local.server.port", "8080");
+			Thread encerramento = new Thread(() -> {
+				requisitar("http://localhost:" + porta + urlAquecimento);
+				System.exit(SpringApplication.exit(contexto));
+			}, "inicializacao-encerramento");
+			encerramento.start();
+		}
+	}
+
+	private static void requisitar(String url) {
+		try {
+			HttpURLConnection conexao = (HttpURLConnection) new URL(url).openConnection();
+			log.info("Requisição de aquecimento {} respondida com {}", url, conexao.getResponseCode());
+			conexao.disconnect();
+		} catch (IOException e) {
+			log.warn("Falha na requisição de aquecimento {}", url, e);
+		}
+	}
+
+	private static long tempoDesdeInicio() {
+		return ManagementFactory.getRuntimeMXBean().getUptime();
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.john.minhasfinancas.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MonitoramentoSqlConfiguration {
+
+	/**
+	 * Envolve o DataSource do pool; {@link ConsultasLentas} só é obtido na
+	 * primeira execução para não antecipar a criação de beans.
+	 */
+	@Bean
+	public static BeanPostProcessor dataSourceMonitorado(ObjectProvider<ConsultasLentas> consultas) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String nome) {
+				if (bean instanceof DataSource && !(bean instanceof DataSourceMonitorado)) {
+					return new DataSourceMonitorado((DataSource) bean, consultas);
+				}
+				return bean;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.john.minhasfinancas.config;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prazo dos comandos SQL executados pela thread corrente. Enquanto houver um
+ * prazo, cada comando criado por {@link ConexaoMonitorada} recebe um
+ * {@code setQueryTimeout} com o tempo restante, arredondado para cima em
+ * segundos, para que o próprio banco aborte a consulta: interromper a thread
+ * não cancela uma consulta já enviada ao driver.
+ */
+public final class PrazoSql {
+
+	private static final ThreadLocal<Long> PRAZO = new ThreadLocal<>();
+
+	private PrazoSql() {
+	}
+
+	public static <T> Callable<T> limitar(long prazoNanos, Callable<T> consulta) {
+		return () -> {
+			PRAZO.set(prazoNanos);
+			try {
+				return consulta.call();
+			} finally {
+				PRAZO.remove();
+			}
+		};
+	}
+
+	static void aplicar(Statement comando) throws SQLException {
+		Long prazo = PRAZO.get();
+		if (prazo == null) {
+			return;
+		}
+
+		long restante = prazo - System.nanoTime();
+		if (restante <= 0) {
+			throw new SQLTimeoutException("Prazo da consulta esgotado.");
+		}
+		comando.setQueryTimeout((int) TimeUnit.NANOSECONDS.toSeconds(restante + TimeUnit.SECONDS.toNanos(1) - 1));
+	}
+
+}
@@ -0,0 +1,183 @@
+package com.john.minhasfinancas.config;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Mantém um histograma de latências por endpoint e por método de serviço. A
+ * gravação é sem bloqueio (um {@link Recorder} por nome) e a cada intervalo o
+ * histograma corrente entra numa janela deslizante com os últimos intervalos
+ * completos; os percentis são sempre calculados sobre essa janela. Guarda
+ * também as requisições mais lentas da janela, com parâmetros e quantidade de
+ * comandos SQL.
+ */
+@Component
+public class RegistroLatencias {
+
+	private static final int DIGITOS_SIGNIFICATIVOS = 3;
+
+	private static final double[] PERCENTIS = { 50, 90, 99, 99.9, 99.99 };
+
+	private final int intervalos;
+	private final long intervaloMs;
+	private final int maximoAmostras;
+	private final Map<String, Janela> janelas = new ConcurrentHashMap<>();
+	private final PriorityQueue<RequisicaoLenta> maisLentas = new PriorityQueue<>(
+			Comparator.comparingDouble(RequisicaoLenta::getDuracao));
+	private volatile double limiarAmostra;
+
+	public RegistroLatencias(@Value("${latencias.intervalos:6}") int intervalos,
+			@Value("${latencias.intervalo:10000}") long intervaloMs,
+			@Value("${latencias.amostras-lentas:20}") int maximoAmostras) {
+		this.intervalos = intervalos;
+		this.intervaloMs = intervaloMs;
+		this.maximoAmostras = maximoAmostras;
+	}
+
+	public void registrar(String nome, long duracaoNanos) {
+		janelas.computeIfAbsent(nome, n -> new Janela(intervalos)).recorder
+				.recordValue(TimeUnit.NANOSECONDS.toMicros(duracaoNanos));
+	}
+
+	public void registrarRequisicao(String endpoint, String parametros, long duracaoNanos, int comandosSql) {
+		registrar(endpoint, duracaoNanos);
+
+		double duracao = milissegundos(TimeUnit.NANOSECONDS.toMicros(duracaoNanos));
+		if (duracao <= limiarAmostra) {
+			return;
+		}
+		synchronized (maisLentas) {
+			maisLentas.add(RequisicaoLenta.builder()
+					.endpoint(endpoint)
+					.parametros(parametros)
+					.duracao(duracao)
+					.comandosSql(comandosSql)
+					.dataHora(LocalDateTime.now())
+					.build());
+			if (maisLentas.size() > maximoAmostras) {
+				maisLentas.poll();
+			}
+			atualizarLimiar();
+		}
+	}
+
+	@Scheduled(fixedRateString = "${latencias.intervalo:10000}")
+	public void rotacionar() {
+		janelas.values().forEach(Janela::rotacionar);
+
+		LocalDateTime inicioJanela = LocalDateTime.now()
+				.minusNanos(TimeUnit.MILLISECONDS.toNanos(intervaloMs * intervalos));
+		synchronized (maisLentas) {
+			maisLentas.removeIf(requisicao -> requisicao.getDataHora().isBefore(inicioJanela));
+			atualizarLimiar();
+		}
+	}
+
+	public List<ResumoLatencia> obterResumos() {
+		return janelas.entrySet().stream()
+				.map(entrada -> resumir(entrada.getKey(), entrada.getValue().acumulado()))
+				.filter(resumo -> resumo.getQuantidade() > 0)
+				.sorted(Comparator.comparing(ResumoLatencia::getNome))
+				.collect(Collectors.toList());
+	}
+
+	public List<RequisicaoLenta> obterMaisLentas() {
+		synchronized (maisLentas) {
+			List<RequisicaoLenta> requisicoes = new ArrayList<>(maisLentas);
+			requisicoes.sort(Comparator.comparingDouble(RequisicaoLenta::getDuracao).reversed());
+			return requisicoes;
+		}
+	}
+
+	public long getJanelaSegundos() {
+		return TimeUnit.MILLISECONDS.toSeconds(intervaloMs * intervalos);
+	}
+
+	private void atualizarLimiar() {
+		limiarAmostra = maisLentas.size() < maximoAmostras ? 0 : maisLentas.peek().getDuracao();
+	}
+
+	private static ResumoLatencia resumir(String nome, Histogram histograma) {
+		Map<String, Double> percentis = new LinkedHashMap<>();
+		for (double percentil : PERCENTIS) {
+			percentis.put("p" + String.valueOf(percentil).replaceAll("\\.0$", ""),
+					milissegundos(histograma.getValueAtPercentile(percentil)));
+		}
+		return ResumoLatencia.builder()
+				.nome(nome)
+				.quantidade(histograma.getTotalCount())
+				.media(histograma.getTotalCount() > 0 ? histograma.getMean() / 1000 : 0)
+				.maxima(milissegundos(histograma.getMaxValue()))
+				.percentis(percentis)
+				.build();
+	}
+
+	private static double milissegundos(long microssegundos) {
+		return microssegundos / 1000.0;
+	}
+
+	private static class Janela {
+
+		private final Recorder recorder = new Recorder(DIGITOS_SIGNIFICATIVOS);
+		private final Histogram[] intervalos;
+		private int atual;
+
+		Janela(int quantidade) {
+			this.intervalos = new Histogram[quantidade];
+		}
+
+		synchronized void rotacionar() {
+			atual = (atual + 1) % intervalos.length;
+			intervalos[atual] = recorder.getIntervalHistogram(intervalos[atual]);
+		}
+
+		synchronized Histogram acumulado() {
+			Histogram acumulado = new Histogram(DIGITOS_SIGNIFICATIVOS);
+			for (Histogram intervalo : intervalos) {
+				if (intervalo != null) {
+					acumulado.add(intervalo);
+				}
+			}
+			return acumulado;
+		}
+
+	}
+
+	@Data
+	@Builder
+	public static class ResumoLatencia {
+		private String nome;
+		private long quantidade;
+		private double media;
+		private double maxima;
+		private Map<String, Double> percentis;
+	}
+
+	@Data
+	@Builder
+	public static class RequisicaoLenta {
+		private String endpoint;
+		private String parametros;
+		private double duracao;
+		private int comandosSql;
+		private LocalDateTime dataHora;
+	}
+
+}
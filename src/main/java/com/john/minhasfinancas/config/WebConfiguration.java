@@ -1,17 +1,57 @@
 package com.john.minhasfinancas.config;
 
+import java.util.List;
+
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.john.minhasfinancas.api.interceptor.AutenticacaoInterceptor;
+import com.john.minhasfinancas.api.interceptor.LatenciaInterceptor;
+import com.john.minhasfinancas.api.interceptor.LimiteRequisicoesInterceptor;
+import com.john.minhasfinancas.service.JwtService;
+
+import lombok.RequiredArgsConstructor;
+
 
 @EnableWebMvc
 @Configuration
+@RequiredArgsConstructor
 public class WebConfiguration implements WebMvcConfigurer {
 
+	private final JwtService jwtService;
+	private final LimiteRequisicoesInterceptor limiteRequisicoesInterceptor;
+	private final LatenciaInterceptor latenciaInterceptor;
+
 	@Override
 	public void addCorsMappings(CorsRegistry registry) {
 			registry.addMapping("/**").allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS");
 	}
+
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		for (HttpMessageConverter<?> converter : converters) {
+			if (converter instanceof AbstractJackson2HttpMessageConverter) {
+				((AbstractJackson2HttpMessageConverter) converter).getObjectMapper()
+						.registerModule(new AfterburnerModule());
+			}
+		}
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(latenciaInterceptor)
+				.addPathPatterns("/api/**");
+		registry.addInterceptor(new AutenticacaoInterceptor(jwtService))
+				.addPathPatterns("/api/lancamentos/**", "/api/fechamentos/**", "/api/categorias/**", "/api/grupos/**",
+						"/api/usuarios/*/saldo", "/api/usuarios/*/previsao", "/api/usuarios/*/dashboard");
+		registry.addInterceptor(limiteRequisicoesInterceptor)
+				.addPathPatterns("/api/**")
+				.excludePathPatterns("/api/prontidao");
+	}
 }
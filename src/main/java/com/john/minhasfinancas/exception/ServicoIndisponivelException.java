@@ -0,0 +1,13 @@
+package com.john.minhasfinancas.exception;
+
+/**
+ * O serviço não conseguiu atender a tempo ou está sobrecarregado; a
+ * requisição pode ser repetida depois (HTTP 503).
+ */
+public class ServicoIndisponivelException extends RuntimeException {
+
+	public ServicoIndisponivelException(String mensagem) {
+		super(mensagem);
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.john.minhasfinancas.model.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import com.john.minhasfinancas.model.enums.OperacaoHistorico;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "evento_lancamento", schema = "financas", indexes = {
+		@Index(name = "idx_evento_lancamento_publicado", columnList = "publicado, id") })
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoLancamento {
+
+	@Id
+	@GeneratedValue( strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Column(name = "id_lancamento")
+	private Long idLancamento;
+
+	@Column(name = "operacao")
+	@Enumerated(value = EnumType.STRING)
+	private OperacaoHistorico operacao;
+
+	@Column(name = "ano")
+	private Integer ano;
+
+	@Column(name = "mes")
+	private Integer mes;
+
+	@Column(name = "ano_anterior")
+	private Integer anoAnterior;
+
+	@Column(name = "mes_anterior")
+	private Integer mesAnterior;
+
+	@Column(name = "data_criacao")
+	@Convert(converter = Jsr310JpaConverters.LocalDateTimeConverter.class)
+	private LocalDateTime dataCriacao;
+
+	@Column(name = "publicado")
+	private Boolean publicado;
+
+	@Column(name = "tentativas")
+	private Integer tentativas;
+
+}
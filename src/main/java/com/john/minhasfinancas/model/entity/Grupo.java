@@ -0,0 +1,67 @@
+package com.john.minhasfinancas.model.entity;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.JoinTable;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.Version;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "grupo", schema = "financas")
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Grupo {
+
+	@Id
+	@GeneratedValue( strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+
+	@Column(name = "nome")
+	private String nome;
+
+	@ManyToOne
+	@JoinColumn(name = "id_responsavel")
+	private Usuario responsavel;
+
+	@ManyToMany(fetch = FetchType.EAGER)
+	@JoinTable(name = "grupo_usuario", schema = "financas",
+			joinColumns = @JoinColumn(name = "id_grupo"),
+			inverseJoinColumns = @JoinColumn(name = "id_usuario"))
+	private Set<Usuario> membros;
+
+	@ManyToMany(fetch = FetchType.EAGER)
+	@JoinTable(name = "grupo_convite", schema = "financas",
+			joinColumns = @JoinColumn(name = "id_grupo"),
+			inverseJoinColumns = @JoinColumn(name = "id_usuario"))
+	private Set<Usuario> convidados;
+
+	@Column(name = "data_criacao")
+	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+	private LocalDate dataCriacao;
+
+	@Version
+	@Column(name = "versao")
+	private Long versao;
+
+}
@@ -0,0 +1,59 @@
+package com.john.minhasfinancas.model.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import com.john.minhasfinancas.model.enums.OperacaoHistorico;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "lancamento_historico", schema = "financas", indexes = {
+		@Index(name = "idx_lancamento_historico_lancamento", columnList = "id_lancamento, id") })
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoricoLancamento {
+
+	@Id
+	@GeneratedValue( strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+
+	@Column(name = "id_lancamento")
+	private Long idLancamento;
+
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Column(name = "operacao")
+	@Enumerated(value = EnumType.STRING)
+	private OperacaoHistorico operacao;
+
+	@Column(name = "anterior", length = 2000)
+	private String anterior;
+
+	@Column(name = "atual", length = 2000)
+	private String atual;
+
+	@Column(name = "data_hora")
+	@Convert(converter = Jsr310JpaConverters.LocalDateTimeConverter.class)
+	private LocalDateTime dataHora;
+
+}
@@ -2,31 +2,53 @@ package com.john.minhasfinancas.model.entity;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
 import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import com.john.minhasfinancas.model.enums.StatusLancamento;
 import com.john.minhasfinancas.model.enums.TipoLancamento;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "lancamento", schema = "financas")
+@Table(name = "lancamento", schema = "financas", indexes = {
+		@Index(name = "idx_lancamento_usuario_ano_mes", columnList = "id_usuario, ano, mes"),
+		@Index(name = "idx_lancamento_usuario_tipo_status", columnList = "id_usuario, tipo, status"),
+		@Index(name = "idx_lancamento_usuario_status", columnList = "id_usuario, status"),
+		@Index(name = "idx_lancamento_usuario_valor", columnList = "id_usuario, valor"),
+		@Index(name = "idx_lancamento_usuario_data_cadastro", columnList = "id_usuario, data_cadastro"),
+		@Index(name = "idx_lancamento_usuario_categoria", columnList = "id_usuario, id_categoria"),
+		@Index(name = "idx_lancamento_usuario_assinatura", columnList = "id_usuario, assinatura") },
+		uniqueConstraints = {
+				@UniqueConstraint(name = "uk_lancamento_recorrencia_parcela", columnNames = { "id_recorrencia", "parcela" }),
+				@UniqueConstraint(name = "uk_lancamento_usuario_chave_envio", columnNames = { "id_usuario", "chave_envio" }) })
+@SQLDelete(sql = "update financas.lancamento set deletado_em = current_timestamp where id = ?")
+@Where(clause = "deletado_em is null")
 @Builder
 @Data
 @NoArgsConstructor
@@ -66,4 +88,34 @@ public class Lancamento {
 	@Enumerated(value = EnumType.STRING)
 	private StatusLancamento status;
 
+	@ManyToOne
+	@JoinColumn(name = "id_categoria")
+	private Categoria categoria;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_recorrencia")
+	@JsonIgnore
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
+	private Recorrencia recorrencia;
+
+	@Column(name = "parcela")
+	private Integer parcela;
+
+	@Column(name = "assinatura")
+	@JsonIgnore
+	private Long assinatura;
+
+	@Column(name = "chave_envio")
+	@JsonIgnore
+	private Long chaveEnvio;
+
+	@Column(name = "possivel_duplicado")
+	private Boolean possivelDuplicado;
+
+	@Column(name = "deletado_em")
+	@Convert(converter = Jsr310JpaConverters.LocalDateTimeConverter.class)
+	@JsonIgnore
+	private LocalDateTime deletadoEm;
+
 }
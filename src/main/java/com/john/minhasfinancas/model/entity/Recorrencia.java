@@ -0,0 +1,77 @@
+package com.john.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "recorrencia", schema = "financas",
+		indexes = @Index(name = "idx_recorrencia_ativa_usuario", columnList = "ativa, id_usuario"))
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Recorrencia {
+
+	@Id
+	@GeneratedValue( strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+
+	@ManyToOne
+	@JoinColumn(name = "id_usuario")
+	private Usuario usuario;
+
+	@Column(name = "descricao")
+	private String descricao;
+
+	@Column(name = "valor")
+	private BigDecimal valor;
+
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+
+	@ManyToOne
+	@JoinColumn(name = "id_categoria")
+	private Categoria categoria;
+
+	@Column(name = "ano_inicial")
+	private Integer anoInicial;
+
+	@Column(name = "mes_inicial")
+	private Integer mesInicial;
+
+	@Column(name = "quantidade_parcelas")
+	private Integer quantidadeParcelas;
+
+	@Column(name = "ano_final")
+	private Integer anoFinal;
+
+	@Column(name = "mes_final")
+	private Integer mesFinal;
+
+	@Column(name = "ultima_parcela")
+	private Integer ultimaParcela;
+
+	@Column(name = "ativa")
+	private Boolean ativa;
+
+}
@@ -0,0 +1,59 @@
+package com.john.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "total_categoria", schema = "financas",
+		uniqueConstraints = @UniqueConstraint(name = "uk_total_categoria",
+				columnNames = { "id_usuario", "ano", "mes", "id_categoria", "tipo" }))
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TotalCategoria {
+
+	@Id
+	@GeneratedValue( strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Column(name = "id_categoria")
+	private Long idCategoria;
+
+	@Column(name = "ano")
+	private Integer ano;
+
+	@Column(name = "mes")
+	private Integer mes;
+
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+
+	@Column(name = "quantidade")
+	private Long quantidade;
+
+	@Column(name = "valor")
+	private BigDecimal valor;
+
+}
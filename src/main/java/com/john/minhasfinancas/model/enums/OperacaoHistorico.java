@@ -0,0 +1,8 @@
+package com.john.minhasfinancas.model.enums;
+
+public enum OperacaoHistorico {
+	CRIACAO,
+	ALTERACAO,
+	EXCLUSAO
+
+}
@@ -0,0 +1,9 @@
+package com.john.minhasfinancas.model.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.john.minhasfinancas.model.entity.Categoria;
+
+public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
+
+}
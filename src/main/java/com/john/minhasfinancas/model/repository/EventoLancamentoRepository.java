@@ -0,0 +1,31 @@
+package com.john.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.john.minhasfinancas.model.entity.EventoLancamento;
+
+public interface EventoLancamentoRepository extends JpaRepository<EventoLancamento, Long> {
+
+	List<EventoLancamento> findByPublicadoFalseOrderByIdAsc(Pageable pageable);
+
+	@Modifying
+	@Query( value = " update EventoLancamento e set e.publicado = true where e.id in :ids " )
+	int marcarPublicados(@Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Query( value = " update EventoLancamento e set e.tentativas = e.tentativas + 1 where e.id in :ids " )
+	int registrarTentativa(@Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Query( value = " delete from EventoLancamento e where e.publicado = true and e.dataCriacao < :limite " )
+	int removerPublicadosAntesDe(@Param("limite") LocalDateTime limite);
+
+}
@@ -0,0 +1,12 @@
+package com.john.minhasfinancas.model.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.john.minhasfinancas.model.entity.Fechamento;
+
+public interface FechamentoRepository extends JpaRepository<Fechamento, Long> {
+
+	Optional<Fechamento> findFirstByUsuarioIdOrderByAnoDescMesDesc(Long idUsuario);
+}
@@ -0,0 +1,26 @@
+package com.john.minhasfinancas.model.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.john.minhasfinancas.model.entity.Grupo;
+
+public interface GrupoRepository extends JpaRepository<Grupo, Long> {
+
+	@Query( value = " select g from Grupo g join g.membros m where m.id = :idUsuario order by g.nome " )
+	List<Grupo> obterPorMembro(@Param("idUsuario") Long idUsuario);
+
+	@Query( value = " select g from Grupo g join g.membros m where g.id = :id and m.id = :idUsuario " )
+	Optional<Grupo> obterPorIdEMembro(@Param("id") Long id, @Param("idUsuario") Long idUsuario);
+
+	@Query( value = " select g from Grupo g join g.convidados c where c.id = :idUsuario order by g.nome " )
+	List<Grupo> obterPorConvidado(@Param("idUsuario") Long idUsuario);
+
+	@Query( value = " select g from Grupo g join g.convidados c where g.id = :id and c.id = :idUsuario " )
+	Optional<Grupo> obterPorIdEConvidado(@Param("id") Long id, @Param("idUsuario") Long idUsuario);
+
+}
@@ -0,0 +1,13 @@
+package com.john.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.john.minhasfinancas.model.entity.HistoricoLancamento;
+
+public interface HistoricoLancamentoRepository extends JpaRepository<HistoricoLancamento, Long> {
+
+	List<HistoricoLancamento> findByIdLancamentoAndIdUsuarioOrderByIdAsc(Long idLancamento, Long idUsuario);
+
+}
@@ -0,0 +1,38 @@
+package com.john.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoFiltro {
+
+	private Long idUsuario;
+	private Collection<Long> idsUsuarios;
+	private String descricao;
+	private TipoLancamento tipo;
+	private StatusLancamento status;
+	private Long idCategoria;
+	private BigDecimal valorMinimo;
+	private BigDecimal valorMaximo;
+	private LocalDate dataCadastroInicial;
+	private LocalDate dataCadastroFinal;
+	private Integer ano;
+	private Integer mes;
+	private Integer anoInicial;
+	private Integer mesInicial;
+	private Integer anoFinal;
+	private Integer mesFinal;
+
+}
@@ -1,8 +1,13 @@
 package com.john.minhasfinancas.model.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -10,7 +15,8 @@ import com.john.minhasfinancas.model.entity.Lancamento;
 import com.john.minhasfinancas.model.enums.StatusLancamento;
 import com.john.minhasfinancas.model.enums.TipoLancamento;
 
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
+public interface LancamentoRepository
+		extends JpaRepository<Lancamento, Long>, JpaSpecificationExecutor<Lancamento>, LancamentoRepositoryCustom {
 
 	@Query( value = 
 			  " select sum(l.valor) from Lancamento l join l.usuario u "
@@ -19,4 +25,60 @@ public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
 			@Param("idUsuario") Long idUsuario, 
 			@Param("tipo") TipoLancamento tipo,
 	        @Param("status") StatusLancamento status);
+
+	@Query( value = 
+			  " select sum(l.valor) from Lancamento l join l.usuario u "
+			+ " where u.id = :idUsuario and l.tipo =:tipo and l.status = :status "
+			+ " and l.ano >= :anoInicial and (l.ano > :anoInicial or l.mes > :mesInicial) "
+			+ " and l.ano <= :anoFinal and (l.ano < :anoFinal or l.mes <= :mesFinal) group by u " )
+	BigDecimal obterSaldoPorTipoLancamentoEUsuarioEStatusEntrePeriodos(
+			@Param("idUsuario") Long idUsuario, 
+			@Param("tipo") TipoLancamento tipo,
+	        @Param("status") StatusLancamento status,
+	        @Param("anoInicial") Integer anoInicial,
+	        @Param("mesInicial") Integer mesInicial,
+	        @Param("anoFinal") Integer anoFinal,
+	        @Param("mesFinal") Integer mesFinal);
+
+	@Query( value = " select l.id, l.descricao from Lancamento l where l.usuario.id = :idUsuario " )
+	List<Object[]> obterDescricoesPorUsuario(@Param("idUsuario") Long idUsuario);
+
+	@Query( value = 
+			  " select l.tipo, l.status, count(l), sum(l.valor) from Lancamento l "
+			+ " where l.usuario.id = :idUsuario and l.ano = :ano and l.mes = :mes "
+			+ " group by l.tipo, l.status " )
+	List<Object[]> obterTotaisPorTipoEStatus(
+			@Param("idUsuario") Long idUsuario,
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes);
+
+	@Query( value = 
+			  " select l.tipo, l.status, count(l), sum(l.valor) from Lancamento l "
+			+ " where l.usuario.id in :idsUsuario and l.ano = :ano and l.mes = :mes "
+			+ " group by l.tipo, l.status " )
+	List<Object[]> obterTotaisPorTipoEStatusDosUsuarios(
+			@Param("idsUsuario") Collection<Long> idsUsuario,
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes);
+
+	long countByUsuarioIdAndStatus(Long idUsuario, StatusLancamento status);
+
+	boolean existsByUsuarioIdAndAssinaturaAndStatusNot(Long idUsuario, Long assinatura, StatusLancamento status);
+
+	List<Lancamento> findByUsuarioId(Long idUsuario, Pageable pageable);
+
+	@Query( value = 
+			  " select l.ano, l.mes, l.tipo, sum(l.valor) from Lancamento l "
+			+ " where l.usuario.id = :idUsuario and l.status = :status "
+			+ " group by l.ano, l.mes, l.tipo " )
+	List<Object[]> obterTotaisPorPeriodoETipo(
+			@Param("idUsuario") Long idUsuario,
+			@Param("status") StatusLancamento status);
+
+	@Query( value = " select l from Lancamento l join fetch l.usuario u where u.id = :idUsuario and l.id in :ids " )
+	List<Lancamento> obterPorUsuarioEIds(@Param("idUsuario") Long idUsuario, @Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Query( value = " update Lancamento l set l.deletadoEm = current_timestamp where l.id in :ids " )
+	int excluirPorIds(@Param("ids") Collection<Long> ids);
 }
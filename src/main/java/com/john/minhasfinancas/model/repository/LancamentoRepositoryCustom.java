@@ -0,0 +1,24 @@
+package com.john.minhasfinancas.model.repository;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.john.minhasfinancas.model.entity.Lancamento;
+
+public interface LancamentoRepositoryCustom {
+
+	Set<String> CAMPOS = Collections.unmodifiableSet(new LinkedHashSet<>(
+			Arrays.asList("id", "descricao", "mes", "ano", "usuario", "valor", "dataCadastro", "tipo", "status", "categoria", "parcela")));
+
+	List<Map<String, Object>> buscarCampos(Specification<Lancamento> especificacao, Sort ordenacao,
+			Collection<String> campos);
+
+}
@@ -0,0 +1,68 @@
+package com.john.minhasfinancas.model.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.john.minhasfinancas.model.entity.Lancamento;
+
+public class LancamentoRepositoryImpl implements LancamentoRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<Map<String, Object>> buscarCampos(Specification<Lancamento> especificacao, Sort ordenacao,
+			Collection<String> campos) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<Lancamento> root = query.from(Lancamento.class);
+
+		List<Selection<?>> selecoes = new ArrayList<>(campos.size());
+		for (String campo : campos) {
+			selecoes.add(caminho(root, campo).alias(campo));
+		}
+		query.multiselect(selecoes);
+
+		Predicate predicado = especificacao.toPredicate(root, query, cb);
+		if (predicado != null) {
+			query.where(predicado);
+		}
+		query.orderBy(QueryUtils.toOrders(ordenacao, root, cb));
+
+		List<Tuple> tuplas = entityManager.createQuery(query).getResultList();
+		List<Map<String, Object>> resultado = new ArrayList<>(tuplas.size());
+		for (Tuple tupla : tuplas) {
+			Map<String, Object> linha = new LinkedHashMap<>();
+			for (String campo : campos) {
+				linha.put(campo, tupla.get(campo));
+			}
+			resultado.add(linha);
+		}
+		return resultado;
+	}
+
+	private Path<?> caminho(Root<Lancamento> root, String campo) {
+		if ("usuario".equals(campo) || "categoria".equals(campo)) {
+			return root.get(campo).get("id");
+		}
+		return root.get(campo);
+	}
+
+}
@@ -0,0 +1,103 @@
+package com.john.minhasfinancas.model.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.john.minhasfinancas.model.entity.Lancamento;
+
+public class LancamentoSpecification {
+
+	private LancamentoSpecification() {
+	}
+
+	public static Specification<Lancamento> filtrar(LancamentoFiltro filtro) {
+		return (root, query, cb) -> {
+			List<Predicate> predicados = new ArrayList<>();
+
+			if (filtro.getIdsUsuarios() != null) {
+				predicados.add(root.get("usuario").get("id").in(filtro.getIdsUsuarios()));
+			} else {
+				predicados.add(cb.equal(root.get("usuario").get("id"), filtro.getIdUsuario()));
+			}
+
+			if (filtro.getDescricao() != null && !filtro.getDescricao().trim().isEmpty()) {
+				predicados.add(cb.like(cb.lower(root.get("descricao")),
+						"%" + filtro.getDescricao().trim().toLowerCase() + "%"));
+			}
+
+			if (filtro.getTipo() != null) {
+				predicados.add(cb.equal(root.get("tipo"), filtro.getTipo()));
+			}
+
+			if (filtro.getStatus() != null) {
+				predicados.add(cb.equal(root.get("status"), filtro.getStatus()));
+			}
+
+			if (filtro.getIdCategoria() != null) {
+				predicados.add(cb.equal(root.get("categoria").get("id"), filtro.getIdCategoria()));
+			}
+
+			if (filtro.getValorMinimo() != null) {
+				predicados.add(cb.greaterThanOrEqualTo(root.get("valor"), filtro.getValorMinimo()));
+			}
+
+			if (filtro.getValorMaximo() != null) {
+				predicados.add(cb.lessThanOrEqualTo(root.get("valor"), filtro.getValorMaximo()));
+			}
+
+			if (filtro.getDataCadastroInicial() != null) {
+				predicados.add(cb.greaterThanOrEqualTo(root.get("dataCadastro"), filtro.getDataCadastroInicial()));
+			}
+
+			if (filtro.getDataCadastroFinal() != null) {
+				predicados.add(cb.lessThanOrEqualTo(root.get("dataCadastro"), filtro.getDataCadastroFinal()));
+			}
+
+			if (filtro.getAno() != null) {
+				predicados.add(cb.equal(root.get("ano"), filtro.getAno()));
+			}
+
+			if (filtro.getMes() != null) {
+				predicados.add(cb.equal(root.get("mes"), filtro.getMes()));
+			}
+
+			if (filtro.getAnoInicial() != null) {
+				predicados.add(aPartirDe(root, cb, filtro.getAnoInicial(), filtro.getMesInicial()));
+			}
+
+			if (filtro.getAnoFinal() != null) {
+				predicados.add(ate(root, cb, filtro.getAnoFinal(), filtro.getMesFinal()));
+			}
+
+			return cb.and(predicados.toArray(new Predicate[0]));
+		};
+	}
+
+	public static Specification<Lancamento> porUsuarioEIds(Long idUsuario, Collection<Long> ids) {
+		return (root, query, cb) -> cb.and(cb.equal(root.get("usuario").get("id"), idUsuario), root.get("id").in(ids));
+	}
+
+	private static Predicate aPartirDe(Root<Lancamento> root, CriteriaBuilder cb, Integer ano, Integer mes) {
+		if (mes == null) {
+			return cb.greaterThanOrEqualTo(root.get("ano"), ano);
+		}
+		return cb.and(cb.greaterThanOrEqualTo(root.get("ano"), ano),
+				cb.or(cb.greaterThan(root.get("ano"), ano), cb.greaterThanOrEqualTo(root.get("mes"), mes)));
+	}
+
+	private static Predicate ate(Root<Lancamento> root, CriteriaBuilder cb, Integer ano, Integer mes) {
+		if (mes == null) {
+			return cb.lessThanOrEqualTo(root.get("ano"), ano);
+		}
+		return cb.and(cb.lessThanOrEqualTo(root.get("ano"), ano),
+				cb.or(cb.lessThan(root.get("ano"), ano), cb.lessThanOrEqualTo(root.get("mes"), mes)));
+	}
+
+}
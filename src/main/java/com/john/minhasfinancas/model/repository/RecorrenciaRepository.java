@@ -0,0 +1,13 @@
+package com.john.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.john.minhasfinancas.model.entity.Recorrencia;
+
+public interface RecorrenciaRepository extends JpaRepository<Recorrencia, Long> {
+
+	List<Recorrencia> findByUsuarioIdAndAtivaTrue(Long idUsuario);
+
+}
@@ -0,0 +1,38 @@
+package com.john.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.john.minhasfinancas.model.entity.TotalCategoria;
+
+public interface TotalCategoriaRepository extends JpaRepository<TotalCategoria, Long> {
+
+	List<TotalCategoria> findByIdUsuarioAndAnoAndMesOrderByValorDesc(Long idUsuario, Integer ano, Integer mes);
+
+	@Modifying
+	@Query( nativeQuery = true, value = 
+			  " delete from financas.total_categoria "
+			+ " where id_usuario = :idUsuario and ano = :ano and mes = :mes " )
+	void removerTotais(
+			@Param("idUsuario") Long idUsuario,
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes);
+
+	@Modifying
+	@Query( nativeQuery = true, value = 
+			  " insert into financas.total_categoria (id_usuario, id_categoria, ano, mes, tipo, quantidade, valor) "
+			+ " select l.id_usuario, l.id_categoria, l.ano, l.mes, l.tipo, count(*), sum(l.valor) "
+			+ " from financas.lancamento l "
+			+ " where l.id_usuario = :idUsuario and l.ano = :ano and l.mes = :mes and l.id_categoria is not null "
+			+ " and l.deletado_em is null "
+			+ " group by l.id_usuario, l.id_categoria, l.ano, l.mes, l.tipo " )
+	void calcularTotais(
+			@Param("idUsuario") Long idUsuario,
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes);
+
+}
@@ -0,0 +1,29 @@
+package com.john.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.john.minhasfinancas.model.entity.TravaAgendamento;
+
+public interface TravaAgendamentoRepository extends JpaRepository<TravaAgendamento, String> {
+
+	@Modifying
+	@Query( value = " update TravaAgendamento t set t.dono = :dono, t.bloqueadoAte = :ate "
+			+ " where t.nome = :nome and (t.bloqueadoAte < :agora or t.dono = :dono) " )
+	int adquirir(@Param("nome") String nome, @Param("dono") String dono, @Param("agora") LocalDateTime agora,
+			@Param("ate") LocalDateTime ate);
+
+	@Modifying
+	@Query( nativeQuery = true, value =
+			" insert into financas.trava_agendamento (nome, dono, bloqueado_ate) values (:nome, :dono, :ate) " )
+	int criar(@Param("nome") String nome, @Param("dono") String dono, @Param("ate") LocalDateTime ate);
+
+	@Modifying
+	@Query( value = " update TravaAgendamento t set t.bloqueadoAte = :agora where t.nome = :nome and t.dono = :dono " )
+	int liberar(@Param("nome") String nome, @Param("dono") String dono, @Param("agora") LocalDateTime agora);
+
+}
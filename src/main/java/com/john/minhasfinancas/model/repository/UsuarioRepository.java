@@ -1,8 +1,20 @@
 package com.john.minhasfinancas.model.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.john.minhasfinancas.model.entity.Usuario;
 
@@ -11,4 +23,12 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
    boolean existsByEmail(String email);
    
    Optional<Usuario> findByEmail(String email);
+   
+   @Query("select u.email from Usuario u")
+   @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+   Stream<String> streamAllEmails();
+
+   @Lock(LockModeType.PESSIMISTIC_WRITE)
+   @Query("select u from Usuario u where u.id in :ids order by u.id")
+   List<Usuario> bloquear(@Param("ids") Collection<Long> ids);
 }
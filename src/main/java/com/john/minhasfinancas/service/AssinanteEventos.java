@@ -0,0 +1,16 @@
+package com.john.minhasfinancas.service;
+
+import java.util.List;
+
+import com.john.minhasfinancas.model.entity.EventoLancamento;
+
+/**
+ * Recebe os eventos de lançamentos em lotes, na ordem em que foram gravados
+ * para cada usuário. A entrega é "ao menos uma vez": um lote pode ser
+ * repetido após uma falha, então o processamento precisa ser idempotente.
+ */
+public interface AssinanteEventos {
+
+	void receber(List<EventoLancamento> eventos);
+
+}
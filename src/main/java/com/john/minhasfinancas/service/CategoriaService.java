@@ -0,0 +1,24 @@
+package com.john.minhasfinancas.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.john.minhasfinancas.model.entity.Categoria;
+import com.john.minhasfinancas.model.entity.TotalCategoria;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+
+public interface CategoriaService {
+
+	List<Categoria> listar();
+
+	Optional<Categoria> obterPorId(Long id);
+
+	Optional<Categoria> classificar(String descricao, TipoLancamento tipo);
+
+	void recarregar();
+
+	void atualizarTotais(Long idUsuario, Integer ano, Integer mes);
+
+	List<TotalCategoria> obterTotais(Long idUsuario, Integer ano, Integer mes);
+
+}
@@ -0,0 +1,41 @@
+package com.john.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Dashboard {
+
+	private BigDecimal saldo;
+	private Integer ano;
+	private Integer mes;
+	private List<Total> totaisDoMes;
+	private Long pendentes;
+	private List<Lancamento> ultimosLancamentos;
+
+	@Data
+	@Builder
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Total {
+
+		private TipoLancamento tipo;
+		private StatusLancamento status;
+		private Long quantidade;
+		private BigDecimal valor;
+
+	}
+
+}
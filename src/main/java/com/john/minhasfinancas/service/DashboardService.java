@@ -0,0 +1,7 @@
+package com.john.minhasfinancas.service;
+
+public interface DashboardService {
+
+	Dashboard obterDashboard(Long idUsuario, int ultimos);
+
+}
@@ -0,0 +1,22 @@
+package com.john.minhasfinancas.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.john.minhasfinancas.model.entity.Lancamento;
+
+public interface DescricaoService {
+
+	Specification<Lancamento> buscarTexto(Long idUsuario, String texto);
+
+	List<String> sugerir(Long idUsuario, String prefixo, int limite);
+
+	void registrar(Lancamento lancamento);
+
+	void remover(Lancamento lancamento);
+
+	void invalidar(Collection<Long> idsUsuario);
+
+}
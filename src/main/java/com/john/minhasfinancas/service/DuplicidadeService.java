@@ -0,0 +1,13 @@
+package com.john.minhasfinancas.service;
+
+import java.util.List;
+
+public interface DuplicidadeService {
+
+	List<List<Long>> buscarGrupos(Long idUsuario);
+
+	int assinarPendentes();
+
+	int verificar();
+
+}
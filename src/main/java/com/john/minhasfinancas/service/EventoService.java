@@ -0,0 +1,16 @@
+package com.john.minhasfinancas.service;
+
+import java.util.Collection;
+
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.enums.OperacaoHistorico;
+
+public interface EventoService {
+
+	void registrar(OperacaoHistorico operacao, Lancamento lancamento, Integer anoAnterior, Integer mesAnterior);
+
+	void registrar(OperacaoHistorico operacao, Collection<Lancamento> lancamentos, Long idUsuario);
+
+	int publicarPendentes();
+
+}
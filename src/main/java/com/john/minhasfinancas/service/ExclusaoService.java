@@ -0,0 +1,13 @@
+package com.john.minhasfinancas.service;
+
+import java.util.Optional;
+
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+
+public interface ExclusaoService {
+
+	ProgressoExclusao iniciar(Long idUsuario, Integer anoInicial, Integer anoFinal, StatusLancamento status);
+
+	Optional<ProgressoExclusao> obterProgresso(Long idUsuario, Long id);
+
+}
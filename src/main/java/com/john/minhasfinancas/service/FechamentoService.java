@@ -0,0 +1,19 @@
+package com.john.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import com.john.minhasfinancas.model.entity.Fechamento;
+import com.john.minhasfinancas.model.entity.Usuario;
+
+public interface FechamentoService {
+
+	Fechamento fechar(Usuario usuario, Integer ano, Integer mes);
+
+	Optional<Fechamento> obterUltimoFechamento(Long idUsuario);
+
+	boolean periodoFechado(Long idUsuario, Integer ano, Integer mes);
+
+	BigDecimal calcularSaldoEntrePeriodos(Long idUsuario, Integer anoInicial, Integer mesInicial, Integer anoFinal,
+			Integer mesFinal);
+}
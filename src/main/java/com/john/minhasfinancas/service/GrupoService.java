@@ -0,0 +1,33 @@
+package com.john.minhasfinancas.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.john.minhasfinancas.model.entity.Grupo;
+import com.john.minhasfinancas.model.entity.Usuario;
+
+public interface GrupoService {
+
+	Grupo criar(Usuario responsavel, String nome);
+
+	Grupo convidar(Grupo grupo, Usuario solicitante, String email);
+
+	Grupo aceitarConvite(Grupo grupo, Usuario convidado);
+
+	void recusarConvite(Grupo grupo, Usuario convidado);
+
+	void removerMembro(Grupo grupo, Usuario solicitante, Long idUsuario);
+
+	List<Grupo> obterGruposDoUsuario(Long idUsuario);
+
+	Optional<Grupo> obterGrupoDoMembro(Long idGrupo, Long idUsuario);
+
+	List<Grupo> obterConvitesDoUsuario(Long idUsuario);
+
+	Optional<Grupo> obterGrupoDoConvidado(Long idGrupo, Long idUsuario);
+
+	RelatorioGrupo obterRelatorio(Grupo grupo);
+
+	void invalidarMembro(Long idUsuario);
+
+}
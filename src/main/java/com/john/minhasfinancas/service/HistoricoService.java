@@ -0,0 +1,18 @@
+package com.john.minhasfinancas.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.john.minhasfinancas.model.entity.HistoricoLancamento;
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.enums.OperacaoHistorico;
+
+public interface HistoricoService {
+
+	Map<String, Object> capturar(Long idLancamento);
+
+	void registrar(OperacaoHistorico operacao, Map<String, Object> anterior, Lancamento lancamento);
+
+	List<HistoricoLancamento> obterHistorico(Long idLancamento, Long idUsuario);
+
+}
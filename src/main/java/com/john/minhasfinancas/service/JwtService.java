@@ -0,0 +1,11 @@
+package com.john.minhasfinancas.service;
+
+import com.john.minhasfinancas.model.entity.Usuario;
+
+public interface JwtService {
+
+	String gerarToken(Usuario usuario);
+
+	Usuario obterUsuarioAutorizado(String token);
+
+}
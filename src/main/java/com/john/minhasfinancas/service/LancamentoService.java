@@ -1,27 +1,44 @@
 package com.john.minhasfinancas.service;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.data.domain.Sort;
+
 import com.john.minhasfinancas.model.entity.Lancamento;
 import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.repository.LancamentoFiltro;
 
 public interface LancamentoService {
 
 	Lancamento salvar(Lancamento lancamento);
 
+	Lancamento salvar(Lancamento lancamento, boolean permitirDuplicado);
+
 	Lancamento atualizar(Lancamento lancamento);
 
 	void deletar(Lancamento lancamento);
 
 	List<Lancamento> buscar(Lancamento lancamentoFiltro);
 
+	List<Lancamento> buscar(LancamentoFiltro filtro, Sort ordenacao);
+
+	List<Map<String, Object>> buscar(LancamentoFiltro filtro, Sort ordenacao, Collection<String> campos);
+
+	List<String> sugerirDescricoes(Long idUsuario, String prefixo, int limite);
+
 	void atuaizarStatus(Lancamento lancamento, StatusLancamento status);
 	
 	void validar(Lancamento lancamento);
 	
 	Optional<Lancamento> obterPorId(Long id);
+
+	List<Lancamento> obterPorIds(Long idUsuario, Collection<Long> ids);
+
+	List<Map<String, Object>> obterPorIds(Long idUsuario, Collection<Long> ids, Collection<String> campos);
 	
 	BigDecimal obterSaldoPorUsuario(Long id);
 
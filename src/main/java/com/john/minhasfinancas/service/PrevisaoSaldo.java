@@ -0,0 +1,56 @@
+package com.john.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+public final class PrevisaoSaldo {
+
+	private final YearMonth inicio;
+	private final long saldoAtual;
+	private final long[] receitas;
+	private final long[] despesas;
+	private final long[] saldos;
+
+	public PrevisaoSaldo(YearMonth inicio, long saldoAtual, long[] receitas, long[] despesas) {
+		this.inicio = inicio;
+		this.saldoAtual = saldoAtual;
+		this.receitas = receitas;
+		this.despesas = despesas;
+		this.saldos = new long[receitas.length];
+
+		long saldo = saldoAtual;
+		for (int i = 0; i < saldos.length; i++) {
+			saldo += receitas[i] - despesas[i];
+			saldos[i] = saldo;
+		}
+	}
+
+	public YearMonth getInicio() {
+		return inicio;
+	}
+
+	public int getMeses() {
+		return saldos.length;
+	}
+
+	public YearMonth getPeriodo(int mes) {
+		return inicio.plusMonths(mes);
+	}
+
+	public BigDecimal getSaldoAtual() {
+		return BigDecimal.valueOf(saldoAtual, 2);
+	}
+
+	public BigDecimal getReceitas(int mes) {
+		return BigDecimal.valueOf(receitas[mes], 2);
+	}
+
+	public BigDecimal getDespesas(int mes) {
+		return BigDecimal.valueOf(despesas[mes], 2);
+	}
+
+	public BigDecimal getSaldo(int mes) {
+		return BigDecimal.valueOf(saldos[mes], 2);
+	}
+
+}
@@ -0,0 +1,9 @@
+package com.john.minhasfinancas.service;
+
+public interface PrevisaoService {
+
+	PrevisaoSaldo prever(Long idUsuario);
+
+	void invalidar(Long idUsuario);
+
+}
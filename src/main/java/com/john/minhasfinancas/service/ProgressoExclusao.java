@@ -0,0 +1,40 @@
+package com.john.minhasfinancas.service;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressoExclusao {
+
+	public enum Situacao {
+		EM_ANDAMENTO,
+		CONCLUIDA,
+		FALHOU
+	}
+
+	private Long id;
+	@JsonIgnore
+	private Long idUsuario;
+	private Integer anoInicial;
+	private Integer anoFinal;
+	private StatusLancamento status;
+	private Situacao situacao;
+	private long total;
+	private long excluidos;
+	private long ignorados;
+	private int lotes;
+	private LocalDateTime inicio;
+	private LocalDateTime fim;
+	private String erro;
+
+}
@@ -0,0 +1,14 @@
+package com.john.minhasfinancas.service;
+
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.entity.Recorrencia;
+
+public interface RecorrenciaService {
+
+	Recorrencia criar(Lancamento modelo, Recorrencia regra);
+
+	void encerrar(Recorrencia recorrencia);
+
+	int gerarPendentes();
+
+}
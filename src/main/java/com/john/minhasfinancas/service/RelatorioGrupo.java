@@ -0,0 +1,37 @@
+package com.john.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatorioGrupo {
+
+	private Long idGrupo;
+	private String nome;
+	private BigDecimal saldo;
+	private Integer ano;
+	private Integer mes;
+	private List<Membro> membros;
+	private List<Dashboard.Total> totaisDoMes;
+
+	@Data
+	@Builder
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Membro {
+
+		private Long idUsuario;
+		private String nome;
+		private BigDecimal saldo;
+
+	}
+
+}
@@ -0,0 +1,11 @@
+package com.john.minhasfinancas.service;
+
+public interface SenhaService {
+
+	String criptografar(String senha);
+
+	boolean verificar(String senha, String senhaArmazenada);
+
+	boolean precisaAtualizar(String senhaArmazenada);
+
+}
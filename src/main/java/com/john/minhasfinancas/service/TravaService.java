@@ -0,0 +1,11 @@
+package com.john.minhasfinancas.service;
+
+import java.time.Duration;
+
+public interface TravaService {
+
+	boolean adquirir(String nome, Duration duracao);
+
+	void liberar(String nome);
+
+}
@@ -0,0 +1,177 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.service.LancamentoService;
+import com.john.minhasfinancas.service.PrevisaoService;
+import com.john.minhasfinancas.service.UsuarioService;
+
+/**
+ * Antes da aplicação ser considerada pronta, lê o cadastro, o saldo, os totais
+ * do mês atual e a previsão dos usuários com mais lançamentos cadastrados nos
+ * últimos dias. A previsão fica no cache da aplicação; as demais leituras
+ * trazem para o cache do banco as páginas que as primeiras requisições desses
+ * usuários vão usar. Os usuários são aquecidos em paralelo até o tempo limite;
+ * o que não terminar a tempo é cancelado. A prontidão em
+ * {@code /api/prontidao} fica fora de serviço até o fim do aquecimento.
+ */
+@Component
+public class AquecimentoCaches implements ApplicationRunner {
+
+	private static final Logger log = LoggerFactory.getLogger(AquecimentoCaches.class);
+
+	private static final String USUARIOS_MAIS_ATIVOS =
+			  " select l.id_usuario from financas.lancamento l "
+			+ "  where l.data_cadastro >= :desde and l.deletado_em is null "
+			+ "  group by l.id_usuario order by count(*) desc limit :limite ";
+
+	public enum Situacao {
+		PENDENTE,
+		AQUECENDO,
+		CONCLUIDO,
+		TEMPO_ESGOTADO,
+		DESATIVADO
+	}
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final UsuarioService usuarioService;
+	private final LancamentoService lancamentoService;
+	private final LancamentoRepository lancamentoRepository;
+	private final PrevisaoService previsaoService;
+	private final boolean ativo;
+	private final int maximoUsuarios;
+	private final int dias;
+	private final int threads;
+	private final long tempoLimiteMs;
+	private final AtomicInteger aquecidos = new AtomicInteger();
+	private final AtomicInteger falhas = new AtomicInteger();
+	private volatile Situacao situacao = Situacao.PENDENTE;
+	private volatile int total;
+	private volatile long duracaoMs;
+
+	public AquecimentoCaches(NamedParameterJdbcTemplate jdbcTemplate, UsuarioService usuarioService,
+			LancamentoService lancamentoService, LancamentoRepository lancamentoRepository,
+			PrevisaoService previsaoService,
+			@Value("${aquecimento.ativo:true}") boolean ativo,
+			@Value("${aquecimento.usuarios:100}") int maximoUsuarios,
+			@Value("${aquecimento.dias:7}") int dias,
+			@Value("${aquecimento.threads:4}") int threads,
+			@Value("${aquecimento.tempo-limite:30000}") long tempoLimiteMs) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.usuarioService = usuarioService;
+		this.lancamentoService = lancamentoService;
+		this.lancamentoRepository = lancamentoRepository;
+		this.previsaoService = previsaoService;
+		this.ativo = ativo;
+		this.maximoUsuarios = maximoUsuarios;
+		this.dias = dias;
+		this.threads = threads;
+		this.tempoLimiteMs = tempoLimiteMs;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!ativo) {
+			situacao = Situacao.DESATIVADO;
+			return;
+		}
+		aquecer();
+	}
+
+	public Situacao aquecer() {
+		situacao = Situacao.AQUECENDO;
+		aquecidos.set(0);
+		falhas.set(0);
+		long inicio = System.nanoTime();
+		long prazo = inicio + TimeUnit.MILLISECONDS.toNanos(tempoLimiteMs);
+
+		List<Long> usuarios = jdbcTemplate.queryForList(USUARIOS_MAIS_ATIVOS, new MapSqlParameterSource()
+				.addValue("desde", Date.valueOf(LocalDate.now().minusDays(dias)))
+				.addValue("limite", maximoUsuarios), Long.class);
+		total = usuarios.size();
+
+		AtomicInteger contador = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "aquecimento-" + contador.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		List<Future<?>> tarefas = new ArrayList<>(usuarios.size());
+		usuarios.forEach(idUsuario -> tarefas.add(executor.submit(() -> aquecer(idUsuario))));
+		executor.shutdown();
+
+		boolean concluido;
+		try {
+			concluido = executor.awaitTermination(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			concluido = false;
+		}
+		if (!concluido) {
+			tarefas.forEach(tarefa -> tarefa.cancel(true));
+			executor.shutdownNow();
+		}
+
+		duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+		situacao = concluido ? Situacao.CONCLUIDO : Situacao.TEMPO_ESGOTADO;
+		log.info("Aquecimento {}: {} de {} usuários em {} ms, {} falhas.", situacao, aquecidos.get(), total,
+				duracaoMs, falhas.get());
+		return situacao;
+	}
+
+	public Health saude() {
+		Health.Builder saude = situacao == Situacao.PENDENTE || situacao == Situacao.AQUECENDO
+				? Health.outOfService()
+				: Health.up();
+		return saude.withDetail("situacao", situacao)
+				.withDetail("usuarios", total)
+				.withDetail("aquecidos", aquecidos.get())
+				.withDetail("falhas", falhas.get())
+				.withDetail("duracao", duracaoMs)
+				.build();
+	}
+
+	private void aquecer(Long idUsuario) {
+		YearMonth atual = YearMonth.now();
+		List<Runnable> leituras = Arrays.asList(
+				() -> usuarioService.obterPorId(idUsuario),
+				() -> lancamentoService.obterSaldoPorUsuario(idUsuario),
+				() -> lancamentoRepository.obterTotaisPorTipoEStatus(idUsuario, atual.getYear(), atual.getMonthValue()),
+				() -> previsaoService.prever(idUsuario));
+		try {
+			for (Runnable leitura : leituras) {
+				// cancelado pelo tempo limite: não começa a próxima consulta
+				if (Thread.currentThread().isInterrupted()) {
+					return;
+				}
+				leitura.run();
+			}
+			aquecidos.incrementAndGet();
+		} catch (RuntimeException e) {
+			falhas.incrementAndGet();
+			log.warn("Falha ao aquecer os dados do usuário {}.", idUsuario, e);
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import com.john.minhasfinancas.model.entity.Lancamento;
+
+final class AssinaturaLancamento {
+
+	private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	private AssinaturaLancamento() {
+	}
+
+	static Long calcular(Lancamento lancamento) {
+		if (lancamento.getUsuario() == null || lancamento.getUsuario().getId() == null) {
+			return null;
+		}
+		return calcular(lancamento.getUsuario().getId(), lancamento.getAno(), lancamento.getMes(),
+				lancamento.getValor(), lancamento.getTipo() != null ? lancamento.getTipo().name() : null,
+				lancamento.getDescricao());
+	}
+
+	static long calcular(Long idUsuario, Integer ano, Integer mes, BigDecimal valor, String tipo, String descricao) {
+		StringBuilder conteudo = new StringBuilder()
+				.append(idUsuario).append('|')
+				.append(ano).append('|')
+				.append(mes).append('|')
+				.append(valor != null ? valor.stripTrailingZeros().toPlainString() : null).append('|')
+				.append(tipo).append('|');
+		if (descricao != null) {
+			conteudo.append(SEPARADORES.matcher(IndiceDescricoes.normalizar(descricao)).replaceAll(" ").trim());
+		}
+		return hash(conteudo.toString());
+	}
+
+	/**
+	 * Chave única por janela de tempo: dois envios iguais na mesma janela
+	 * colidem na constraint uk_lancamento_usuario_chave_envio.
+	 */
+	static long chaveEnvio(long assinatura, long instante, long janelaMs) {
+		return hash(assinatura + "|" + instante / janelaMs);
+	}
+
+	private static long hash(String conteudo) {
+		long hash = 0xcbf29ce484222325L;
+		for (byte b : conteudo.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b;
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+}
@@ -0,0 +1,118 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.john.minhasfinancas.model.entity.Categoria;
+import com.john.minhasfinancas.model.entity.TotalCategoria;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.CategoriaRepository;
+import com.john.minhasfinancas.model.repository.TotalCategoriaRepository;
+import com.john.minhasfinancas.model.repository.UsuarioRepository;
+import com.john.minhasfinancas.service.CategoriaService;
+
+@Service
+public class CategoriaServiceImpl implements CategoriaService {
+
+	private final CategoriaRepository repository;
+	private final TotalCategoriaRepository totalRepository;
+	private final UsuarioRepository usuarioRepository;
+	private volatile Dicionario dicionario;
+
+	public CategoriaServiceImpl(CategoriaRepository repository, TotalCategoriaRepository totalRepository,
+			UsuarioRepository usuarioRepository) {
+		this.repository = repository;
+		this.totalRepository = totalRepository;
+		this.usuarioRepository = usuarioRepository;
+	}
+
+	@Override
+	public List<Categoria> listar() {
+		return obterDicionario().categorias;
+	}
+
+	@Override
+	public Optional<Categoria> obterPorId(Long id) {
+		return Optional.ofNullable(obterDicionario().porId.get(id));
+	}
+
+	@Override
+	public Optional<Categoria> classificar(String descricao, TipoLancamento tipo) {
+		if (tipo == null) {
+			return Optional.empty();
+		}
+		return obterDicionario().classificadores.get(tipo).classificar(descricao);
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${categoria.recarga:300000}", initialDelayString = "${categoria.recarga:300000}")
+	public void recarregar() {
+		List<Categoria> categorias = repository.findAll();
+		Map<TipoLancamento, ClassificadorCategorias> classificadores = new EnumMap<>(TipoLancamento.class);
+		for (TipoLancamento tipo : TipoLancamento.values()) {
+			classificadores.put(tipo, new ClassificadorCategorias(categorias.stream()
+					.filter(categoria -> categoria.getTipo() == null || categoria.getTipo() == tipo)
+					.collect(Collectors.toList())));
+		}
+		dicionario = new Dicionario(Collections.unmodifiableList(categorias),
+				categorias.stream().collect(Collectors.toMap(Categoria::getId, Function.identity())),
+				classificadores);
+	}
+
+	@Override
+	@Transactional
+	public void atualizarTotais(Long idUsuario, Integer ano, Integer mes) {
+		if (idUsuario == null || ano == null || mes == null) {
+			return;
+		}
+
+		totalRepository.flush();
+		usuarioRepository.bloquear(Collections.singleton(idUsuario));
+		totalRepository.removerTotais(idUsuario, ano, mes);
+		totalRepository.calcularTotais(idUsuario, ano, mes);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<TotalCategoria> obterTotais(Long idUsuario, Integer ano, Integer mes) {
+		return totalRepository.findByIdUsuarioAndAnoAndMesOrderByValorDesc(idUsuario, ano, mes);
+	}
+
+	private Dicionario obterDicionario() {
+		Dicionario atual = dicionario;
+		if (atual == null) {
+			synchronized (this) {
+				if (dicionario == null) {
+					recarregar();
+				}
+				atual = dicionario;
+			}
+		}
+		return atual;
+	}
+
+	private static class Dicionario {
+
+		private final List<Categoria> categorias;
+		private final Map<Long, Categoria> porId;
+		private final Map<TipoLancamento, ClassificadorCategorias> classificadores;
+
+		private Dicionario(List<Categoria> categorias, Map<Long, Categoria> porId,
+				Map<TipoLancamento, ClassificadorCategorias> classificadores) {
+			this.categorias = categorias;
+			this.porId = porId;
+			this.classificadores = classificadores;
+		}
+
+	}
+
+}
@@ -0,0 +1,154 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+import com.john.minhasfinancas.model.entity.Categoria;
+
+public class ClassificadorCategorias {
+
+	private static final int SEPARADOR = 36;
+	private static final int ALFABETO = 37;
+
+	private final int[][] transicoes;
+	private final int[] categoriaPorEstado;
+	private final int[] tamanhoPorEstado;
+	private final Categoria[] categorias;
+
+	public ClassificadorCategorias(List<Categoria> categorias) {
+		this.categorias = categorias.toArray(new Categoria[0]);
+
+		List<int[]> filhos = new ArrayList<>();
+		List<int[]> saidas = new ArrayList<>();
+		filhos.add(novoEstado());
+		saidas.add(new int[] { -1, 0 });
+
+		for (int i = 0; i < this.categorias.length; i++) {
+			String palavrasChave = this.categorias[i].getPalavrasChave();
+			if (palavrasChave == null) {
+				continue;
+			}
+			for (String palavra : palavrasChave.split(",")) {
+				int[] codigos = codificar(palavra);
+				if (codigos.length <= 1) {
+					continue;
+				}
+
+				int estado = 0;
+				for (int codigo : codigos) {
+					if (filhos.get(estado)[codigo] < 0) {
+						filhos.get(estado)[codigo] = filhos.size();
+						filhos.add(novoEstado());
+						saidas.add(new int[] { -1, 0 });
+					}
+					estado = filhos.get(estado)[codigo];
+				}
+				if (saidas.get(estado)[1] < codigos.length) {
+					saidas.set(estado, new int[] { i, codigos.length });
+				}
+			}
+		}
+
+		int total = filhos.size();
+		this.transicoes = new int[total][];
+		this.categoriaPorEstado = new int[total];
+		this.tamanhoPorEstado = new int[total];
+		int[] falhas = new int[total];
+
+		Deque<Integer> fila = new ArrayDeque<>();
+		transicoes[0] = new int[ALFABETO];
+		categoriaPorEstado[0] = -1;
+		for (int codigo = 0; codigo < ALFABETO; codigo++) {
+			int filho = filhos.get(0)[codigo];
+			if (filho > 0) {
+				falhas[filho] = 0;
+				fila.add(filho);
+			}
+			transicoes[0][codigo] = Math.max(filho, 0);
+		}
+
+		while (!fila.isEmpty()) {
+			int estado = fila.poll();
+			int falha = falhas[estado];
+
+			int[] saida = saidas.get(estado);
+			boolean herdaSaida = tamanhoPorEstado[falha] > saida[1];
+			categoriaPorEstado[estado] = herdaSaida ? categoriaPorEstado[falha] : saida[0];
+			tamanhoPorEstado[estado] = herdaSaida ? tamanhoPorEstado[falha] : saida[1];
+
+			transicoes[estado] = new int[ALFABETO];
+			for (int codigo = 0; codigo < ALFABETO; codigo++) {
+				int filho = filhos.get(estado)[codigo];
+				if (filho > 0) {
+					falhas[filho] = transicoes[falha][codigo];
+					fila.add(filho);
+					transicoes[estado][codigo] = filho;
+				} else {
+					transicoes[estado][codigo] = transicoes[falha][codigo];
+				}
+			}
+		}
+	}
+
+	public Optional<Categoria> classificar(String descricao) {
+		if (descricao == null || categorias.length == 0) {
+			return Optional.empty();
+		}
+
+		String texto = IndiceDescricoes.normalizar(descricao);
+		int estado = transicoes[0][SEPARADOR];
+		int anterior = SEPARADOR;
+		int melhor = -1;
+		int tamanhoMelhor = 0;
+
+		for (int i = 0; i < texto.length(); i++) {
+			int codigo = codigo(texto.charAt(i));
+			if (codigo == SEPARADOR && anterior == SEPARADOR) {
+				continue;
+			}
+			anterior = codigo;
+			estado = transicoes[estado][codigo];
+			if (tamanhoPorEstado[estado] > tamanhoMelhor) {
+				melhor = categoriaPorEstado[estado];
+				tamanhoMelhor = tamanhoPorEstado[estado];
+			}
+		}
+
+		return melhor < 0 ? Optional.empty() : Optional.of(categorias[melhor]);
+	}
+
+	private static int[] codificar(String palavra) {
+		String texto = IndiceDescricoes.normalizar(palavra).trim();
+		int[] codigos = new int[texto.length() + 1];
+		int tamanho = 0;
+		codigos[tamanho++] = SEPARADOR;
+		for (int i = 0; i < texto.length(); i++) {
+			int codigo = codigo(texto.charAt(i));
+			if (codigo != SEPARADOR || codigos[tamanho - 1] != SEPARADOR) {
+				codigos[tamanho++] = codigo;
+			}
+		}
+		return Arrays.copyOf(codigos, tamanho);
+	}
+
+	private static int codigo(char caractere) {
+		if (caractere >= 'a' && caractere <= 'z') {
+			return caractere - 'a';
+		}
+		if (caractere >= '0' && caractere <= '9') {
+			return 26 + caractere - '0';
+		}
+		return SEPARADOR;
+	}
+
+	private static int[] novoEstado() {
+		int[] estado = new int[ALFABETO];
+		Arrays.fill(estado, -1);
+		return estado;
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Remove fisicamente os lançamentos excluídos logicamente há mais tempo que a
+ * retenção. Roda de madrugada, em lotes pequenos com uma transação curta cada
+ * e uma pausa entre eles, e para ao fim da janela mesmo que ainda restem
+ * lápides; o restante fica para a próxima execução.
+ */
+@Component
+public class CompactacaoLancamentos {
+
+	private static final Logger log = LoggerFactory.getLogger(CompactacaoLancamentos.class);
+
+	private static final String REMOVER_LOTE =
+			  " delete from financas.lancamento where id in ( "
+			+ "   select l.id from financas.lancamento l "
+			+ "    where l.deletado_em < :limite "
+			+ "    order by l.deletado_em limit :lote ) ";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int retencaoDias;
+	private final int lote;
+	private final long pausaMs;
+	private final long janelaMs;
+
+	public CompactacaoLancamentos(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			@Value("${lancamento.compactacao.retencao-dias:30}") int retencaoDias,
+			@Value("${lancamento.compactacao.lote:500}") int lote,
+			@Value("${lancamento.compactacao.pausa:100}") long pausaMs,
+			@Value("${lancamento.compactacao.janela-minutos:30}") long janelaMinutos) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.retencaoDias = retencaoDias;
+		this.lote = lote;
+		this.pausaMs = pausaMs;
+		this.janelaMs = TimeUnit.MINUTES.toMillis(janelaMinutos);
+	}
+
+	@Scheduled(cron = "${lancamento.compactacao.agendamento:0 30 4 * * *}")
+	public void agendar() {
+		compactar();
+	}
+
+	public int compactar() {
+		long fimJanela = System.currentTimeMillis() + janelaMs;
+		MapSqlParameterSource parametros = new MapSqlParameterSource()
+				.addValue("limite", Timestamp.valueOf(LocalDateTime.now().minusDays(retencaoDias)))
+				.addValue("lote", lote);
+
+		int total = 0;
+		int removidos;
+		do {
+			removidos = transactionTemplate.execute(status -> jdbcTemplate.update(REMOVER_LOTE, parametros));
+			total += removidos;
+		} while (removidos == lote && System.currentTimeMillis() < fimJanela && pausar());
+
+		log.info("{} lançamentos excluídos há mais de {} dias removidos definitivamente.", total, retencaoDias);
+		return total;
+	}
+
+	private boolean pausar() {
+		try {
+			Thread.sleep(pausaMs);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+}
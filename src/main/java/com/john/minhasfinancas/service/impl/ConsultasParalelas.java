@@ -0,0 +1,93 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import com.john.minhasfinancas.config.PrazoSql;
+import com.john.minhasfinancas.exception.ServicoIndisponivelException;
+
+/**
+ * Consultas de uma mesma requisição disparadas em paralelo num pool limitado.
+ * O prazo conta desde a criação e vale também para o banco, via
+ * {@link PrazoSql}: uma consulta lenta é abortada pelo próprio banco em vez
+ * de prender a thread e a conexão. Com o pool cheio ou o prazo esgotado, as
+ * consultas que ainda não terminaram são canceladas e a chamada falha com
+ * {@link ServicoIndisponivelException}.
+ */
+final class ConsultasParalelas {
+
+	private final ExecutorService executor;
+	private final long prazo;
+	private final String mensagem;
+	private final List<Future<?>> consultas = new ArrayList<>();
+
+	ConsultasParalelas(ExecutorService executor, long tempoLimiteMs, String mensagem) {
+		this.executor = executor;
+		this.prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(tempoLimiteMs);
+		this.mensagem = mensagem;
+	}
+
+	<T> Future<T> submeter(Callable<T> consulta) {
+		try {
+			Future<T> futuro = executor.submit(PrazoSql.limitar(prazo, consulta));
+			consultas.add(futuro);
+			return futuro;
+		} catch (RejectedExecutionException e) {
+			cancelar();
+			throw new ServicoIndisponivelException(mensagem);
+		}
+	}
+
+	void aguardar() {
+		try {
+			for (Future<?> consulta : consultas) {
+				consulta.get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+			}
+		} catch (TimeoutException e) {
+			cancelar();
+			throw new ServicoIndisponivelException(mensagem);
+		} catch (ExecutionException e) {
+			cancelar();
+			if (e.getCause() instanceof QueryTimeoutException
+					|| e.getCause() instanceof javax.persistence.QueryTimeoutException) {
+				throw new ServicoIndisponivelException(mensagem);
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			cancelar();
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Resultado de uma consulta já concluída em {@link #aguardar()}.
+	 */
+	static <T> T obter(Future<T> consulta) {
+		try {
+			return consulta.get();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void cancelar() {
+		consultas.forEach(consulta -> consulta.cancel(true));
+	}
+
+}
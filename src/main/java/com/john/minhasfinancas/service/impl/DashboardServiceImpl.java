@@ -0,0 +1,93 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.service.Dashboard;
+import com.john.minhasfinancas.service.DashboardService;
+import com.john.minhasfinancas.service.LancamentoService;
+
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+	private final LancamentoRepository repository;
+	private final LancamentoService lancamentoService;
+	private final ThreadPoolExecutor executor;
+	private final long tempoLimiteMs;
+
+	public DashboardServiceImpl(LancamentoRepository repository, LancamentoService lancamentoService,
+			@Value("${dashboard.executor.threads:8}") int threads,
+			@Value("${dashboard.executor.fila:200}") int tamanhoFila,
+			@Value("${dashboard.tempo-limite:2000}") long tempoLimiteMs) {
+		this.repository = repository;
+		this.lancamentoService = lancamentoService;
+		this.tempoLimiteMs = tempoLimiteMs;
+
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(tamanhoFila), runnable -> {
+					Thread thread = new Thread(runnable, "dashboard-" + contador.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdownNow();
+	}
+
+	@Override
+	public Dashboard obterDashboard(Long idUsuario, int ultimos) {
+		YearMonth atual = YearMonth.now();
+
+		ConsultasParalelas consultas = new ConsultasParalelas(executor, tempoLimiteMs,
+				"Não foi possível carregar o painel a tempo; tente novamente.");
+		Future<BigDecimal> saldo = consultas.submeter(() -> lancamentoService.obterSaldoPorUsuario(idUsuario));
+		Future<List<Dashboard.Total>> totais = consultas.submeter(() -> obterTotais(idUsuario, atual));
+		Future<Long> pendentes = consultas
+				.submeter(() -> repository.countByUsuarioIdAndStatus(idUsuario, StatusLancamento.PENDENTE));
+		Future<List<Lancamento>> ultimosLancamentos = consultas.submeter(() -> repository.findByUsuarioId(idUsuario,
+				PageRequest.of(0, ultimos, Sort.by(Sort.Direction.DESC, "dataCadastro", "id"))));
+		consultas.aguardar();
+
+		return Dashboard.builder()
+				.saldo(ConsultasParalelas.obter(saldo))
+				.ano(atual.getYear())
+				.mes(atual.getMonthValue())
+				.totaisDoMes(ConsultasParalelas.obter(totais))
+				.pendentes(ConsultasParalelas.obter(pendentes))
+				.ultimosLancamentos(ConsultasParalelas.obter(ultimosLancamentos))
+				.build();
+	}
+
+	private List<Dashboard.Total> obterTotais(Long idUsuario, YearMonth periodo) {
+		return repository.obterTotaisPorTipoEStatus(idUsuario, periodo.getYear(), periodo.getMonthValue()).stream()
+				.map(linha -> Dashboard.Total.builder()
+						.tipo((TipoLancamento) linha[0])
+						.status((StatusLancamento) linha[1])
+						.quantidade((Long) linha[2])
+						.valor((BigDecimal) linha[3])
+						.build())
+				.collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,175 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.service.DescricaoService;
+
+@Service
+public class DescricaoServiceImpl implements DescricaoService {
+
+	public static final String FUNCAO_BUSCA_TEXTUAL = "busca_textual";
+
+	private final LancamentoRepository repository;
+	private final boolean buscaNoPostgres;
+	private final AtomicLong geracao = new AtomicLong();
+	private final Map<Long, Entrada> indices;
+
+	public DescricaoServiceImpl(LancamentoRepository repository,
+			@Value("${lancamento.busca-textual:memoria}") String modoBusca,
+			@Value("${lancamento.busca-textual.maximo-usuarios:10000}") int maximoUsuarios) {
+		this.repository = repository;
+		this.buscaNoPostgres = "postgres".equals(modoBusca);
+		this.indices = new LinkedHashMap<Long, Entrada>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Entrada> eldest) {
+				if (size() <= maximoUsuarios) {
+					return false;
+				}
+				geracao.incrementAndGet();
+				return true;
+			}
+		};
+	}
+
+	@Override
+	public Specification<Lancamento> buscarTexto(Long idUsuario, String texto) {
+		if (buscaNoPostgres) {
+			String consulta = consultaTextual(texto);
+			return (root, query, cb) -> cb.isTrue(cb.function(FUNCAO_BUSCA_TEXTUAL, Boolean.class,
+					root.get("descricao"), cb.literal(consulta)));
+		}
+
+		Set<Long> ids = obterIndice(idUsuario).buscar(texto);
+		if (ids.isEmpty()) {
+			return (root, query, cb) -> cb.disjunction();
+		}
+		return (root, query, cb) -> root.get("id").in(ids);
+	}
+
+	/**
+	 * Consulta do to_tsquery com os termos sem acentos, casando com o indice
+	 * montado sobre financas.sem_acento(descricao).
+	 */
+	public static String consultaTextual(String texto) {
+		return IndiceDescricoes.termos(texto).stream()
+				.map(termo -> termo + ":*")
+				.collect(Collectors.joining(" & "));
+	}
+
+	@Override
+	public List<String> sugerir(Long idUsuario, String prefixo, int limite) {
+		return obterIndice(idUsuario).sugerir(prefixo, limite);
+	}
+
+	@Override
+	public void registrar(Lancamento lancamento) {
+		aposCommit(() -> alterar(lancamento.getUsuario().getId(),
+				indice -> indice.adicionar(lancamento.getId(), lancamento.getDescricao())));
+	}
+
+	@Override
+	public void remover(Lancamento lancamento) {
+		aposCommit(() -> alterar(lancamento.getUsuario().getId(), indice -> indice.remover(lancamento.getId())));
+	}
+
+	@Override
+	public void invalidar(Collection<Long> idsUsuario) {
+		aposCommit(() -> {
+			synchronized (indices) {
+				for (Long idUsuario : idsUsuario) {
+					indices.put(idUsuario, new Entrada(versao(indices.get(idUsuario)) + 1, null));
+				}
+			}
+		});
+	}
+
+	/**
+	 * Como em PrevisaoServiceImpl: cada escrita incrementa a versão do usuário
+	 * e o índice lido do banco só é instalado se a versão e a geração do mapa
+	 * (incrementada a cada despejo do LRU) forem as mesmas do início da leitura.
+	 */
+	private IndiceDescricoes obterIndice(Long idUsuario) {
+		long versaoInicial;
+		long geracaoInicial;
+		synchronized (indices) {
+			Entrada entrada = indices.get(idUsuario);
+			if (entrada != null && entrada.indice != null) {
+				return entrada.indice;
+			}
+			versaoInicial = versao(entrada);
+			geracaoInicial = geracao.get();
+		}
+
+		IndiceDescricoes indice = new IndiceDescricoes();
+		for (Object[] linha : repository.obterDescricoesPorUsuario(idUsuario)) {
+			indice.adicionar((Long) linha[0], (String) linha[1]);
+		}
+
+		synchronized (indices) {
+			Entrada existente = indices.get(idUsuario);
+			if (existente != null && existente.indice != null) {
+				return existente.indice;
+			}
+			if (versao(existente) == versaoInicial && geracao.get() == geracaoInicial) {
+				indices.put(idUsuario, new Entrada(versaoInicial, indice));
+			}
+		}
+		return indice;
+	}
+
+	private void alterar(Long idUsuario, Consumer<IndiceDescricoes> alteracao) {
+		synchronized (indices) {
+			Entrada entrada = indices.get(idUsuario);
+			if (entrada != null && entrada.indice != null) {
+				alteracao.accept(entrada.indice);
+			}
+			indices.put(idUsuario, new Entrada(versao(entrada) + 1, entrada == null ? null : entrada.indice));
+		}
+	}
+
+	private static long versao(Entrada entrada) {
+		return entrada == null ? 0 : entrada.versao;
+	}
+
+	private void aposCommit(Runnable acao) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			acao.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				acao.run();
+			}
+		});
+	}
+
+	private static final class Entrada {
+
+		private final long versao;
+		private final IndiceDescricoes indice;
+
+		private Entrada(long versao, IndiceDescricoes indice) {
+			this.versao = versao;
+			this.indice = indice;
+		}
+
+	}
+
+}
@@ -0,0 +1,162 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.john.minhasfinancas.service.DuplicidadeService;
+
+@Service
+public class DuplicidadeServiceImpl implements DuplicidadeService {
+
+	private static final Logger log = LoggerFactory.getLogger(DuplicidadeServiceImpl.class);
+
+	private static final String LANCAMENTOS_SEM_ASSINATURA =
+			  " select l.id, l.id_usuario, l.ano, l.mes, l.valor, l.tipo, l.descricao from financas.lancamento l "
+			+ "  where l.assinatura is null and l.id_usuario is not null and l.deletado_em is null and l.id > :ultimo "
+			+ "  order by l.id limit :lote ";
+
+	private static final String ASSINAR = " update financas.lancamento set assinatura = :assinatura where id = :id ";
+
+	private static final String ASSINATURAS =
+			  " select l.id, l.id_usuario, l.assinatura from financas.lancamento l "
+			+ "  where l.assinatura is not null and l.status <> 'CANCELADO' and l.deletado_em is null "
+			+ "  order by l.id_usuario, l.assinatura, l.id ";
+
+	private static final String ASSINATURAS_DO_USUARIO =
+			  " select l.id, l.id_usuario, l.assinatura from financas.lancamento l "
+			+ "  where l.id_usuario = :usuario and l.assinatura is not null and l.status <> 'CANCELADO' "
+			+ "    and l.deletado_em is null "
+			+ "  order by l.assinatura, l.id ";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int lote;
+
+	public DuplicidadeServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager,
+			@Value("${duplicidade.lote:1000}") int lote) {
+		JdbcTemplate cursor = new JdbcTemplate(dataSource);
+		cursor.setFetchSize(lote);
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(cursor);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.lote = lote;
+	}
+
+	@Override
+	public List<List<Long>> buscarGrupos(Long idUsuario) {
+		List<List<Long>> grupos = new ArrayList<>();
+		transactionTemplate.execute(status -> {
+			Agrupador agrupador = new Agrupador((usuario, grupo) -> grupos.add(grupo));
+			jdbcTemplate.query(ASSINATURAS_DO_USUARIO, new MapSqlParameterSource("usuario", idUsuario), agrupador);
+			agrupador.concluir();
+			return null;
+		});
+		return grupos;
+	}
+
+	@Override
+	public int assinarPendentes() {
+		int total = 0;
+		long[] ultimo = { 0 };
+		int assinados;
+		do {
+			assinados = transactionTemplate.execute(status -> {
+				List<SqlParameterSource> assinaturas = new ArrayList<>();
+				jdbcTemplate.query(LANCAMENTOS_SEM_ASSINATURA,
+						new MapSqlParameterSource("ultimo", ultimo[0]).addValue("lote", lote), rs -> {
+							ultimo[0] = rs.getLong("id");
+							assinaturas.add(new MapSqlParameterSource()
+									.addValue("id", ultimo[0])
+									.addValue("assinatura", AssinaturaLancamento.calcular(rs.getLong("id_usuario"),
+											rs.getObject("ano", Integer.class), rs.getObject("mes", Integer.class),
+											rs.getBigDecimal("valor"), rs.getString("tipo"), rs.getString("descricao"))));
+						});
+				if (!assinaturas.isEmpty()) {
+					jdbcTemplate.batchUpdate(ASSINAR, assinaturas.toArray(new SqlParameterSource[0]));
+				}
+				return assinaturas.size();
+			});
+			total += assinados;
+		} while (assinados == lote);
+		return total;
+	}
+
+	@Override
+	@Scheduled(cron = "${duplicidade.agendamento:0 30 3 * * *}")
+	public int verificar() {
+		long inicio = System.nanoTime();
+		int assinados = assinarPendentes();
+
+		long[] totais = new long[3];
+		transactionTemplate.execute(status -> {
+			long[] ultimoUsuario = { -1 };
+			Agrupador agrupador = new Agrupador((usuario, grupo) -> {
+				totais[0]++;
+				totais[1] += grupo.size();
+				if (usuario != ultimoUsuario[0]) {
+					ultimoUsuario[0] = usuario;
+					totais[2]++;
+				}
+			});
+			jdbcTemplate.getJdbcTemplate().query(ASSINATURAS, agrupador);
+			agrupador.concluir();
+			return null;
+		});
+
+		log.info("{} lançamentos assinados; {} grupos de duplicados com {} lançamentos em {} usuários ({} ms).",
+				assinados, totais[0], totais[1], totais[2], (System.nanoTime() - inicio) / 1_000_000);
+		return (int) totais[0];
+	}
+
+	private static class Agrupador implements RowCallbackHandler {
+
+		private final BiConsumer<Long, List<Long>> consumidor;
+		private long usuario;
+		private long assinatura;
+		private List<Long> grupo = new ArrayList<>();
+
+		Agrupador(BiConsumer<Long, List<Long>> consumidor) {
+			this.consumidor = consumidor;
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			long usuarioDaLinha = rs.getLong("id_usuario");
+			long assinaturaDaLinha = rs.getLong("assinatura");
+			if (grupo.isEmpty() || usuarioDaLinha != usuario || assinaturaDaLinha != assinatura) {
+				concluir();
+				usuario = usuarioDaLinha;
+				assinatura = assinaturaDaLinha;
+			}
+			grupo.add(rs.getLong("id"));
+		}
+
+		void concluir() {
+			if (grupo.size() > 1) {
+				consumidor.accept(usuario, grupo);
+				grupo = new ArrayList<>();
+			} else {
+				grupo.clear();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,218 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.john.minhasfinancas.model.entity.EventoLancamento;
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.enums.OperacaoHistorico;
+import com.john.minhasfinancas.model.repository.EventoLancamentoRepository;
+import com.john.minhasfinancas.model.repository.UsuarioRepository;
+import com.john.minhasfinancas.service.AssinanteEventos;
+import com.john.minhasfinancas.service.EventoService;
+import com.john.minhasfinancas.service.TravaService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Service
+public class EventoServiceImpl implements EventoService, MeterBinder {
+
+	private static final Logger log = LoggerFactory.getLogger(EventoServiceImpl.class);
+	private static final String TRAVA = "eventos";
+
+	private final EventoLancamentoRepository repository;
+	private final UsuarioRepository usuarioRepository;
+	private final TravaService travaService;
+	private final List<AssinanteEventos> assinantes;
+	private final TransactionTemplate transactionTemplate;
+	private final int lote;
+	private final int tentativasMaximas;
+	private final int retencaoDias;
+	private final Duration duracaoTrava;
+	private final LongAdder publicados = new LongAdder();
+	private final LongAdder falhas = new LongAdder();
+	private final LongAdder descartados = new LongAdder();
+	private final AtomicLong atraso = new AtomicLong();
+
+	public EventoServiceImpl(EventoLancamentoRepository repository, UsuarioRepository usuarioRepository,
+			TravaService travaService, List<AssinanteEventos> assinantes, PlatformTransactionManager transactionManager,
+			@Value("${eventos.lote:500}") int lote,
+			@Value("${eventos.tentativas-maximas:10}") int tentativasMaximas,
+			@Value("${eventos.retencao-dias:7}") int retencaoDias,
+			@Value("${eventos.trava:60000}") long duracaoTravaMs) {
+		this.repository = repository;
+		this.usuarioRepository = usuarioRepository;
+		this.travaService = travaService;
+		this.assinantes = assinantes;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.lote = lote;
+		this.tentativasMaximas = tentativasMaximas;
+		this.retencaoDias = retencaoDias;
+		this.duracaoTrava = Duration.ofMillis(duracaoTravaMs);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("eventos.lancamento", publicados, LongAdder::doubleValue)
+				.tag("resultado", "publicado").register(registry);
+		FunctionCounter.builder("eventos.lancamento", falhas, LongAdder::doubleValue)
+				.tag("resultado", "falha").register(registry);
+		FunctionCounter.builder("eventos.lancamento", descartados, LongAdder::doubleValue)
+				.tag("resultado", "descartado").register(registry);
+		Gauge.builder("eventos.lancamento.atraso", atraso, AtomicLong::get).baseUnit("milliseconds")
+				.register(registry);
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void registrar(OperacaoHistorico operacao, Lancamento lancamento, Integer anoAnterior,
+			Integer mesAnterior) {
+		if (lancamento.getId() == null || lancamento.getUsuario() == null) {
+			return;
+		}
+
+		usuarioRepository.bloquear(Collections.singleton(lancamento.getUsuario().getId()));
+		repository.save(criarEvento(operacao, lancamento.getUsuario().getId(), lancamento, anoAnterior, mesAnterior));
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void registrar(OperacaoHistorico operacao, Collection<Lancamento> lancamentos, Long idUsuario) {
+		if (lancamentos.isEmpty()) {
+			return;
+		}
+
+		usuarioRepository.bloquear(Collections.singleton(idUsuario));
+		repository.saveAll(lancamentos.stream()
+				.map(lancamento -> criarEvento(operacao, idUsuario, lancamento, null, null))
+				.collect(Collectors.toList()));
+	}
+
+	private static EventoLancamento criarEvento(OperacaoHistorico operacao, Long idUsuario, Lancamento lancamento,
+			Integer anoAnterior, Integer mesAnterior) {
+		return EventoLancamento.builder()
+				.idUsuario(idUsuario)
+				.idLancamento(lancamento.getId())
+				.operacao(operacao)
+				.ano(lancamento.getAno())
+				.mes(lancamento.getMes())
+				.anoAnterior(anoAnterior)
+				.mesAnterior(mesAnterior)
+				.dataCriacao(LocalDateTime.now())
+				.publicado(false)
+				.tentativas(0)
+				.build();
+	}
+
+	@Scheduled(fixedDelayString = "${eventos.intervalo:500}")
+	public void agendar() {
+		publicarPendentes();
+	}
+
+	/**
+	 * Só uma instância publica por vez, para manter a ordem dos eventos de cada
+	 * usuário; a trava é renovada a cada lote.
+	 */
+	@Override
+	public int publicarPendentes() {
+		try {
+			return publicarComTrava();
+		} finally {
+			travaService.liberar(TRAVA);
+		}
+	}
+
+	private int publicarComTrava() {
+		int total = 0;
+		while (true) {
+			if (!travaService.adquirir(TRAVA, duracaoTrava)) {
+				return total;
+			}
+
+			List<EventoLancamento> eventos = repository.findByPublicadoFalseOrderByIdAsc(PageRequest.of(0, lote));
+			if (eventos.isEmpty()) {
+				atraso.set(0);
+				return total;
+			}
+			atraso.set(Duration.between(eventos.get(0).getDataCriacao(), LocalDateTime.now()).toMillis());
+
+			List<Long> concluidos = entregar(eventos);
+			if (!concluidos.isEmpty()) {
+				transactionTemplate.execute(status -> repository.marcarPublicados(concluidos));
+			}
+			total += concluidos.size();
+
+			if (eventos.size() < lote || concluidos.size() < eventos.size()) {
+				return total;
+			}
+		}
+	}
+
+	@Scheduled(cron = "${eventos.limpeza:0 0 4 * * *}")
+	public void limpar() {
+		int removidos = transactionTemplate
+				.execute(status -> repository.removerPublicadosAntesDe(LocalDateTime.now().minusDays(retencaoDias)));
+		log.info("{} eventos de lançamentos publicados removidos.", removidos);
+	}
+
+	private List<Long> entregar(List<EventoLancamento> eventos) {
+		try {
+			assinantes.forEach(assinante -> assinante.receber(eventos));
+			publicados.add(eventos.size());
+			return ids(eventos);
+		} catch (RuntimeException e) {
+			log.warn("Falha ao entregar um lote de {} eventos; entregando por usuário.", eventos.size(), e);
+		}
+
+		Map<Long, List<EventoLancamento>> porUsuario = eventos.stream()
+				.collect(Collectors.groupingBy(EventoLancamento::getIdUsuario, LinkedHashMap::new, Collectors.toList()));
+
+		List<Long> concluidos = new ArrayList<>(eventos.size());
+		for (List<EventoLancamento> eventosDoUsuario : porUsuario.values()) {
+			try {
+				assinantes.forEach(assinante -> assinante.receber(eventosDoUsuario));
+				publicados.add(eventosDoUsuario.size());
+				concluidos.addAll(ids(eventosDoUsuario));
+			} catch (RuntimeException e) {
+				falhas.add(eventosDoUsuario.size());
+				if (eventosDoUsuario.get(0).getTentativas() + 1 >= tentativasMaximas) {
+					descartados.add(eventosDoUsuario.size());
+					concluidos.addAll(ids(eventosDoUsuario));
+					log.error("Eventos {} do usuário {} descartados após {} tentativas.", ids(eventosDoUsuario),
+							eventosDoUsuario.get(0).getIdUsuario(), tentativasMaximas, e);
+				} else {
+					transactionTemplate.execute(status -> repository.registrarTentativa(ids(eventosDoUsuario)));
+				}
+			}
+		}
+		return concluidos;
+	}
+
+	private static List<Long> ids(List<EventoLancamento> eventos) {
+		return eventos.stream().map(EventoLancamento::getId).collect(Collectors.toList());
+	}
+
+}
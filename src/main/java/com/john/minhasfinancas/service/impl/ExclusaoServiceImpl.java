@@ -0,0 +1,257 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.john.minhasfinancas.exception.RegraNegocioException;
+import com.john.minhasfinancas.model.entity.Fechamento;
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.enums.OperacaoHistorico;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.model.repository.UsuarioRepository;
+import com.john.minhasfinancas.service.DescricaoService;
+import com.john.minhasfinancas.service.EventoService;
+import com.john.minhasfinancas.service.ExclusaoService;
+import com.john.minhasfinancas.service.FechamentoService;
+import com.john.minhasfinancas.service.GrupoService;
+import com.john.minhasfinancas.service.HistoricoService;
+import com.john.minhasfinancas.service.PrevisaoService;
+import com.john.minhasfinancas.service.ProgressoExclusao;
+import com.john.minhasfinancas.service.ProgressoExclusao.Situacao;
+
+/**
+ * Exclui em segundo plano os lançamentos de um usuário que atendem ao filtro,
+ * em lotes com uma transação curta cada. Cada lote bloqueia o usuário, como o
+ * fechamento de período, e relê o primeiro período aberto dentro da própria
+ * transação; mantém histórico, índice de descrições, previsão e eventos como
+ * na exclusão individual. Lançamentos de períodos fechados nunca são
+ * excluídos e aparecem como ignorados.
+ */
+@Service
+public class ExclusaoServiceImpl implements ExclusaoService {
+
+	private static final Logger log = LoggerFactory.getLogger(ExclusaoServiceImpl.class);
+
+	private static final int ANO_MAXIMO = 9999;
+
+	private static final String FILTRO =
+			  " from financas.lancamento l "
+			+ "  where l.id_usuario = :usuario and l.ano <= :anoFinal and l.deletado_em is null "
+			+ "    and l.ano >= :ano and (l.ano > :ano or l.mes >= :mes) ";
+
+	private static final String FILTRO_FECHADOS =
+			  " from financas.lancamento l "
+			+ "  where l.id_usuario = :usuario and l.ano >= :anoInicial and l.ano <= :anoFinal "
+			+ "    and l.deletado_em is null "
+			+ "    and (l.ano < :anoFechado or (l.ano = :anoFechado and l.mes <= :mesFechado)) ";
+
+	private static final String STATUS = " and l.status = :status ";
+
+	private final LancamentoRepository repository;
+	private final UsuarioRepository usuarioRepository;
+	private final FechamentoService fechamentoService;
+	private final HistoricoService historicoService;
+	private final DescricaoService descricaoService;
+	private final PrevisaoService previsaoService;
+	private final GrupoService grupoService;
+	private final EventoService eventoService;
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int lote;
+	private final long retencaoMs;
+	private final ExecutorService executor;
+	private final AtomicLong sequencia = new AtomicLong();
+	private final Map<Long, ProgressoExclusao> exclusoes = new ConcurrentHashMap<>();
+
+	public ExclusaoServiceImpl(LancamentoRepository repository, UsuarioRepository usuarioRepository,
+			FechamentoService fechamentoService,
+			HistoricoService historicoService, DescricaoService descricaoService, PrevisaoService previsaoService,
+			GrupoService grupoService, EventoService eventoService, DataSource dataSource,
+			PlatformTransactionManager transactionManager,
+			@Value("${exclusao.lote:500}") int lote,
+			@Value("${exclusao.executor.threads:2}") int threads,
+			@Value("${exclusao.retencao-minutos:60}") long retencaoMinutos) {
+		this.repository = repository;
+		this.usuarioRepository = usuarioRepository;
+		this.fechamentoService = fechamentoService;
+		this.historicoService = historicoService;
+		this.descricaoService = descricaoService;
+		this.previsaoService = previsaoService;
+		this.grupoService = grupoService;
+		this.eventoService = eventoService;
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.lote = lote;
+		this.retencaoMs = TimeUnit.MINUTES.toMillis(retencaoMinutos);
+
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "exclusao-" + contador.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdownNow();
+	}
+
+	@Override
+	public synchronized ProgressoExclusao iniciar(Long idUsuario, Integer anoInicial, Integer anoFinal,
+			StatusLancamento status) {
+		int inicial = anoInicial != null ? anoInicial : 0;
+		int fim = anoFinal != null ? anoFinal : ANO_MAXIMO;
+		if (inicial > fim) {
+			throw new RegraNegocioException("O ano inicial deve ser menor ou igual ao ano final.");
+		}
+
+		LocalDateTime limiteRetencao = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(retencaoMs));
+		exclusoes.values().removeIf(e -> e.getFim() != null && e.getFim().isBefore(limiteRetencao));
+		if (exclusoes.values().stream()
+				.anyMatch(e -> e.getIdUsuario().equals(idUsuario) && e.getSituacao() == Situacao.EM_ANDAMENTO)) {
+			throw new RegraNegocioException("Já existe uma exclusão de lançamentos em andamento.");
+		}
+
+		ProgressoExclusao progresso = ProgressoExclusao.builder()
+				.id(sequencia.incrementAndGet())
+				.idUsuario(idUsuario)
+				.anoInicial(anoInicial)
+				.anoFinal(anoFinal)
+				.status(status)
+				.situacao(Situacao.EM_ANDAMENTO)
+				.inicio(LocalDateTime.now())
+				.build();
+		exclusoes.put(progresso.getId(), progresso);
+		executor.execute(() -> executar(progresso, inicial, fim));
+		return progresso;
+	}
+
+	@Override
+	public Optional<ProgressoExclusao> obterProgresso(Long idUsuario, Long id) {
+		return Optional.ofNullable(exclusoes.get(id)).filter(e -> e.getIdUsuario().equals(idUsuario));
+	}
+
+	private void executar(ProgressoExclusao inicial, int anoInicial, int anoFinal) {
+		Long idUsuario = inicial.getIdUsuario();
+		ProgressoExclusao progresso = inicial;
+		try {
+			int[] aberto = primeiroPeriodoAberto(idUsuario, anoInicial);
+			progresso = atualizar(progresso.toBuilder()
+					.total(contar(FILTRO, filtro(idUsuario, anoFinal, aberto, inicial.getStatus()), inicial.getStatus()))
+					.ignorados(contarFechados(idUsuario, anoInicial, anoFinal, aberto, inicial.getStatus()))
+					.build());
+
+			int excluidos;
+			do {
+				excluidos = transactionTemplate.execute(status -> {
+					usuarioRepository.bloquear(Collections.singleton(idUsuario));
+					int[] periodo = primeiroPeriodoAberto(idUsuario, anoInicial);
+					return excluirLote(idUsuario, filtro(idUsuario, anoFinal, periodo, inicial.getStatus()),
+							inicial.getStatus());
+				});
+				if (excluidos > 0) {
+					progresso = atualizar(progresso.toBuilder()
+							.excluidos(progresso.getExcluidos() + excluidos)
+							.lotes(progresso.getLotes() + 1)
+							.build());
+				}
+			} while (excluidos == lote && !Thread.currentThread().isInterrupted());
+
+			atualizar(progresso.toBuilder().situacao(Situacao.CONCLUIDA).fim(LocalDateTime.now()).build());
+			log.info("Exclusão {} do usuário {} concluída: {} lançamentos excluídos em {} lotes, {} ignorados.",
+					progresso.getId(), idUsuario, progresso.getExcluidos(), progresso.getLotes(),
+					progresso.getIgnorados());
+		} catch (RuntimeException e) {
+			atualizar(progresso.toBuilder().situacao(Situacao.FALHOU).fim(LocalDateTime.now()).erro(e.getMessage())
+					.build());
+			log.error("Falha na exclusão {} do usuário {} após {} lançamentos excluídos.", progresso.getId(),
+					idUsuario, progresso.getExcluidos(), e);
+		}
+	}
+
+	private int excluirLote(Long idUsuario, MapSqlParameterSource parametros, StatusLancamento status) {
+		List<Long> ids = jdbcTemplate.queryForList(
+				" select l.id " + FILTRO + (status != null ? STATUS : "") + " order by l.ano, l.mes limit :lote ",
+				parametros.addValue("lote", lote), Long.class);
+		if (ids.isEmpty()) {
+			return 0;
+		}
+
+		List<Lancamento> lancamentos = repository.obterPorUsuarioEIds(idUsuario, ids);
+		repository.excluirPorIds(ids);
+		for (Lancamento lancamento : lancamentos) {
+			historicoService.registrar(OperacaoHistorico.EXCLUSAO, null, lancamento);
+			descricaoService.remover(lancamento);
+		}
+		previsaoService.invalidar(idUsuario);
+		grupoService.invalidarMembro(idUsuario);
+		eventoService.registrar(OperacaoHistorico.EXCLUSAO, lancamentos, idUsuario);
+		return ids.size();
+	}
+
+	private ProgressoExclusao atualizar(ProgressoExclusao progresso) {
+		exclusoes.put(progresso.getId(), progresso);
+		return progresso;
+	}
+
+	private int[] primeiroPeriodoAberto(Long idUsuario, int anoInicial) {
+		Optional<Fechamento> fechamento = fechamentoService.obterUltimoFechamento(idUsuario);
+		int primeiroAberto = fechamento.map(f -> f.getAno() * 12 + f.getMes()).orElse(0);
+		int periodo = Math.max(anoInicial * 12, primeiroAberto);
+		return new int[] { periodo / 12, periodo % 12 + 1 };
+	}
+
+	private long contarFechados(Long idUsuario, int anoInicial, int anoFinal, int[] aberto, StatusLancamento status) {
+		int ultimoFechado = aberto[0] * 12 + aberto[1] - 2;
+		if (ultimoFechado < anoInicial * 12) {
+			return 0;
+		}
+		MapSqlParameterSource parametros = new MapSqlParameterSource()
+				.addValue("usuario", idUsuario)
+				.addValue("anoInicial", anoInicial)
+				.addValue("anoFinal", anoFinal)
+				.addValue("anoFechado", ultimoFechado / 12)
+				.addValue("mesFechado", ultimoFechado % 12 + 1)
+				.addValue("status", status != null ? status.name() : null);
+		return contar(FILTRO_FECHADOS, parametros, status);
+	}
+
+	private long contar(String filtro, MapSqlParameterSource parametros, StatusLancamento status) {
+		return jdbcTemplate.queryForObject(" select count(*) " + filtro + (status != null ? STATUS : ""),
+				parametros, Long.class);
+	}
+
+	private static MapSqlParameterSource filtro(Long idUsuario, int anoFinal, int[] periodo,
+			StatusLancamento status) {
+		return new MapSqlParameterSource()
+				.addValue("usuario", idUsuario)
+				.addValue("anoFinal", anoFinal)
+				.addValue("ano", periodo[0])
+				.addValue("mes", periodo[1])
+				.addValue("status", status != null ? status.name() : null);
+	}
+
+}
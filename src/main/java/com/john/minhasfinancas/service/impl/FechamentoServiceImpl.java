@@ -0,0 +1,115 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.john.minhasfinancas.exception.RegraNegocioException;
+import com.john.minhasfinancas.model.entity.Fechamento;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.FechamentoRepository;
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.model.repository.UsuarioRepository;
+import com.john.minhasfinancas.service.FechamentoService;
+
+@Service
+public class FechamentoServiceImpl implements FechamentoService {
+
+	private FechamentoRepository repository;
+	private LancamentoRepository lancamentoRepository;
+	private UsuarioRepository usuarioRepository;
+
+	public FechamentoServiceImpl(FechamentoRepository repository, LancamentoRepository lancamentoRepository,
+			UsuarioRepository usuarioRepository) {
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+		this.usuarioRepository = usuarioRepository;
+	}
+
+	@Override
+	@Transactional
+	public Fechamento fechar(Usuario usuario, Integer ano, Integer mes) {
+		if (usuario == null || usuario.getId() == null) {
+			throw new RegraNegocioException("Informe um Usuário válido.");
+		}
+
+		if (mes == null || mes < 1 || mes > 12) {
+			throw new RegraNegocioException("Informe um Mês válido.");
+		}
+
+		if (ano == null || ano.toString().length() != 4) {
+			throw new RegraNegocioException("Informe um Ano válido.");
+		}
+
+		LocalDate hoje = LocalDate.now();
+		if (ano > hoje.getYear() || (ano == hoje.getYear() && mes > hoje.getMonthValue())) {
+			throw new RegraNegocioException("Não é possível fechar um período futuro.");
+		}
+
+		usuarioRepository.bloquear(Collections.singleton(usuario.getId()));
+		Optional<Fechamento> ultimoFechamento = obterUltimoFechamento(usuario.getId());
+		if (ultimoFechamento.isPresent() && periodoFechado(ultimoFechamento.get(), ano, mes)) {
+			throw new RegraNegocioException("O período informado já está fechado.");
+		}
+
+		BigDecimal saldoAnterior = ultimoFechamento.map(Fechamento::getSaldo).orElse(BigDecimal.ZERO);
+		BigDecimal saldoPeriodo = calcularSaldoEntrePeriodos(usuario.getId(),
+				ultimoFechamento.map(Fechamento::getAno).orElse(0),
+				ultimoFechamento.map(Fechamento::getMes).orElse(0), ano, mes);
+
+		Fechamento fechamento = Fechamento.builder()
+				.usuario(usuario)
+				.ano(ano)
+				.mes(mes)
+				.saldo(saldoAnterior.add(saldoPeriodo))
+				.dataFechamento(hoje)
+				.build();
+
+		return repository.save(fechamento);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Fechamento> obterUltimoFechamento(Long idUsuario) {
+		return repository.findFirstByUsuarioIdOrderByAnoDescMesDesc(idUsuario);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public boolean periodoFechado(Long idUsuario, Integer ano, Integer mes) {
+		return obterUltimoFechamento(idUsuario)
+				.map(fechamento -> periodoFechado(fechamento, ano, mes))
+				.orElse(false);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public BigDecimal calcularSaldoEntrePeriodos(Long idUsuario, Integer anoInicial, Integer mesInicial,
+			Integer anoFinal, Integer mesFinal) {
+		BigDecimal receitas = lancamentoRepository.obterSaldoPorTipoLancamentoEUsuarioEStatusEntrePeriodos(idUsuario,
+				TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, anoInicial, mesInicial, anoFinal, mesFinal);
+		BigDecimal despesas = lancamentoRepository.obterSaldoPorTipoLancamentoEUsuarioEStatusEntrePeriodos(idUsuario,
+				TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, anoInicial, mesInicial, anoFinal, mesFinal);
+
+		if (receitas == null) {
+			receitas = BigDecimal.ZERO;
+		}
+
+		if (despesas == null) {
+			despesas = BigDecimal.ZERO;
+		}
+
+		return receitas.subtract(despesas);
+	}
+
+	private boolean periodoFechado(Fechamento fechamento, Integer ano, Integer mes) {
+		return ano < fechamento.getAno() || (ano.equals(fechamento.getAno()) && mes <= fechamento.getMes());
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila circular limitada, sem bloqueio, para vários produtores e um único
+ * consumidor. Cada produtor reserva uma posição com CAS e publica o elemento
+ * nela; o consumidor só avança até a primeira posição ainda não publicada.
+ */
+public class FilaCircular<T> {
+
+	private final AtomicReferenceArray<T> posicoes;
+	private final int mascara;
+	private final AtomicLong cauda = new AtomicLong();
+	private volatile long cabeca;
+
+	public FilaCircular(int capacidadeMinima) {
+		int capacidade = Integer.highestOneBit(Math.max(2, capacidadeMinima - 1)) << 1;
+		this.posicoes = new AtomicReferenceArray<>(capacidade);
+		this.mascara = capacidade - 1;
+	}
+
+	public boolean oferecer(T elemento) {
+		while (true) {
+			long posicao = cauda.get();
+			if (posicao - cabeca > mascara) {
+				return false;
+			}
+			if (cauda.compareAndSet(posicao, posicao + 1)) {
+				posicoes.set((int) posicao & mascara, elemento);
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Move até {@code maximo} elementos para o destino. Deve ser chamado
+	 * apenas pela thread consumidora.
+	 */
+	public int drenar(Collection<? super T> destino, int maximo) {
+		long posicao = cabeca;
+		int drenados = 0;
+		while (drenados < maximo) {
+			int indice = (int) posicao & mascara;
+			T elemento = posicoes.get(indice);
+			if (elemento == null) {
+				break;
+			}
+			posicoes.lazySet(indice, null);
+			destino.add(elemento);
+			posicao++;
+			drenados++;
+		}
+		cabeca = posicao;
+		return drenados;
+	}
+
+	public int tamanho() {
+		return (int) Math.max(0, cauda.get() - cabeca);
+	}
+
+	public int capacidade() {
+		return mascara + 1;
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.john.minhasfinancas.model.repository.UsuarioRepository;
+
+@Component
+public class FiltroEmails {
+
+	private static final Logger log = LoggerFactory.getLogger(FiltroEmails.class);
+
+	private final UsuarioRepository repository;
+	private final AtomicLongArray bits;
+	private final long totalBits;
+	private final int totalHashes;
+	private volatile boolean aquecido;
+
+	public FiltroEmails(UsuarioRepository repository,
+			@Value("${usuario.filtro-email.capacidade:1000000}") long capacidade,
+			@Value("${usuario.filtro-email.taxa-falso-positivo:0.01}") double taxaFalsoPositivo) {
+		this.repository = repository;
+
+		long bitsNecessarios = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+		int palavras = (int) Math.max(1, (bitsNecessarios + 63) / 64);
+		this.bits = new AtomicLongArray(palavras);
+		this.totalBits = palavras * 64L;
+		this.totalHashes = Math.max(1, (int) Math.round((double) totalBits / capacidade * Math.log(2)));
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void aquecer() {
+		long inicio = System.currentTimeMillis();
+		long total;
+		try (Stream<String> emails = repository.streamAllEmails()) {
+			total = emails.peek(this::adicionar).count();
+		}
+		aquecido = true;
+		log.info("Filtro de emails aquecido com {} emails em {} ms", total, System.currentTimeMillis() - inicio);
+	}
+
+	public boolean podeExistir(String email) {
+		if (!aquecido || email == null) {
+			return true;
+		}
+
+		long hash = hash(email);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < totalHashes; i++) {
+			long posicao = posicao(h1 + i * h2);
+			if ((bits.get((int) (posicao >>> 6)) & (1L << posicao)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public void adicionar(String email) {
+		if (email == null) {
+			return;
+		}
+
+		long hash = hash(email);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < totalHashes; i++) {
+			long posicao = posicao(h1 + i * h2);
+			int indice = (int) (posicao >>> 6);
+			long mascara = 1L << posicao;
+			long atual;
+			do {
+				atual = bits.get(indice);
+			} while ((atual & mascara) == 0 && !bits.compareAndSet(indice, atual, atual | mascara));
+		}
+	}
+
+	private long posicao(int hash) {
+		return (hash & 0xFFFFFFFFL) % totalBits;
+	}
+
+	private static long hash(String email) {
+		long hash = 0xcbf29ce484222325L;
+		for (byte b : email.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b;
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+}
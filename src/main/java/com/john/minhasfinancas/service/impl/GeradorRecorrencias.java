@@ -0,0 +1,307 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.enums.OperacaoHistorico;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.service.DescricaoService;
+import com.john.minhasfinancas.service.EventoService;
+import com.john.minhasfinancas.service.GrupoService;
+import com.john.minhasfinancas.service.PrevisaoService;
+import com.john.minhasfinancas.service.TravaService;
+
+/**
+ * Gera as parcelas das recorrências ativas até o horizonte configurado. A
+ * geração agendada roda em uma instância por vez, sob a trava
+ * {@value #TRAVA}; no PostgreSQL as recorrências lidas ficam travadas
+ * ({@code for update skip locked}) e a inserção ignora parcelas que outra
+ * transação já gerou ({@code on conflict do nothing}), de modo que uma
+ * corrida com {@link RecorrenciaServiceImpl#criar} não desfaz o lote.
+ */
+@Component
+public class GeradorRecorrencias {
+
+	private static final Logger log = LoggerFactory.getLogger(GeradorRecorrencias.class);
+
+	private static final String TRAVA = "recorrencias";
+
+	private static final String USUARIOS_COM_RECORRENCIAS = 
+			  " select distinct r.id_usuario from financas.recorrencia r where r.ativa = true order by r.id_usuario ";
+
+	private static final String RECORRENCIAS_DOS_USUARIOS = 
+			  " select r.id, r.id_usuario, r.descricao, r.valor, r.tipo, r.id_categoria, r.ano_inicial, r.mes_inicial, "
+			+ "        r.quantidade_parcelas, r.ano_final, r.mes_final, r.ultima_parcela, "
+			+ "        (select max(f.ano * 12 + f.mes - 1) from financas.fechamento f "
+			+ "          where f.id_usuario = r.id_usuario) as fechado_ate "
+			+ "   from financas.recorrencia r "
+			+ "  where r.ativa = true and r.id_usuario in (:usuarios) ";
+
+	private static final String TRAVAR_RECORRENCIAS = " for update of r skip locked ";
+
+	private static final String INSERIR_PARCELA = 
+			  " insert into financas.lancamento "
+			+ "        (descricao, mes, ano, id_usuario, valor, data_cadastro, tipo, status, id_categoria, id_recorrencia, parcela, assinatura) "
+			+ " select :descricao, :mes, :ano, :usuario, :valor, :dataCadastro, :tipo, :status, :categoria, :recorrencia, :parcela, :assinatura "
+			+ "  where not exists (select 1 from financas.lancamento l "
+			+ "                     where l.id_recorrencia = :recorrencia and l.parcela = :parcela) ";
+
+	private static final String IGNORAR_PARCELA_EXISTENTE = " on conflict (id_recorrencia, parcela) do nothing ";
+
+	private static final String PARCELAS_GERADAS = 
+			  " select l.id, l.id_usuario, l.ano, l.mes, l.id_recorrencia, l.parcela from financas.lancamento l "
+			+ "  where l.id_recorrencia in (:recorrencias) and l.data_cadastro = :dataCadastro ";
+
+	private static final String AVANCAR_RECORRENCIA = 
+			  " update financas.recorrencia set ultima_parcela = :parcela, ativa = :ativa "
+			+ "  where id = :recorrencia and ultima_parcela <= :parcela and ativa = true ";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final DescricaoService descricaoService;
+	private final PrevisaoService previsaoService;
+	private final GrupoService grupoService;
+	private final EventoService eventoService;
+	private final TravaService travaService;
+	private final ExecutorService executor;
+	private final String recorrenciasDosUsuarios;
+	private final String inserirParcela;
+	private final Duration duracaoTrava;
+	private final int mesesAntecedencia;
+	private final int usuariosPorLote;
+
+	public GeradorRecorrencias(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			DescricaoService descricaoService, PrevisaoService previsaoService, GrupoService grupoService,
+			EventoService eventoService, TravaService travaService,
+			@Value("${recorrencia.meses-antecedencia:12}") int mesesAntecedencia,
+			@Value("${recorrencia.usuarios-por-lote:500}") int usuariosPorLote,
+			@Value("${recorrencia.executor.threads:4}") int threads,
+			@Value("${recorrencia.trava:3600000}") long duracaoTravaMs) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.descricaoService = descricaoService;
+		this.previsaoService = previsaoService;
+		this.grupoService = grupoService;
+		this.eventoService = eventoService;
+		this.travaService = travaService;
+		this.duracaoTrava = Duration.ofMillis(duracaoTravaMs);
+		boolean postgres = postgres(jdbcTemplate);
+		this.recorrenciasDosUsuarios = postgres ? RECORRENCIAS_DOS_USUARIOS + TRAVAR_RECORRENCIAS : RECORRENCIAS_DOS_USUARIOS;
+		this.inserirParcela = postgres ? INSERIR_PARCELA + IGNORAR_PARCELA_EXISTENTE : INSERIR_PARCELA;
+		this.mesesAntecedencia = mesesAntecedencia;
+		this.usuariosPorLote = usuariosPorLote;
+
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "recorrencia-" + contador.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdown();
+	}
+
+	@Scheduled(cron = "${recorrencia.agendamento:0 0 3 * * *}")
+	public void agendar() {
+		gerarPendentes();
+	}
+
+	public int gerarPendentes() {
+		if (!travaService.adquirir(TRAVA, duracaoTrava)) {
+			log.info("Geração de recorrências em andamento em outra instância.");
+			return 0;
+		}
+		try {
+			return gerarPendentesComTrava();
+		} finally {
+			travaService.liberar(TRAVA);
+		}
+	}
+
+	private int gerarPendentesComTrava() {
+		long inicio = System.nanoTime();
+		List<Long> usuarios = jdbcTemplate.getJdbcTemplate().queryForList(USUARIOS_COM_RECORRENCIAS, Long.class);
+
+		List<Future<Integer>> lotes = new ArrayList<>();
+		for (int i = 0; i < usuarios.size(); i += usuariosPorLote) {
+			List<Long> lote = usuarios.subList(i, Math.min(i + usuariosPorLote, usuarios.size()));
+			lotes.add(executor.submit(() -> gerar(lote)));
+		}
+
+		int total = 0;
+		int falhas = 0;
+		for (Future<Integer> lote : lotes) {
+			try {
+				total += lote.get();
+			} catch (ExecutionException e) {
+				falhas++;
+				log.error("Falha ao gerar um lote de recorrências.", e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+
+		log.info("{} lançamentos recorrentes gerados para {} usuários em {} lotes ({} com falha) em {} ms.", total,
+				usuarios.size(), lotes.size(), falhas, (System.nanoTime() - inicio) / 1_000_000);
+		return total;
+	}
+
+	public int gerar(Collection<Long> idsUsuario) {
+		if (idsUsuario.isEmpty()) {
+			return 0;
+		}
+		return transactionTemplate.execute(status -> {
+			int horizonte = indice(YearMonth.now()) + mesesAntecedencia;
+			Date dataCadastro = Date.valueOf(LocalDate.now());
+
+			List<SqlParameterSource> parcelas = new ArrayList<>();
+			List<SqlParameterSource> avancos = new ArrayList<>();
+			Set<Long> usuariosComParcelas = new HashSet<>();
+
+			jdbcTemplate.query(recorrenciasDosUsuarios, new MapSqlParameterSource("usuarios", idsUsuario), rs -> {
+				long recorrencia = rs.getLong("id");
+				int inicial = rs.getInt("ano_inicial") * 12 + rs.getInt("mes_inicial") - 1;
+				int ultimaParcela = rs.getInt("ultima_parcela");
+
+				int limite = horizonte;
+				int quantidadeParcelas = rs.getInt("quantidade_parcelas");
+				if (!rs.wasNull()) {
+					limite = Math.min(limite, inicial + quantidadeParcelas - 1);
+				}
+				int anoFinal = rs.getInt("ano_final");
+				if (!rs.wasNull()) {
+					limite = Math.min(limite, anoFinal * 12 + rs.getInt("mes_final") - 1);
+				}
+				int fechadoAte = rs.getInt("fechado_ate");
+				if (rs.wasNull()) {
+					fechadoAte = Integer.MIN_VALUE;
+				}
+
+				int parcela = ultimaParcela;
+				for (int mes = inicial + parcela; mes <= limite; mes = inicial + parcela) {
+					parcela++;
+					if (mes <= fechadoAte) {
+						continue;
+					}
+					usuariosComParcelas.add(rs.getLong("id_usuario"));
+					parcelas.add(new MapSqlParameterSource()
+							.addValue("descricao", rs.getString("descricao"))
+							.addValue("mes", mes % 12 + 1)
+							.addValue("ano", mes / 12)
+							.addValue("usuario", rs.getLong("id_usuario"))
+							.addValue("valor", rs.getBigDecimal("valor"))
+							.addValue("dataCadastro", dataCadastro)
+							.addValue("tipo", rs.getString("tipo"))
+							.addValue("status", StatusLancamento.PENDENTE.name())
+							.addValue("categoria", rs.getObject("id_categoria"), Types.BIGINT)
+							.addValue("recorrencia", recorrencia)
+							.addValue("parcela", parcela)
+							.addValue("assinatura", AssinaturaLancamento.calcular(rs.getLong("id_usuario"), mes / 12,
+									mes % 12 + 1, rs.getBigDecimal("valor"), rs.getString("tipo"),
+									rs.getString("descricao"))));
+				}
+
+				boolean encerrada = limite < horizonte;
+				if (parcela > ultimaParcela || encerrada) {
+					avancos.add(new MapSqlParameterSource()
+							.addValue("recorrencia", recorrencia)
+							.addValue("parcela", parcela)
+							.addValue("ativa", !encerrada));
+				}
+			});
+
+			if (!parcelas.isEmpty()) {
+				int[] inseridas = jdbcTemplate.batchUpdate(inserirParcela, parcelas.toArray(new SqlParameterSource[0]));
+				registrarEventos(parcelas, inseridas, dataCadastro);
+				descricaoService.invalidar(usuariosComParcelas);
+				usuariosComParcelas.forEach(previsaoService::invalidar);
+				usuariosComParcelas.forEach(grupoService::invalidarMembro);
+			}
+			if (!avancos.isEmpty()) {
+				jdbcTemplate.batchUpdate(AVANCAR_RECORRENCIA, avancos.toArray(new SqlParameterSource[0]));
+			}
+			return parcelas.size();
+		});
+	}
+
+	/**
+	 * As parcelas entram no outbox como qualquer lançamento criado, na mesma
+	 * transação; os totais por categoria são atualizados pelos assinantes.
+	 */
+	private void registrarEventos(List<SqlParameterSource> parcelas, int[] inseridas, Date dataCadastro) {
+		Map<Long, Set<Integer>> parcelasInseridas = new HashMap<>();
+		for (int i = 0; i < parcelas.size(); i++) {
+			if (inseridas[i] != 0) {
+				parcelasInseridas.computeIfAbsent((Long) parcelas.get(i).getValue("recorrencia"), r -> new HashSet<>())
+						.add((Integer) parcelas.get(i).getValue("parcela"));
+			}
+		}
+		if (parcelasInseridas.isEmpty()) {
+			return;
+		}
+
+		Map<Long, List<Lancamento>> lancamentosPorUsuario = new TreeMap<>();
+		jdbcTemplate.query(PARCELAS_GERADAS, new MapSqlParameterSource("recorrencias", parcelasInseridas.keySet())
+				.addValue("dataCadastro", dataCadastro), rs -> {
+					if (parcelasInseridas.get(rs.getLong("id_recorrencia")).contains(rs.getInt("parcela"))) {
+						lancamentosPorUsuario.computeIfAbsent(rs.getLong("id_usuario"), u -> new ArrayList<>())
+								.add(Lancamento.builder().id(rs.getLong("id")).ano(rs.getInt("ano"))
+										.mes(rs.getInt("mes")).build());
+					}
+				});
+		lancamentosPorUsuario.forEach((usuario, lancamentos) ->
+				eventoService.registrar(OperacaoHistorico.CRIACAO, lancamentos, usuario));
+	}
+
+	private static boolean postgres(NamedParameterJdbcTemplate jdbcTemplate) {
+		try {
+			Object banco = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getJdbcTemplate().getDataSource(),
+					DatabaseMetaData::getDatabaseProductName);
+			return "PostgreSQL".equals(banco);
+		} catch (MetaDataAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static int indice(YearMonth periodo) {
+		return periodo.getYear() * 12 + periodo.getMonthValue() - 1;
+	}
+
+}
@@ -0,0 +1,363 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.john.minhasfinancas.exception.RegraNegocioException;
+import com.john.minhasfinancas.model.entity.Fechamento;
+import com.john.minhasfinancas.model.entity.Grupo;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.GrupoRepository;
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.model.repository.UsuarioRepository;
+import com.john.minhasfinancas.service.Dashboard;
+import com.john.minhasfinancas.service.FechamentoService;
+import com.john.minhasfinancas.service.GrupoService;
+import com.john.minhasfinancas.service.RelatorioGrupo;
+
+/**
+ * O saldo de cada membro é calculado em paralelo, porque cada um tem o seu
+ * último fechamento, e os totais do mês saem de uma única consulta agrupada
+ * sobre todos os membros. O relatório fica em cache por grupo até que algum
+ * membro altere seus lançamentos ou a composição do grupo mude. Um usuário
+ * convidado só passa a ser membro, e a entrar no saldo, no relatório e na
+ * busca, depois de aceitar o convite. A composição
+ * do grupo é protegida pela versão da entidade: alterações concorrentes
+ * falham em vez de passar do limite de membros.
+ */
+@Service
+public class GrupoServiceImpl implements GrupoService {
+
+	private static final Integer ANO_MAXIMO = 9999;
+
+	private final GrupoRepository repository;
+	private final UsuarioRepository usuarioRepository;
+	private final LancamentoRepository lancamentoRepository;
+	private final FechamentoService fechamentoService;
+	private final ThreadPoolExecutor executor;
+	private final long tempoLimiteMs;
+	private final int maximoMembros;
+	private final int maximoGrupos;
+	private final Map<Long, Entrada> relatorios = new ConcurrentHashMap<>();
+	private final Map<Long, Set<Long>> gruposPorMembro = new ConcurrentHashMap<>();
+	private final AtomicLong geracao = new AtomicLong();
+
+	public GrupoServiceImpl(GrupoRepository repository, UsuarioRepository usuarioRepository,
+			LancamentoRepository lancamentoRepository, FechamentoService fechamentoService,
+			@Value("${grupo.executor.threads:8}") int threads,
+			@Value("${grupo.executor.fila:200}") int tamanhoFila,
+			@Value("${grupo.tempo-limite:2000}") long tempoLimiteMs,
+			@Value("${grupo.maximo-membros:20}") int maximoMembros,
+			@Value("${grupo.maximo-grupos:10000}") int maximoGrupos) {
+		this.repository = repository;
+		this.usuarioRepository = usuarioRepository;
+		this.lancamentoRepository = lancamentoRepository;
+		this.fechamentoService = fechamentoService;
+		this.tempoLimiteMs = tempoLimiteMs;
+		this.maximoMembros = maximoMembros;
+		this.maximoGrupos = maximoGrupos;
+
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(tamanhoFila), runnable -> {
+					Thread thread = new Thread(runnable, "grupo-" + contador.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdown();
+	}
+
+	@Override
+	@Transactional
+	public Grupo criar(Usuario responsavel, String nome) {
+		if (nome == null || nome.trim().isEmpty()) {
+			throw new RegraNegocioException("Informe um Nome válido.");
+		}
+
+		Set<Usuario> membros = new HashSet<>();
+		membros.add(responsavel);
+		return repository.save(Grupo.builder()
+				.nome(nome.trim())
+				.responsavel(responsavel)
+				.membros(membros)
+				.convidados(new HashSet<>())
+				.dataCriacao(LocalDate.now())
+				.build());
+	}
+
+	@Override
+	@Transactional
+	public Grupo convidar(Grupo grupo, Usuario solicitante, String email) {
+		validarResponsavel(grupo, solicitante);
+		Usuario convidado = usuarioRepository.findByEmail(email)
+				.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o email informado."));
+		if (contem(grupo.getMembros(), convidado.getId())) {
+			throw new RegraNegocioException("O usuário já faz parte do grupo.");
+		}
+		if (contem(grupo.getConvidados(), convidado.getId())) {
+			throw new RegraNegocioException("O usuário já foi convidado para o grupo.");
+		}
+		if (grupo.getMembros().size() + grupo.getConvidados().size() >= maximoMembros) {
+			throw new RegraNegocioException("O grupo atingiu o limite de " + maximoMembros + " membros.");
+		}
+
+		grupo.getConvidados().add(convidado);
+		return salvar(grupo);
+	}
+
+	@Override
+	@Transactional
+	public Grupo aceitarConvite(Grupo grupo, Usuario convidado) {
+		if (!grupo.getConvidados().removeIf(c -> c.getId().equals(convidado.getId()))) {
+			throw new RegraNegocioException("Não há convite pendente para o usuário.");
+		}
+		if (grupo.getMembros().size() >= maximoMembros) {
+			throw new RegraNegocioException("O grupo atingiu o limite de " + maximoMembros + " membros.");
+		}
+
+		grupo.getMembros().add(convidado);
+		Grupo grupoSalvo = salvar(grupo);
+		invalidarGrupo(grupo.getId());
+		return grupoSalvo;
+	}
+
+	@Override
+	@Transactional
+	public void recusarConvite(Grupo grupo, Usuario convidado) {
+		if (!grupo.getConvidados().removeIf(c -> c.getId().equals(convidado.getId()))) {
+			throw new RegraNegocioException("Não há convite pendente para o usuário.");
+		}
+		salvar(grupo);
+	}
+
+	@Override
+	@Transactional
+	public void removerMembro(Grupo grupo, Usuario solicitante, Long idUsuario) {
+		if (!solicitante.getId().equals(idUsuario)) {
+			validarResponsavel(grupo, solicitante);
+		}
+		if (grupo.getResponsavel().getId().equals(idUsuario)) {
+			throw new RegraNegocioException("O responsável não pode sair do grupo.");
+		}
+		if (!grupo.getMembros().removeIf(m -> m.getId().equals(idUsuario))) {
+			throw new RegraNegocioException("O usuário não faz parte do grupo.");
+		}
+
+		salvar(grupo);
+		invalidarGrupo(grupo.getId());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Grupo> obterGruposDoUsuario(Long idUsuario) {
+		return repository.obterPorMembro(idUsuario);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Grupo> obterGrupoDoMembro(Long idGrupo, Long idUsuario) {
+		return repository.obterPorIdEMembro(idGrupo, idUsuario);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Grupo> obterConvitesDoUsuario(Long idUsuario) {
+		return repository.obterPorConvidado(idUsuario);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Grupo> obterGrupoDoConvidado(Long idGrupo, Long idUsuario) {
+		return repository.obterPorIdEConvidado(idGrupo, idUsuario);
+	}
+
+	/**
+	 * Cada grupo tem a sua versão, incrementada quando o grupo ou um membro
+	 * muda; o relatório só entra no cache se a versão e a geração do mapa
+	 * forem as mesmas do início do cálculo. O grupo é indexado pelos membros
+	 * antes do cálculo, para que uma alteração durante o cálculo o encontre.
+	 */
+	@Override
+	public RelatorioGrupo obterRelatorio(Grupo grupo) {
+		YearMonth atual = YearMonth.now();
+		Entrada entrada = relatorios.get(grupo.getId());
+		if (entrada != null && entrada.relatorio != null && entrada.relatorio.getAno() == atual.getYear()
+				&& entrada.relatorio.getMes() == atual.getMonthValue()) {
+			return entrada.relatorio;
+		}
+
+		if (relatorios.size() >= maximoGrupos) {
+			geracao.incrementAndGet();
+			relatorios.clear();
+			gruposPorMembro.clear();
+			entrada = null;
+		}
+
+		long geracaoInicial = geracao.get();
+		long versaoInicial = versao(entrada);
+		for (Usuario membro : grupo.getMembros()) {
+			gruposPorMembro.computeIfAbsent(membro.getId(), id -> ConcurrentHashMap.newKeySet()).add(grupo.getId());
+		}
+		RelatorioGrupo relatorio = calcular(grupo, atual);
+		relatorios.compute(grupo.getId(), (id, existente) -> versao(existente) == versaoInicial
+				&& geracao.get() == geracaoInicial ? new Entrada(versaoInicial, relatorio) : existente);
+		return relatorio;
+	}
+
+	@Override
+	public void invalidarMembro(Long idUsuario) {
+		aposCommit(() -> {
+			Set<Long> grupos = gruposPorMembro.get(idUsuario);
+			if (grupos != null) {
+				grupos.forEach(this::incrementarVersao);
+			}
+		});
+	}
+
+	private void invalidarGrupo(Long idGrupo) {
+		aposCommit(() -> incrementarVersao(idGrupo));
+	}
+
+	private void incrementarVersao(Long idGrupo) {
+		relatorios.compute(idGrupo, (id, existente) -> new Entrada(versao(existente) + 1, null));
+	}
+
+	private RelatorioGrupo calcular(Grupo grupo, YearMonth periodo) {
+		List<Usuario> membros = new ArrayList<>(grupo.getMembros());
+		membros.sort(Comparator.comparing(Usuario::getId));
+		List<Long> ids = membros.stream().map(Usuario::getId).collect(Collectors.toList());
+
+		ConsultasParalelas consultas = new ConsultasParalelas(executor, tempoLimiteMs,
+				"Não foi possível calcular o saldo do grupo no tempo esperado.");
+		List<Future<BigDecimal>> saldos = membros.stream()
+				.map(membro -> consultas.submeter(() -> obterSaldo(membro.getId())))
+				.collect(Collectors.toList());
+		Future<List<Dashboard.Total>> totais = consultas.submeter(() -> obterTotais(ids, periodo));
+		consultas.aguardar();
+
+		BigDecimal saldo = BigDecimal.ZERO;
+		List<RelatorioGrupo.Membro> saldosMembros = new ArrayList<>(membros.size());
+		for (int i = 0; i < membros.size(); i++) {
+			BigDecimal saldoMembro = ConsultasParalelas.obter(saldos.get(i));
+			saldo = saldo.add(saldoMembro);
+			saldosMembros.add(RelatorioGrupo.Membro.builder()
+					.idUsuario(membros.get(i).getId())
+					.nome(membros.get(i).getNome())
+					.saldo(saldoMembro)
+					.build());
+		}
+
+		return RelatorioGrupo.builder()
+				.idGrupo(grupo.getId())
+				.nome(grupo.getNome())
+				.saldo(saldo)
+				.ano(periodo.getYear())
+				.mes(periodo.getMonthValue())
+				.membros(saldosMembros)
+				.totaisDoMes(ConsultasParalelas.obter(totais))
+				.build();
+	}
+
+	private BigDecimal obterSaldo(Long idUsuario) {
+		Optional<Fechamento> fechamento = fechamentoService.obterUltimoFechamento(idUsuario);
+
+		BigDecimal saldoFechado = fechamento.map(Fechamento::getSaldo).orElse(BigDecimal.ZERO);
+		BigDecimal saldoAberto = fechamentoService.calcularSaldoEntrePeriodos(idUsuario,
+				fechamento.map(Fechamento::getAno).orElse(0), fechamento.map(Fechamento::getMes).orElse(0),
+				ANO_MAXIMO, 12);
+
+		return saldoFechado.add(saldoAberto);
+	}
+
+	private List<Dashboard.Total> obterTotais(List<Long> idsUsuario, YearMonth periodo) {
+		return lancamentoRepository.obterTotaisPorTipoEStatusDosUsuarios(idsUsuario, periodo.getYear(),
+				periodo.getMonthValue()).stream()
+				.map(linha -> Dashboard.Total.builder()
+						.tipo((TipoLancamento) linha[0])
+						.status((StatusLancamento) linha[1])
+						.quantidade((Long) linha[2])
+						.valor((BigDecimal) linha[3])
+						.build())
+				.collect(Collectors.toList());
+	}
+
+	private static boolean contem(Set<Usuario> usuarios, Long idUsuario) {
+		return usuarios.stream().anyMatch(usuario -> usuario.getId().equals(idUsuario));
+	}
+
+	private Grupo salvar(Grupo grupo) {
+		try {
+			return repository.saveAndFlush(grupo);
+		} catch (ObjectOptimisticLockingFailureException e) {
+			throw new RegraNegocioException("O grupo foi alterado por outra requisição. Tente novamente.");
+		}
+	}
+
+	private void validarResponsavel(Grupo grupo, Usuario solicitante) {
+		if (!grupo.getResponsavel().getId().equals(solicitante.getId())) {
+			throw new RegraNegocioException("Apenas o responsável pode alterar os membros do grupo.");
+		}
+	}
+
+	private void aposCommit(Runnable acao) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			acao.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				acao.run();
+			}
+		});
+	}
+
+	private static long versao(Entrada entrada) {
+		return entrada == null ? 0 : entrada.versao;
+	}
+
+	private static final class Entrada {
+
+		private final long versao;
+		private final RelatorioGrupo relatorio;
+
+		private Entrada(long versao, RelatorioGrupo relatorio) {
+			this.versao = versao;
+			this.relatorio = relatorio;
+		}
+
+	}
+
+}
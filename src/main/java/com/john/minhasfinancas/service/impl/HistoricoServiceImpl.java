@@ -0,0 +1,251 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.john.minhasfinancas.model.entity.HistoricoLancamento;
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.enums.OperacaoHistorico;
+import com.john.minhasfinancas.model.repository.HistoricoLancamentoRepository;
+import com.john.minhasfinancas.service.HistoricoService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Service
+public class HistoricoServiceImpl implements HistoricoService, MeterBinder {
+
+	private static final Logger log = LoggerFactory.getLogger(HistoricoServiceImpl.class);
+	private static final ObjectMapper JSON = new ObjectMapper();
+
+	private static final String LANCAMENTO =
+			  " select l.descricao, l.ano, l.mes, l.valor, l.tipo, l.status, l.id_categoria, l.parcela "
+			+ "   from financas.lancamento l where l.id = :id and l.deletado_em is null ";
+
+	private static final String INSERIR =
+			  " insert into financas.lancamento_historico (id_lancamento, id_usuario, operacao, anterior, atual, data_hora) "
+			+ " values (:idLancamento, :idUsuario, :operacao, :anterior, :atual, :dataHora) ";
+
+	/**
+	 * ASSINCRONO descarta eventos quando a fila está cheia (perda limitada à
+	 * capacidade da fila), AGUARDAR segura quem grava até haver espaço e
+	 * SINCRONO grava na própria transação da alteração.
+	 */
+	public enum Durabilidade {
+		ASSINCRONO,
+		AGUARDAR,
+		SINCRONO
+	}
+
+	private final HistoricoLancamentoRepository repository;
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final Durabilidade durabilidade;
+	private final FilaCircular<HistoricoLancamento> fila;
+	private final int lote;
+	private final long intervaloNanos;
+	private final LongAdder gravados = new LongAdder();
+	private final LongAdder descartados = new LongAdder();
+	private volatile boolean ativo = true;
+	private Thread escritor;
+
+	public HistoricoServiceImpl(HistoricoLancamentoRepository repository, NamedParameterJdbcTemplate jdbcTemplate,
+			@Value("${historico.durabilidade:ASSINCRONO}") Durabilidade durabilidade,
+			@Value("${historico.capacidade:8192}") int capacidade,
+			@Value("${historico.lote:500}") int lote,
+			@Value("${historico.intervalo:50}") long intervalo) {
+		this.repository = repository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.durabilidade = durabilidade;
+		this.fila = new FilaCircular<>(capacidade);
+		this.lote = lote;
+		this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervalo);
+	}
+
+	@PostConstruct
+	public void iniciar() {
+		escritor = new Thread(this::escrever, "historico-escritor");
+		escritor.setDaemon(true);
+		escritor.start();
+	}
+
+	@PreDestroy
+	public void encerrar() throws InterruptedException {
+		ativo = false;
+		LockSupport.unpark(escritor);
+		escritor.join(TimeUnit.SECONDS.toMillis(10));
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("historico.eventos", gravados, LongAdder::doubleValue).tag("resultado", "gravado")
+				.register(registry);
+		FunctionCounter.builder("historico.eventos", descartados, LongAdder::doubleValue).tag("resultado", "descartado")
+				.register(registry);
+		Gauge.builder("historico.pendentes", fila, FilaCircular::tamanho).register(registry);
+	}
+
+	@Override
+	public Map<String, Object> capturar(Long idLancamento) {
+		List<Map<String, Object>> linhas = jdbcTemplate.query(LANCAMENTO, new MapSqlParameterSource("id", idLancamento),
+				(rs, linha) -> fotografar(rs.getString("descricao"), rs.getObject("ano", Integer.class),
+						rs.getObject("mes", Integer.class), rs.getBigDecimal("valor"), rs.getString("tipo"),
+						rs.getString("status"), rs.getObject("id_categoria", Long.class),
+						rs.getObject("parcela", Integer.class)));
+		return linhas.isEmpty() ? null : linhas.get(0);
+	}
+
+	@Override
+	public void registrar(OperacaoHistorico operacao, Map<String, Object> anterior, Lancamento lancamento) {
+		if (lancamento.getId() == null || lancamento.getUsuario() == null) {
+			return;
+		}
+
+		Map<String, Object> atual = fotografar(lancamento);
+		if (operacao == OperacaoHistorico.EXCLUSAO) {
+			anterior = atual;
+			atual = null;
+		}
+
+		HistoricoLancamento historico = HistoricoLancamento.builder()
+				.idLancamento(lancamento.getId())
+				.idUsuario(lancamento.getUsuario().getId())
+				.operacao(operacao)
+				.anterior(json(anterior))
+				.atual(json(atual))
+				.dataHora(LocalDateTime.now())
+				.build();
+
+		if (durabilidade == Durabilidade.SINCRONO) {
+			gravar(Collections.singletonList(historico));
+			gravados.increment();
+			return;
+		}
+		aposCommit(() -> enfileirar(historico));
+	}
+
+	@Override
+	public List<HistoricoLancamento> obterHistorico(Long idLancamento, Long idUsuario) {
+		return repository.findByIdLancamentoAndIdUsuarioOrderByIdAsc(idLancamento, idUsuario);
+	}
+
+	private void enfileirar(HistoricoLancamento historico) {
+		while (!fila.oferecer(historico)) {
+			if (durabilidade != Durabilidade.AGUARDAR || !ativo) {
+				descartados.increment();
+				return;
+			}
+			LockSupport.unpark(escritor);
+			LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+		}
+	}
+
+	private void escrever() {
+		List<HistoricoLancamento> eventos = new ArrayList<>(lote);
+		while (ativo || fila.tamanho() > 0) {
+			if (fila.drenar(eventos, lote) == 0) {
+				LockSupport.parkNanos(intervaloNanos);
+				continue;
+			}
+
+			try {
+				gravar(eventos);
+				gravados.add(eventos.size());
+			} catch (RuntimeException e) {
+				descartados.add(eventos.size());
+				log.error("Falha ao gravar {} eventos do histórico de lançamentos.", eventos.size(), e);
+			}
+			eventos.clear();
+		}
+	}
+
+	private void gravar(List<HistoricoLancamento> eventos) {
+		SqlParameterSource[] parametros = new SqlParameterSource[eventos.size()];
+		for (int i = 0; i < parametros.length; i++) {
+			HistoricoLancamento historico = eventos.get(i);
+			parametros[i] = new MapSqlParameterSource()
+					.addValue("idLancamento", historico.getIdLancamento())
+					.addValue("idUsuario", historico.getIdUsuario())
+					.addValue("operacao", historico.getOperacao().name())
+					.addValue("anterior", historico.getAnterior())
+					.addValue("atual", historico.getAtual())
+					.addValue("dataHora", Timestamp.valueOf(historico.getDataHora()));
+		}
+		jdbcTemplate.batchUpdate(INSERIR, parametros);
+	}
+
+	private static Map<String, Object> fotografar(Lancamento lancamento) {
+		return fotografar(lancamento.getDescricao(), lancamento.getAno(), lancamento.getMes(), lancamento.getValor(),
+				lancamento.getTipo() != null ? lancamento.getTipo().name() : null,
+				lancamento.getStatus() != null ? lancamento.getStatus().name() : null,
+				lancamento.getCategoria() != null ? lancamento.getCategoria().getId() : null,
+				lancamento.getParcela());
+	}
+
+	private static Map<String, Object> fotografar(String descricao, Integer ano, Integer mes, BigDecimal valor,
+			String tipo, String status, Long categoria, Integer parcela) {
+		Map<String, Object> foto = new LinkedHashMap<>();
+		foto.put("descricao", descricao);
+		foto.put("ano", ano);
+		foto.put("mes", mes);
+		foto.put("valor", valor != null ? valor.setScale(2, RoundingMode.HALF_EVEN) : null);
+		foto.put("tipo", tipo);
+		foto.put("status", status);
+		foto.put("categoria", categoria);
+		foto.put("parcela", parcela);
+		return foto;
+	}
+
+	private static String json(Map<String, Object> foto) {
+		if (foto == null) {
+			return null;
+		}
+		try {
+			return JSON.writeValueAsString(foto);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void aposCommit(Runnable acao) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			acao.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				acao.run();
+			}
+		});
+	}
+
+}
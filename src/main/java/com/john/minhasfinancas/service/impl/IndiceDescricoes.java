@@ -0,0 +1,132 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+public class IndiceDescricoes {
+
+	private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final int MAXIMO_CANDIDATOS = 500;
+
+	private final Map<Long, String> descricoes = new ConcurrentHashMap<>();
+	private final NavigableMap<String, Set<Long>> termos = new ConcurrentSkipListMap<>();
+	private final NavigableMap<String, Sugestao> sugestoes = new ConcurrentSkipListMap<>();
+
+	public synchronized void adicionar(Long id, String descricao) {
+		remover(id);
+		if (descricao == null) {
+			return;
+		}
+
+		descricoes.put(id, descricao);
+		for (String termo : termos(descricao)) {
+			termos.computeIfAbsent(termo, t -> ConcurrentHashMap.newKeySet()).add(id);
+		}
+		sugestoes.computeIfAbsent(normalizar(descricao).trim(), d -> new Sugestao(descricao)).uso++;
+	}
+
+	public synchronized void remover(Long id) {
+		String descricao = descricoes.remove(id);
+		if (descricao == null) {
+			return;
+		}
+
+		for (String termo : termos(descricao)) {
+			Set<Long> ids = termos.get(termo);
+			if (ids != null) {
+				ids.remove(id);
+				if (ids.isEmpty()) {
+					termos.remove(termo);
+				}
+			}
+		}
+
+		String chave = normalizar(descricao).trim();
+		Sugestao sugestao = sugestoes.get(chave);
+		if (sugestao != null && --sugestao.uso <= 0) {
+			sugestoes.remove(chave);
+		}
+	}
+
+	public Set<Long> buscar(String texto) {
+		Set<Long> resultado = null;
+		for (String prefixo : termos(texto)) {
+			Set<Long> ids = new HashSet<>();
+			for (Set<Long> idsDoTermo : porPrefixo(termos, prefixo).values()) {
+				ids.addAll(idsDoTermo);
+			}
+
+			if (resultado == null) {
+				resultado = ids;
+			} else {
+				resultado.retainAll(ids);
+			}
+
+			if (resultado.isEmpty()) {
+				break;
+			}
+		}
+		return resultado == null ? Collections.emptySet() : resultado;
+	}
+
+	public List<String> sugerir(String prefixo, int limite) {
+		List<Sugestao> candidatos = new ArrayList<>();
+		for (Sugestao sugestao : porPrefixo(sugestoes, normalizar(prefixo).trim()).values()) {
+			candidatos.add(sugestao);
+			if (candidatos.size() >= MAXIMO_CANDIDATOS) {
+				break;
+			}
+		}
+
+		candidatos.sort((a, b) -> Integer.compare(b.uso, a.uso));
+
+		List<String> resultado = new ArrayList<>(Math.min(limite, candidatos.size()));
+		for (int i = 0; i < candidatos.size() && i < limite; i++) {
+			resultado.add(candidatos.get(i).descricao);
+		}
+		return resultado;
+	}
+
+	public static List<String> termos(String texto) {
+		List<String> termos = new ArrayList<>();
+		if (texto == null) {
+			return termos;
+		}
+
+		for (String termo : SEPARADORES.split(normalizar(texto))) {
+			if (!termo.isEmpty()) {
+				termos.add(termo);
+			}
+		}
+		return termos;
+	}
+
+	static String normalizar(String texto) {
+		return ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("").toLowerCase();
+	}
+
+	private static <T> NavigableMap<String, T> porPrefixo(NavigableMap<String, T> mapa, String prefixo) {
+		return mapa.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false);
+	}
+
+	private static class Sugestao {
+
+		private final String descricao;
+		private volatile int uso;
+
+		private Sugestao(String descricao) {
+			this.descricao = descricao;
+		}
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.john.minhasfinancas.exception.ErroAutenticacao;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.service.JwtService;
+
+@Service
+public class JwtServiceImpl implements JwtService {
+
+	private static final String ALGORITMO = "HmacSHA256";
+	private static final String CABECALHO = Base64.getUrlEncoder().withoutPadding()
+			.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+	private final long expiracaoEmSegundos;
+	private final ObjectMapper objectMapper;
+	private final ThreadLocal<Mac> mac;
+
+	public JwtServiceImpl(@Value("${jwt.chave-assinatura}") String chaveAssinatura,
+			@Value("${jwt.expiracao}") long expiracaoEmMinutos) {
+		this.expiracaoEmSegundos = expiracaoEmMinutos * 60;
+		this.objectMapper = new ObjectMapper();
+
+		SecretKeySpec chave = new SecretKeySpec(chaveAssinatura.getBytes(StandardCharsets.UTF_8), ALGORITMO);
+		this.mac = ThreadLocal.withInitial(() -> {
+			try {
+				Mac instancia = Mac.getInstance(ALGORITMO);
+				instancia.init(chave);
+				return instancia;
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	@Override
+	public String gerarToken(Usuario usuario) {
+		Map<String, Object> claims = new LinkedHashMap<>();
+		claims.put("sub", usuario.getId());
+		claims.put("nome", usuario.getNome());
+		claims.put("email", usuario.getEmail());
+		claims.put("exp", System.currentTimeMillis() / 1000 + expiracaoEmSegundos);
+
+		try {
+			String conteudo = CABECALHO + "." + Base64.getUrlEncoder().withoutPadding()
+					.encodeToString(objectMapper.writeValueAsBytes(claims));
+			return conteudo + "." + assinar(conteudo);
+		} catch (Exception e) {
+			throw new IllegalStateException("Não foi possível gerar o token.", e);
+		}
+	}
+
+	@Override
+	public Usuario obterUsuarioAutorizado(String token) {
+		if (token == null) {
+			throw new ErroAutenticacao("Token não informado.");
+		}
+
+		int fimCabecalho = token.indexOf('.');
+		int fimConteudo = token.lastIndexOf('.');
+		if (fimCabecalho <= 0 || fimConteudo <= fimCabecalho) {
+			throw new ErroAutenticacao("Token inválido.");
+		}
+
+		String conteudo = token.substring(0, fimConteudo);
+		byte[] assinaturaEsperada = assinar(conteudo).getBytes(StandardCharsets.US_ASCII);
+		byte[] assinaturaRecebida = token.substring(fimConteudo + 1).getBytes(StandardCharsets.US_ASCII);
+		if (!MessageDigest.isEqual(assinaturaEsperada, assinaturaRecebida)) {
+			throw new ErroAutenticacao("Token inválido.");
+		}
+
+		JsonNode claims;
+		try {
+			claims = objectMapper.readTree(Base64.getUrlDecoder().decode(token.substring(fimCabecalho + 1, fimConteudo)));
+		} catch (Exception e) {
+			throw new ErroAutenticacao("Token inválido.");
+		}
+
+		if (claims.path("exp").asLong() < System.currentTimeMillis() / 1000) {
+			throw new ErroAutenticacao("Token expirado.");
+		}
+
+		return Usuario.builder()
+				.id(claims.path("sub").asLong())
+				.nome(claims.path("nome").textValue())
+				.email(claims.path("email").textValue())
+				.build();
+	}
+
+	private String assinar(String conteudo) {
+		byte[] assinatura = mac.get().doFinal(conteudo.getBytes(StandardCharsets.US_ASCII));
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(assinatura);
+	}
+
+}
@@ -1,53 +1,144 @@
 package com.john.minhasfinancas.service.impl;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.john.minhasfinancas.exception.RegraNegocioException;
+import com.john.minhasfinancas.model.entity.Categoria;
+import com.john.minhasfinancas.model.entity.Fechamento;
 import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.enums.OperacaoHistorico;
 import com.john.minhasfinancas.model.enums.StatusLancamento;
-import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.LancamentoFiltro;
 import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.model.repository.LancamentoRepositoryCustom;
+import com.john.minhasfinancas.model.repository.LancamentoSpecification;
+import com.john.minhasfinancas.service.CategoriaService;
+import com.john.minhasfinancas.service.DescricaoService;
+import com.john.minhasfinancas.service.EventoService;
+import com.john.minhasfinancas.service.FechamentoService;
+import com.john.minhasfinancas.service.GrupoService;
+import com.john.minhasfinancas.service.HistoricoService;
 import com.john.minhasfinancas.service.LancamentoService;
+import com.john.minhasfinancas.service.PrevisaoService;
 
 @Service
 public class LancamentoServiceImp implements LancamentoService {
 
+	private static final Integer ANO_MAXIMO = 9999;
+	private static final Set<String> CAMPOS_ORDENACAO = new HashSet<>(
+			Arrays.asList("id", "descricao", "ano", "mes", "valor", "dataCadastro", "tipo", "status"));
+
 	private LancamentoRepository repository;
+	private FechamentoService fechamentoService;
+	private DescricaoService descricaoService;
+	private PrevisaoService previsaoService;
+	private CategoriaService categoriaService;
+	private HistoricoService historicoService;
+	private EventoService eventoService;
+	private GrupoService grupoService;
+	private long janelaReenvioMs;
 
-	public LancamentoServiceImp(LancamentoRepository repository) {
+	public LancamentoServiceImp(LancamentoRepository repository, FechamentoService fechamentoService,
+			DescricaoService descricaoService, PrevisaoService previsaoService, CategoriaService categoriaService,
+			HistoricoService historicoService, EventoService eventoService, GrupoService grupoService,
+			@Value("${lancamento.janela-reenvio:10000}") long janelaReenvioMs) {
 		this.repository = repository;
+		this.fechamentoService = fechamentoService;
+		this.descricaoService = descricaoService;
+		this.previsaoService = previsaoService;
+		this.categoriaService = categoriaService;
+		this.historicoService = historicoService;
+		this.eventoService = eventoService;
+		this.grupoService = grupoService;
+		this.janelaReenvioMs = janelaReenvioMs;
 	}
 
 	@Override
 	@Transactional
 	public Lancamento salvar(Lancamento lancamento) {
+		return salvar(lancamento, false);
+	}
+
+	@Override
+	@Transactional
+	public Lancamento salvar(Lancamento lancamento, boolean permitirDuplicado) {
+		categorizar(lancamento);
 		validar(lancamento);
+		lancamento.setAssinatura(AssinaturaLancamento.calcular(lancamento));
+		boolean semAssinatura = permitirDuplicado || lancamento.getAssinatura() == null;
+		lancamento.setPossivelDuplicado(!semAssinatura && repository.existsByUsuarioIdAndAssinaturaAndStatusNot(
+				lancamento.getUsuario().getId(), lancamento.getAssinatura(), StatusLancamento.CANCELADO));
+		lancamento.setChaveEnvio(semAssinatura ? null
+				: AssinaturaLancamento.chaveEnvio(lancamento.getAssinatura(), System.currentTimeMillis(), janelaReenvioMs));
 		lancamento.setStatus(StatusLancamento.PENDENTE);
-		return repository.save(lancamento);
+
+		Lancamento lancamentoSalvo;
+		try {
+			lancamentoSalvo = repository.save(lancamento);
+		} catch (DataIntegrityViolationException e) {
+			throw new RegraNegocioException("Este lançamento acabou de ser enviado.");
+		}
+		historicoService.registrar(OperacaoHistorico.CRIACAO, null, lancamentoSalvo);
+		descricaoService.registrar(lancamentoSalvo);
+		invalidarPrevisao(lancamentoSalvo);
+		eventoService.registrar(OperacaoHistorico.CRIACAO, lancamentoSalvo, null, null);
+		return lancamentoSalvo;
 	}
 
 	@Override
 	@Transactional
 	public Lancamento atualizar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
+		Map<String, Object> anterior = historicoService.capturar(lancamento.getId());
+		Integer anoAnterior = anterior != null ? (Integer) anterior.get("ano") : null;
+		Integer mesAnterior = anterior != null ? (Integer) anterior.get("mes") : null;
+		if (anoAnterior != null && lancamento.getUsuario() != null && fechamentoService
+				.periodoFechado(lancamento.getUsuario().getId(), anoAnterior, mesAnterior)) {
+			throw new RegraNegocioException("Não é possível alterar lançamentos de um período já fechado.");
+		}
+
+		categorizar(lancamento);
 		validar(lancamento);
-		return repository.save(lancamento);
+		lancamento.setAssinatura(AssinaturaLancamento.calcular(lancamento));
+
+		Lancamento lancamentoAtualizado = repository.save(lancamento);
+		historicoService.registrar(OperacaoHistorico.ALTERACAO, anterior, lancamentoAtualizado);
+		descricaoService.registrar(lancamentoAtualizado);
+		invalidarPrevisao(lancamentoAtualizado);
+		eventoService.registrar(OperacaoHistorico.ALTERACAO, lancamentoAtualizado, anoAnterior, mesAnterior);
+		return lancamentoAtualizado;
 	}
 
 	@Override
 	@Transactional
 	public void deletar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
+		validarPeriodoAberto(lancamento);
 		repository.delete(lancamento);
+		historicoService.registrar(OperacaoHistorico.EXCLUSAO, null, lancamento);
+		descricaoService.remover(lancamento);
+		invalidarPrevisao(lancamento);
+		eventoService.registrar(OperacaoHistorico.EXCLUSAO, lancamento, null, null);
 
 	}
 
@@ -60,6 +151,64 @@ public class LancamentoServiceImp implements LancamentoService {
 		return repository.findAll(example);
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public List<Lancamento> buscar(LancamentoFiltro filtro, Sort ordenacao) {
+		return repository.findAll(criarEspecificacao(filtro, ordenacao), ordenacao);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Map<String, Object>> buscar(LancamentoFiltro filtro, Sort ordenacao, Collection<String> campos) {
+		return repository.buscarCampos(criarEspecificacao(filtro, ordenacao), ordenacao, validarCampos(campos));
+	}
+
+	private Specification<Lancamento> criarEspecificacao(LancamentoFiltro filtro, Sort ordenacao) {
+		if (filtro.getIdsUsuarios() == null) {
+			Objects.requireNonNull(filtro.getIdUsuario());
+		}
+
+		for (Sort.Order ordem : ordenacao) {
+			if (!CAMPOS_ORDENACAO.contains(ordem.getProperty())) {
+				throw new RegraNegocioException("Não é possível ordenar pelo campo " + ordem.getProperty() + ".");
+			}
+		}
+
+		String texto = filtro.getDescricao();
+		Specification<Lancamento> especificacao = LancamentoSpecification
+				.filtrar(filtro.toBuilder().descricao(null).build());
+
+		if (texto != null && !texto.trim().isEmpty()) {
+			especificacao = especificacao.and(buscarTexto(filtro, texto));
+		}
+		return especificacao;
+	}
+
+	private Specification<Lancamento> buscarTexto(LancamentoFiltro filtro, String texto) {
+		if (filtro.getIdsUsuarios() == null) {
+			return descricaoService.buscarTexto(filtro.getIdUsuario(), texto);
+		}
+
+		Specification<Lancamento> busca = null;
+		for (Long idUsuario : filtro.getIdsUsuarios()) {
+			Specification<Lancamento> buscaDoUsuario = descricaoService.buscarTexto(idUsuario, texto);
+			busca = busca == null ? buscaDoUsuario : busca.or(buscaDoUsuario);
+		}
+		return busca == null ? Specification.where(null) : busca;
+	}
+
+	private Collection<String> validarCampos(Collection<String> campos) {
+		Set<String> camposValidados = new LinkedHashSet<>();
+		camposValidados.add("id");
+		for (String campo : campos) {
+			if (!LancamentoRepositoryCustom.CAMPOS.contains(campo)) {
+				throw new RegraNegocioException("Campo inválido: " + campo + ".");
+			}
+			camposValidados.add(campo);
+		}
+		return camposValidados;
+	}
+
 	@Override
 	public void atuaizarStatus(Lancamento lancamento, StatusLancamento status) {
 		lancamento.setStatus(status);
@@ -92,6 +241,37 @@ public class LancamentoServiceImp implements LancamentoService {
 			throw new RegraNegocioException("Informe um Tipo válido.");
 		}
 
+		validarPeriodoAberto(lancamento);
+	}
+
+	private void categorizar(Lancamento lancamento) {
+		if (lancamento.getCategoria() == null) {
+			categoriaService.classificar(lancamento.getDescricao(), lancamento.getTipo()).ifPresent(lancamento::setCategoria);
+			return;
+		}
+
+		Categoria categoria = categoriaService.obterPorId(lancamento.getCategoria().getId())
+				.orElseThrow(() -> new RegraNegocioException("Informe uma Categoria válida."));
+		lancamento.setCategoria(categoria);
+	}
+
+	private void invalidarPrevisao(Lancamento lancamento) {
+		if (lancamento.getUsuario() != null) {
+			previsaoService.invalidar(lancamento.getUsuario().getId());
+			grupoService.invalidarMembro(lancamento.getUsuario().getId());
+		}
+	}
+
+	private void validarPeriodoAberto(Lancamento lancamento) {
+		if (lancamento.getUsuario() != null && fechamentoService.periodoFechado(lancamento.getUsuario().getId(),
+				lancamento.getAno(), lancamento.getMes())) {
+			throw new RegraNegocioException("Não é possível alterar lançamentos de um período já fechado.");
+		}
+	}
+
+	@Override
+	public List<String> sugerirDescricoes(Long idUsuario, String prefixo, int limite) {
+		return descricaoService.sugerir(idUsuario, prefixo, limite);
 	}
 
 	@Override
@@ -99,21 +279,37 @@ public class LancamentoServiceImp implements LancamentoService {
 		return repository.findById(id);
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public List<Lancamento> obterPorIds(Long idUsuario, Collection<Long> ids) {
+		if (ids.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return repository.obterPorUsuarioEIds(idUsuario, ids);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Map<String, Object>> obterPorIds(Long idUsuario, Collection<Long> ids, Collection<String> campos) {
+		Collection<String> camposValidados = validarCampos(campos);
+		if (ids.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return repository.buscarCampos(LancamentoSpecification.porUsuarioEIds(idUsuario, ids), Sort.unsorted(),
+				camposValidados);
+	}
+
 	@Override
 	@Transactional(readOnly = true)
 	public BigDecimal obterSaldoPorUsuario(Long id) {
-		BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus(id, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
-		BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus(id, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
-		
-		if (receitas == null) {
-			receitas = BigDecimal.ZERO;
-		}
-		
-		if (despesas == null) {
-			despesas = BigDecimal.ZERO;
-		}
-		
-		return receitas.subtract(despesas);
+		Optional<Fechamento> fechamento = fechamentoService.obterUltimoFechamento(id);
+
+		BigDecimal saldoFechado = fechamento.map(Fechamento::getSaldo).orElse(BigDecimal.ZERO);
+		BigDecimal saldoAberto = fechamentoService.calcularSaldoEntrePeriodos(id,
+				fechamento.map(Fechamento::getAno).orElse(0), fechamento.map(Fechamento::getMes).orElse(0),
+				ANO_MAXIMO, 12);
+
+		return saldoFechado.add(saldoAberto);
 	}
 
 }
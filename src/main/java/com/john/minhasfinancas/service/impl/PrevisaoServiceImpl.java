@@ -0,0 +1,170 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.john.minhasfinancas.model.entity.Fechamento;
+import com.john.minhasfinancas.model.entity.Recorrencia;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.model.repository.RecorrenciaRepository;
+import com.john.minhasfinancas.service.FechamentoService;
+import com.john.minhasfinancas.service.PrevisaoSaldo;
+import com.john.minhasfinancas.service.PrevisaoService;
+
+@Service
+public class PrevisaoServiceImpl implements PrevisaoService {
+
+	private static final Integer ANO_MAXIMO = 9999;
+
+	private final LancamentoRepository lancamentoRepository;
+	private final RecorrenciaRepository recorrenciaRepository;
+	private final FechamentoService fechamentoService;
+	private final int meses;
+	private final int maximoUsuarios;
+	private final Map<Long, Entrada> previsoes = new ConcurrentHashMap<>();
+	private final AtomicLong geracao = new AtomicLong();
+
+	public PrevisaoServiceImpl(LancamentoRepository lancamentoRepository, RecorrenciaRepository recorrenciaRepository,
+			FechamentoService fechamentoService,
+			@Value("${previsao.meses:24}") int meses,
+			@Value("${previsao.maximo-usuarios:10000}") int maximoUsuarios) {
+		this.lancamentoRepository = lancamentoRepository;
+		this.recorrenciaRepository = recorrenciaRepository;
+		this.fechamentoService = fechamentoService;
+		this.meses = meses;
+		this.maximoUsuarios = maximoUsuarios;
+	}
+
+	/**
+	 * Cada usuário tem a sua versão, incrementada a cada escrita; a previsão
+	 * só entra no cache se a versão e a geração do mapa forem as mesmas do
+	 * início do cálculo, comparadas dentro do compute da própria chave.
+	 */
+	@Override
+	public PrevisaoSaldo prever(Long idUsuario) {
+		YearMonth atual = YearMonth.now();
+		Entrada entrada = previsoes.get(idUsuario);
+		if (entrada != null && entrada.previsao != null && entrada.previsao.getInicio().equals(atual)) {
+			return entrada.previsao;
+		}
+
+		if (previsoes.size() >= maximoUsuarios) {
+			geracao.incrementAndGet();
+			previsoes.clear();
+			entrada = null;
+		}
+
+		long geracaoInicial = geracao.get();
+		long versaoInicial = versao(entrada);
+		PrevisaoSaldo previsao = calcular(idUsuario, atual);
+		previsoes.compute(idUsuario, (id, existente) -> versao(existente) == versaoInicial
+				&& geracao.get() == geracaoInicial ? new Entrada(versaoInicial, previsao) : existente);
+		return previsao;
+	}
+
+	@Override
+	public void invalidar(Long idUsuario) {
+		aposCommit(() -> previsoes.compute(idUsuario, (id, existente) -> new Entrada(versao(existente) + 1, null)));
+	}
+
+	private PrevisaoSaldo calcular(Long idUsuario, YearMonth inicio) {
+		long[] receitas = new long[meses];
+		long[] despesas = new long[meses];
+		int base = indice(inicio.getYear(), inicio.getMonthValue());
+		int horizonte = base + meses - 1;
+
+		for (Object[] linha : lancamentoRepository.obterTotaisPorPeriodoETipo(idUsuario, StatusLancamento.PENDENTE)) {
+			int mes = indice((Integer) linha[0], (Integer) linha[1]);
+			if (mes > horizonte) {
+				continue;
+			}
+			long valor = centavos((BigDecimal) linha[3]);
+			somar(TipoLancamento.RECEITA == linha[2] ? receitas : despesas, Math.max(mes, base) - base, valor);
+		}
+
+		for (Recorrencia recorrencia : recorrenciaRepository.findByUsuarioIdAndAtivaTrue(idUsuario)) {
+			int inicial = indice(recorrencia.getAnoInicial(), recorrencia.getMesInicial());
+			int limite = horizonte;
+			if (recorrencia.getQuantidadeParcelas() != null) {
+				limite = Math.min(limite, inicial + recorrencia.getQuantidadeParcelas() - 1);
+			}
+			if (recorrencia.getAnoFinal() != null) {
+				limite = Math.min(limite, indice(recorrencia.getAnoFinal(), recorrencia.getMesFinal()));
+			}
+
+			long[] totais = recorrencia.getTipo() == TipoLancamento.RECEITA ? receitas : despesas;
+			long valor = centavos(recorrencia.getValor());
+			for (int mes = Math.max(inicial + recorrencia.getUltimaParcela(), base); mes <= limite; mes++) {
+				somar(totais, mes - base, valor);
+			}
+		}
+
+		return new PrevisaoSaldo(inicio, centavos(obterSaldoAtual(idUsuario)), receitas, despesas);
+	}
+
+	private BigDecimal obterSaldoAtual(Long idUsuario) {
+		Optional<Fechamento> fechamento = fechamentoService.obterUltimoFechamento(idUsuario);
+
+		BigDecimal saldoFechado = fechamento.map(Fechamento::getSaldo).orElse(BigDecimal.ZERO);
+		BigDecimal saldoAberto = fechamentoService.calcularSaldoEntrePeriodos(idUsuario,
+				fechamento.map(Fechamento::getAno).orElse(0), fechamento.map(Fechamento::getMes).orElse(0),
+				ANO_MAXIMO, 12);
+
+		return saldoFechado.add(saldoAberto);
+	}
+
+	private static long versao(Entrada entrada) {
+		return entrada == null ? 0 : entrada.versao;
+	}
+
+	private static void somar(long[] totais, int mes, long valor) {
+		totais[mes] = Math.addExact(totais[mes], valor);
+	}
+
+	private static long centavos(BigDecimal valor) {
+		return valor == null ? 0 : valor.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+	}
+
+	private static int indice(int ano, int mes) {
+		return ano * 12 + mes - 1;
+	}
+
+	private void aposCommit(Runnable acao) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			acao.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				acao.run();
+			}
+		});
+	}
+
+	private static final class Entrada {
+
+		private final long versao;
+		private final PrevisaoSaldo previsao;
+
+		private Entrada(long versao, PrevisaoSaldo previsao) {
+			this.versao = versao;
+			this.previsao = previsao;
+		}
+
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.util.Collections;
+import java.util.Objects;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.john.minhasfinancas.exception.RegraNegocioException;
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.entity.Recorrencia;
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.model.repository.RecorrenciaRepository;
+import com.john.minhasfinancas.service.PrevisaoService;
+import com.john.minhasfinancas.service.RecorrenciaService;
+
+@Service
+public class RecorrenciaServiceImpl implements RecorrenciaService {
+
+	private RecorrenciaRepository repository;
+	private LancamentoRepository lancamentoRepository;
+	private GeradorRecorrencias gerador;
+	private PrevisaoService previsaoService;
+
+	public RecorrenciaServiceImpl(RecorrenciaRepository repository, LancamentoRepository lancamentoRepository,
+			GeradorRecorrencias gerador, PrevisaoService previsaoService) {
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+		this.gerador = gerador;
+		this.previsaoService = previsaoService;
+	}
+
+	@Override
+	@Transactional
+	public Recorrencia criar(Lancamento modelo, Recorrencia regra) {
+		Objects.requireNonNull(modelo.getId());
+
+		if (modelo.getRecorrencia() != null) {
+			throw new RegraNegocioException("O lançamento já pertence a uma recorrência.");
+		}
+
+		validar(modelo, regra);
+
+		Recorrencia recorrencia = Recorrencia.builder()
+				.usuario(modelo.getUsuario())
+				.descricao(modelo.getDescricao())
+				.valor(modelo.getValor())
+				.tipo(modelo.getTipo())
+				.categoria(modelo.getCategoria())
+				.anoInicial(modelo.getAno())
+				.mesInicial(modelo.getMes())
+				.quantidadeParcelas(regra.getQuantidadeParcelas())
+				.anoFinal(regra.getAnoFinal())
+				.mesFinal(regra.getMesFinal())
+				.ultimaParcela(1)
+				.ativa(true)
+				.build();
+		recorrencia = repository.save(recorrencia);
+
+		modelo.setRecorrencia(recorrencia);
+		modelo.setParcela(1);
+		lancamentoRepository.saveAndFlush(modelo);
+
+		gerador.gerar(Collections.singleton(modelo.getUsuario().getId()));
+		previsaoService.invalidar(modelo.getUsuario().getId());
+		return recorrencia;
+	}
+
+	@Override
+	@Transactional
+	public void encerrar(Recorrencia recorrencia) {
+		Objects.requireNonNull(recorrencia.getId());
+		recorrencia.setAtiva(false);
+		repository.save(recorrencia);
+		previsaoService.invalidar(recorrencia.getUsuario().getId());
+	}
+
+	@Override
+	public int gerarPendentes() {
+		return gerador.gerarPendentes();
+	}
+
+	private void validar(Lancamento modelo, Recorrencia regra) {
+		Integer parcelas = regra.getQuantidadeParcelas();
+		if (parcelas != null && parcelas < 2) {
+			throw new RegraNegocioException("Informe ao menos duas parcelas.");
+		}
+
+		Integer anoFinal = regra.getAnoFinal();
+		Integer mesFinal = regra.getMesFinal();
+		if ((anoFinal == null) != (mesFinal == null)) {
+			throw new RegraNegocioException("Informe o ano e o mês finais da recorrência.");
+		}
+
+		if (mesFinal != null) {
+			if (mesFinal < 1 || mesFinal > 12 || anoFinal.toString().length() != 4) {
+				throw new RegraNegocioException("Informe um período final válido.");
+			}
+			if (anoFinal * 12 + mesFinal <= modelo.getAno() * 12 + modelo.getMes()) {
+				throw new RegraNegocioException("O período final deve ser posterior ao do lançamento.");
+			}
+		}
+	}
+
+}
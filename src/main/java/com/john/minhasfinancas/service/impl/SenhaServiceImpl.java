@@ -0,0 +1,189 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Service;
+
+import com.john.minhasfinancas.exception.ServicoIndisponivelException;
+import com.john.minhasfinancas.service.SenhaService;
+
+@Service
+public class SenhaServiceImpl implements SenhaService {
+
+	private static final Logger log = LoggerFactory.getLogger(SenhaServiceImpl.class);
+
+	private static final int CUSTO_MINIMO = 4;
+	private static final int CUSTO_MAXIMO = 16;
+	private static final long TEMPO_MAXIMO_ESPERA_MS = 5000;
+
+	private final int custo;
+	private final long expiracaoCacheMs;
+	private final ThreadPoolExecutor executor;
+	private final Map<String, Long> credenciaisVerificadas;
+	private final SecretKeySpec chaveCache;
+
+	public SenhaServiceImpl(@Value("${senha.bcrypt.custo:0}") int custo,
+			@Value("${senha.bcrypt.latencia-alvo:250}") long latenciaAlvoMs,
+			@Value("${senha.executor.threads:0}") int threads,
+			@Value("${senha.executor.fila:100}") int tamanhoFila,
+			@Value("${senha.cache.tamanho:1000}") int tamanhoCache,
+			@Value("${senha.cache.expiracao:300}") long expiracaoCacheSegundos) {
+		this.custo = custo > 0 ? custo : calibrarCusto(latenciaAlvoMs);
+		this.expiracaoCacheMs = TimeUnit.SECONDS.toMillis(expiracaoCacheSegundos);
+
+		int totalThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(totalThreads, totalThreads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(tamanhoFila), runnable -> {
+					Thread thread = new Thread(runnable, "senha-" + contador.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+
+		this.credenciaisVerificadas = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+				return size() > tamanhoCache;
+			}
+		};
+
+		byte[] chave = new byte[32];
+		new SecureRandom().nextBytes(chave);
+		this.chaveCache = new SecretKeySpec(chave, "HmacSHA256");
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdown();
+	}
+
+	@Override
+	public String criptografar(String senha) {
+		return executar(() -> BCrypt.hashpw(senha, BCrypt.gensalt(custo)));
+	}
+
+	@Override
+	public boolean verificar(String senha, String senhaArmazenada) {
+		if (senha == null || senhaArmazenada == null) {
+			return false;
+		}
+
+		if (!isBCrypt(senhaArmazenada)) {
+			return MessageDigest.isEqual(senha.getBytes(StandardCharsets.UTF_8),
+					senhaArmazenada.getBytes(StandardCharsets.UTF_8));
+		}
+
+		String chave = chaveCache(senha, senhaArmazenada);
+		long agora = System.currentTimeMillis();
+		synchronized (credenciaisVerificadas) {
+			Long expiracao = credenciaisVerificadas.get(chave);
+			if (expiracao != null && expiracao > agora) {
+				return true;
+			}
+		}
+
+		boolean valida = executar(() -> BCrypt.checkpw(senha, senhaArmazenada));
+		if (valida) {
+			synchronized (credenciaisVerificadas) {
+				credenciaisVerificadas.put(chave, agora + expiracaoCacheMs);
+			}
+		}
+		return valida;
+	}
+
+	@Override
+	public boolean precisaAtualizar(String senhaArmazenada) {
+		return !isBCrypt(senhaArmazenada) || Integer.parseInt(senhaArmazenada.substring(4, 6)) < custo;
+	}
+
+	public int getCusto() {
+		return custo;
+	}
+
+	private boolean isBCrypt(String senhaArmazenada) {
+		return senhaArmazenada != null && senhaArmazenada.length() == 60 && senhaArmazenada.startsWith("$2");
+	}
+
+	/**
+	 * Fila cheia ou espera esgotada não são erro de credencial: viram
+	 * ServicoIndisponivelException para o cliente repetir (HTTP 503).
+	 */
+	private <T> T executar(Callable<T> tarefa) {
+		Future<T> futuro;
+		try {
+			futuro = executor.submit(tarefa);
+		} catch (RejectedExecutionException e) {
+			throw new ServicoIndisponivelException("Serviço de autenticação sobrecarregado, tente novamente.");
+		}
+		try {
+			return futuro.get(TEMPO_MAXIMO_ESPERA_MS, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			futuro.cancel(false);
+			throw new ServicoIndisponivelException("Serviço de autenticação sobrecarregado, tente novamente.");
+		} catch (InterruptedException e) {
+			futuro.cancel(false);
+			Thread.currentThread().interrupt();
+			throw new ServicoIndisponivelException("Autenticação interrompida, tente novamente.");
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	private String chaveCache(String senha, String senhaArmazenada) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(chaveCache);
+			mac.update(senhaArmazenada.getBytes(StandardCharsets.UTF_8));
+			mac.update((byte) 0);
+			return Base64.getEncoder().encodeToString(mac.doFinal(senha.getBytes(StandardCharsets.UTF_8)));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static int calibrarCusto(long latenciaAlvoMs) {
+		int escolhido = CUSTO_MINIMO;
+		BCrypt.hashpw("aquecimento", BCrypt.gensalt(CUSTO_MINIMO));
+
+		for (int custo = CUSTO_MINIMO; custo <= CUSTO_MAXIMO; custo++) {
+			long inicio = System.nanoTime();
+			BCrypt.hashpw("calibracao", BCrypt.gensalt(custo));
+			long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+			log.info("BCrypt custo {}: {} ms por hash (~{} logins/s por thread)", custo, duracaoMs,
+					duracaoMs == 0 ? "1000+" : String.valueOf(1000 / duracaoMs));
+
+			if (duracaoMs > latenciaAlvoMs) {
+				break;
+			}
+			escolhido = custo;
+		}
+
+		log.info("BCrypt calibrado com custo {} para latência alvo de {} ms", escolhido, latenciaAlvoMs);
+		return escolhido;
+	}
+
+}
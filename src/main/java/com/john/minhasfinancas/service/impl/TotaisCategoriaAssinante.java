@@ -0,0 +1,45 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.stereotype.Component;
+
+import com.john.minhasfinancas.model.entity.EventoLancamento;
+import com.john.minhasfinancas.service.AssinanteEventos;
+import com.john.minhasfinancas.service.CategoriaService;
+
+@Component
+public class TotaisCategoriaAssinante implements AssinanteEventos {
+
+	private final CategoriaService categoriaService;
+
+	public TotaisCategoriaAssinante(CategoriaService categoriaService) {
+		this.categoriaService = categoriaService;
+	}
+
+	@Override
+	public void receber(List<EventoLancamento> eventos) {
+		Map<Long, Set<Integer>> periodosPorUsuario = new LinkedHashMap<>();
+		for (EventoLancamento evento : eventos) {
+			adicionar(periodosPorUsuario, evento.getIdUsuario(), evento.getAno(), evento.getMes());
+			adicionar(periodosPorUsuario, evento.getIdUsuario(), evento.getAnoAnterior(), evento.getMesAnterior());
+		}
+
+		periodosPorUsuario.forEach((usuario, periodos) -> {
+			for (Integer periodo : periodos) {
+				categoriaService.atualizarTotais(usuario, periodo / 12, periodo % 12 + 1);
+			}
+		});
+	}
+
+	private static void adicionar(Map<Long, Set<Integer>> periodosPorUsuario, Long usuario, Integer ano, Integer mes) {
+		if (ano != null && mes != null) {
+			periodosPorUsuario.computeIfAbsent(usuario, u -> new TreeSet<>()).add(ano * 12 + mes - 1);
+		}
+	}
+
+}
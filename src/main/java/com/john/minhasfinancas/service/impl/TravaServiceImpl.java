@@ -0,0 +1,69 @@
+package com.john.minhasfinancas.service.impl;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.john.minhasfinancas.model.repository.TravaAgendamentoRepository;
+import com.john.minhasfinancas.service.TravaService;
+
+/**
+ * Trava com prazo, gravada no banco, para que uma tarefa agendada rode em uma
+ * única instância por vez. O dono é o processo: chamar {@link #adquirir} de
+ * novo antes do prazo renova a trava. Cada operação é confirmada na hora,
+ * fora da transação de quem chama, para ficar visível às outras instâncias.
+ */
+@Service
+public class TravaServiceImpl implements TravaService {
+
+	private static final String DONO = ManagementFactory.getRuntimeMXBean().getName();
+
+	private final TravaAgendamentoRepository repository;
+	private final TransactionTemplate transactionTemplate;
+
+	public TravaServiceImpl(TravaAgendamentoRepository repository, PlatformTransactionManager transactionManager) {
+		this.repository = repository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	@Override
+	public boolean adquirir(String nome, Duration duracao) {
+		LocalDateTime agora = LocalDateTime.now();
+		LocalDateTime ate = agora.plus(duracao);
+		if (atualizar(nome, agora, ate)) {
+			return true;
+		}
+		if (repository.existsById(nome)) {
+			return atualizar(nome, agora, ate);
+		}
+
+		try {
+			transactionTemplate.execute(status -> repository.criar(nome, DONO, ate));
+			return true;
+		} catch (DataIntegrityViolationException e) {
+			return atualizar(nome, agora, ate);
+		}
+	}
+
+	/**
+	 * Repetida quando a linha já existe: se outra thread acabou de criar ou
+	 * renovar a mesma trava, a atualização concorrente pode não alcançar a
+	 * linha, mesmo que o dono seja este processo.
+	 */
+	private boolean atualizar(String nome, LocalDateTime agora, LocalDateTime ate) {
+		return transactionTemplate.execute(status -> repository.adquirir(nome, DONO, agora, ate)) > 0;
+	}
+
+	@Override
+	public void liberar(String nome) {
+		transactionTemplate.execute(status -> repository.liberar(nome, DONO, LocalDateTime.now()));
+	}
+
+}
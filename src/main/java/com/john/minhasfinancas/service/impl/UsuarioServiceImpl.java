@@ -3,6 +3,7 @@ package com.john.minhasfinancas.service.impl;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,17 +11,24 @@ import com.john.minhasfinancas.exception.ErroAutenticacao;
 import com.john.minhasfinancas.exception.RegraNegocioException;
 import com.john.minhasfinancas.model.entity.Usuario;
 import com.john.minhasfinancas.model.repository.UsuarioRepository;
+import com.john.minhasfinancas.service.SenhaService;
 import com.john.minhasfinancas.service.UsuarioService;
 
 @Service
 public class UsuarioServiceImpl implements UsuarioService {
 	
+	private static final String EMAIL_JA_CADASTRADO = "Ja existe um usuario cadastrado com este email";
+
 	private UsuarioRepository repository;
+	private SenhaService senhaService;
+	private FiltroEmails filtroEmails;
 
 	@Autowired
-	public UsuarioServiceImpl(UsuarioRepository repository) {
+	public UsuarioServiceImpl(UsuarioRepository repository, SenhaService senhaService, FiltroEmails filtroEmails) {
 		super();
 		this.repository = repository;
+		this.senhaService = senhaService;
+		this.filtroEmails = filtroEmails;
 	}
 
 	@Override
@@ -31,9 +39,14 @@ public class UsuarioServiceImpl implements UsuarioService {
 			throw new ErroAutenticacao("Usuário não encontrado para o email informado.");
 		}
 		
-		if  (!usuario.get().getSenha().equals(senha)) {
+		if  (!senhaService.verificar(senha, usuario.get().getSenha())) {
 			throw new ErroAutenticacao("Senha inválida.");
 		}
+
+		if (senhaService.precisaAtualizar(usuario.get().getSenha())) {
+			usuario.get().setSenha(senhaService.criptografar(senha));
+			repository.save(usuario.get());
+		}
 		return usuario.get();
 	}
 
@@ -41,15 +54,29 @@ public class UsuarioServiceImpl implements UsuarioService {
 	@Transactional
 	public Usuario salvarUsuario(Usuario usuario) {
 		validarEmail(usuario.getEmail());
-		return repository.save(usuario);
+		if (usuario.getSenha() != null) {
+			usuario.setSenha(senhaService.criptografar(usuario.getSenha()));
+		}
+
+		try {
+			Usuario usuarioSalvo = repository.save(usuario);
+			filtroEmails.adicionar(usuarioSalvo.getEmail());
+			return usuarioSalvo;
+		} catch (DataIntegrityViolationException e) {
+			throw new RegraNegocioException(EMAIL_JA_CADASTRADO);
+		}
 	}
 
 	@Override
 	public void validarEmail(String email) {
+		if (!filtroEmails.podeExistir(email)) {
+			return;
+		}
+
 		boolean existe = repository.existsByEmail(email);
 		
 		if (existe) {
-			throw new RegraNegocioException("Ja existe um usuario cadastrado com este email");
+			throw new RegraNegocioException(EMAIL_JA_CADASTRADO);
 		}
 	}
 
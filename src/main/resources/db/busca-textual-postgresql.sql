@@ -0,0 +1,12 @@
+-- Indice de busca textual usado quando lancamento.busca-textual=postgres.
+-- Os termos da busca chegam sem acentos, entao a descricao indexada tambem
+-- passa pelo unaccent; o wrapper imutavel permite usa-lo na expressao do indice.
+create extension if not exists unaccent;
+
+create or replace function financas.sem_acento(text) returns text
+	as $$ select public.unaccent('public.unaccent', $1) $$
+	language sql immutable parallel safe strict;
+
+drop index if exists financas.idx_lancamento_descricao_fts;
+create index if not exists idx_lancamento_descricao_fts
+	on financas.lancamento using gin (to_tsvector('portuguese', financas.sem_acento(descricao)));
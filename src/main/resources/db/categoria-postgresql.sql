@@ -0,0 +1,42 @@
+-- Dicionario de categorias, totais mensais por categoria e palavras-chave iniciais
+create table if not exists financas.categoria (
+	id bigserial primary key,
+	nome varchar(100) not null,
+	palavras_chave varchar(1000),
+	tipo varchar(20),
+	constraint uk_categoria_nome unique (nome)
+);
+
+create table if not exists financas.total_categoria (
+	id bigserial primary key,
+	id_usuario bigint not null references financas.usuario (id),
+	id_categoria bigint not null references financas.categoria (id),
+	ano integer not null,
+	mes integer not null,
+	tipo varchar(20) not null,
+	quantidade bigint not null,
+	valor numeric(16, 2) not null,
+	constraint uk_total_categoria unique (id_usuario, ano, mes, id_categoria, tipo)
+);
+
+alter table financas.categoria add column if not exists tipo varchar(20);
+alter table financas.lancamento add column if not exists id_categoria bigint references financas.categoria (id);
+alter table financas.recorrencia add column if not exists id_categoria bigint references financas.categoria (id);
+create index if not exists idx_lancamento_usuario_categoria on financas.lancamento (id_usuario, id_categoria);
+
+-- tipo nulo: a categoria vale para receitas e despesas
+insert into financas.categoria (nome, palavras_chave, tipo) values
+	('Alimentação', 'mercado,supermercado,padaria,restaurante,lanchonete,ifood,acougue,feira', 'DESPESA'),
+	('Moradia', 'aluguel,condominio,iptu,luz,energia,agua,gas,internet', 'DESPESA'),
+	('Transporte', 'uber,99,taxi,combustivel,gasolina,etanol,estacionamento,pedagio,onibus,metro', 'DESPESA'),
+	('Saúde', 'farmacia,drogaria,medico,consulta,exame,plano de saude,dentista,hospital', 'DESPESA'),
+	('Educação', 'escola,faculdade,curso,mensalidade escolar,livro,material escolar', 'DESPESA'),
+	('Lazer', 'cinema,netflix,spotify,show,viagem,hotel,passagem', 'DESPESA'),
+	('Salário', 'salario,holerite,13o salario,decimo terceiro,plr', 'RECEITA')
+on conflict (nome) do nothing;
+
+-- bases já populadas: 'pagamento', 'ferias' e 'bonus' classificavam despesas como salário
+update financas.categoria set palavras_chave = 'salario,holerite,13o salario,decimo terceiro,plr', tipo = 'RECEITA'
+	where nome = 'Salário' and palavras_chave = 'salario,pagamento,holerite,13o,ferias,bonus,plr';
+update financas.categoria set tipo = 'DESPESA'
+	where tipo is null and nome in ('Alimentação', 'Moradia', 'Transporte', 'Saúde', 'Educação', 'Lazer');
@@ -0,0 +1,10 @@
+-- Assinatura de conteudo usada para detectar lancamentos duplicados
+alter table financas.lancamento add column if not exists assinatura bigint;
+
+create index if not exists idx_lancamento_usuario_assinatura on financas.lancamento (id_usuario, assinatura);
+
+-- Lancamentos iguais ficam marcados; so o reenvio dentro da mesma janela e barrado pela chave unica
+alter table financas.lancamento add column if not exists possivel_duplicado boolean;
+alter table financas.lancamento add column if not exists chave_envio bigint;
+
+create unique index if not exists uk_lancamento_usuario_chave_envio on financas.lancamento (id_usuario, chave_envio);
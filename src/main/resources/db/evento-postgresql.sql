@@ -0,0 +1,23 @@
+-- Outbox de eventos de lancamentos, publicado em lotes para os assinantes
+create table if not exists financas.evento_lancamento (
+	id bigserial primary key,
+	id_usuario bigint not null,
+	id_lancamento bigint not null,
+	operacao varchar(20) not null,
+	ano integer,
+	mes integer,
+	ano_anterior integer,
+	mes_anterior integer,
+	data_criacao timestamp not null,
+	publicado boolean not null default false,
+	tentativas integer not null default 0
+);
+
+create index if not exists idx_evento_lancamento_pendente on financas.evento_lancamento (id) where publicado = false;
+
+-- Trava com prazo das tarefas agendadas que rodam em uma unica instancia por vez
+create table if not exists financas.trava_agendamento (
+	nome varchar(100) primary key,
+	dono varchar(255),
+	bloqueado_ate timestamp not null
+);
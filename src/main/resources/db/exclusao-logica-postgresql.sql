@@ -0,0 +1,40 @@
+-- Exclusao logica de lancamentos: os indices cobrem apenas as linhas vivas e as
+-- lapides ficam num indice proprio usado pela compactacao. Rodar depois de
+-- lancamento-indices-postgresql.sql, fora de uma transacao (create/drop index
+-- concurrently) e em horario de pouco uso.
+alter table financas.lancamento add column if not exists deletado_em timestamp;
+
+drop index concurrently if exists financas.idx_lancamento_usuario_ano_mes;
+create index concurrently if not exists idx_lancamento_usuario_ano_mes
+	on financas.lancamento (id_usuario, ano, mes) where deletado_em is null;
+
+drop index concurrently if exists financas.idx_lancamento_usuario_tipo_status;
+create index concurrently if not exists idx_lancamento_usuario_tipo_status
+	on financas.lancamento (id_usuario, tipo, status) where deletado_em is null;
+
+drop index concurrently if exists financas.idx_lancamento_usuario_status;
+create index concurrently if not exists idx_lancamento_usuario_status
+	on financas.lancamento (id_usuario, status) where deletado_em is null;
+
+drop index concurrently if exists financas.idx_lancamento_usuario_valor;
+create index concurrently if not exists idx_lancamento_usuario_valor
+	on financas.lancamento (id_usuario, valor) where deletado_em is null;
+
+drop index concurrently if exists financas.idx_lancamento_usuario_data_cadastro;
+create index concurrently if not exists idx_lancamento_usuario_data_cadastro
+	on financas.lancamento (id_usuario, data_cadastro) where deletado_em is null;
+
+drop index concurrently if exists financas.idx_lancamento_usuario_categoria;
+create index concurrently if not exists idx_lancamento_usuario_categoria
+	on financas.lancamento (id_usuario, id_categoria) where deletado_em is null;
+
+drop index concurrently if exists financas.idx_lancamento_usuario_assinatura;
+create index concurrently if not exists idx_lancamento_usuario_assinatura
+	on financas.lancamento (id_usuario, assinatura) where deletado_em is null;
+
+drop index concurrently if exists financas.idx_lancamento_descricao_fts;
+create index concurrently if not exists idx_lancamento_descricao_fts
+	on financas.lancamento using gin (to_tsvector('portuguese', financas.sem_acento(descricao))) where deletado_em is null;
+
+create index concurrently if not exists idx_lancamento_deletado_em
+	on financas.lancamento (deletado_em) where deletado_em is not null;
@@ -0,0 +1,10 @@
+-- Fotografias de saldo dos periodos fechados
+create table if not exists financas.fechamento (
+	id bigserial primary key,
+	id_usuario bigint not null references financas.usuario (id),
+	ano integer not null,
+	mes integer not null,
+	saldo numeric(16, 2) not null,
+	data_fechamento date default now(),
+	constraint uk_fechamento_usuario_periodo unique (id_usuario, ano, mes)
+);
@@ -0,0 +1,26 @@
+-- Grupos (familias) de usuarios que compartilham saldo, relatorio e busca
+create table if not exists financas.grupo (
+	id bigserial primary key,
+	nome varchar(100) not null,
+	id_responsavel bigint not null references financas.usuario (id),
+	data_criacao date
+);
+
+create table if not exists financas.grupo_usuario (
+	id_grupo bigint not null references financas.grupo (id),
+	id_usuario bigint not null references financas.usuario (id),
+	primary key (id_grupo, id_usuario)
+);
+
+create index if not exists idx_grupo_usuario_usuario on financas.grupo_usuario (id_usuario);
+
+-- Convites pendentes: o usuario so passa para grupo_usuario depois de aceitar
+create table if not exists financas.grupo_convite (
+	id_grupo bigint not null references financas.grupo (id),
+	id_usuario bigint not null references financas.usuario (id),
+	primary key (id_grupo, id_usuario)
+);
+
+create index if not exists idx_grupo_convite_usuario on financas.grupo_convite (id_usuario);
+
+alter table financas.grupo add column if not exists versao bigint not null default 0;
@@ -0,0 +1,12 @@
+-- Historico append-only das alteracoes de lancamentos
+create table if not exists financas.lancamento_historico (
+	id bigserial primary key,
+	id_lancamento bigint not null,
+	id_usuario bigint not null,
+	operacao varchar(20) not null,
+	anterior text,
+	atual text,
+	data_hora timestamp not null
+);
+
+create index if not exists idx_lancamento_historico_lancamento on financas.lancamento_historico (id_lancamento, id);
@@ -0,0 +1,16 @@
+-- Indices das buscas de lancamentos; todas partem do usuario do token.
+-- Rodar fora de uma transacao (create index concurrently).
+create index concurrently if not exists idx_lancamento_usuario_ano_mes
+	on financas.lancamento (id_usuario, ano, mes);
+
+create index concurrently if not exists idx_lancamento_usuario_tipo_status
+	on financas.lancamento (id_usuario, tipo, status);
+
+create index concurrently if not exists idx_lancamento_usuario_status
+	on financas.lancamento (id_usuario, status);
+
+create index concurrently if not exists idx_lancamento_usuario_valor
+	on financas.lancamento (id_usuario, valor);
+
+create index concurrently if not exists idx_lancamento_usuario_data_cadastro
+	on financas.lancamento (id_usuario, data_cadastro);
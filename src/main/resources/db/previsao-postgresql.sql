@@ -0,0 +1,6 @@
+-- Indice de cobertura para a soma dos pendentes da previsao: a consulta
+-- agrupada por (ano, mes, tipo) vira um index-only scan. Rodar depois de
+-- exclusao-logica-postgresql.sql, fora de uma transacao.
+create index concurrently if not exists idx_lancamento_previsao_pendentes
+	on financas.lancamento (id_usuario, ano, mes, tipo) include (valor)
+	where status = 'PENDENTE' and deletado_em is null;
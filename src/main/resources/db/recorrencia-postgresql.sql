@@ -0,0 +1,21 @@
+-- Regras de recorrencia e parcelas geradas a partir delas
+create table if not exists financas.recorrencia (
+	id bigserial primary key,
+	id_usuario bigint references financas.usuario (id),
+	descricao varchar(100),
+	valor numeric(16, 2),
+	tipo varchar(20),
+	ano_inicial integer,
+	mes_inicial integer,
+	quantidade_parcelas integer,
+	ano_final integer,
+	mes_final integer,
+	ultima_parcela integer,
+	ativa boolean
+);
+
+create index if not exists idx_recorrencia_ativa_usuario on financas.recorrencia (ativa, id_usuario);
+
+alter table financas.lancamento add column if not exists id_recorrencia bigint references financas.recorrencia (id);
+alter table financas.lancamento add column if not exists parcela integer;
+alter table financas.lancamento add constraint uk_lancamento_recorrencia_parcela unique (id_recorrencia, parcela);
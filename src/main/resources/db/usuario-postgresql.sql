@@ -0,0 +1,3 @@
+-- Unicidade do email: o filtro de emails evita a consulta na maioria dos
+-- cadastros e deixa a garantia para esta constraint
+alter table financas.usuario add constraint uk_usuario_email unique (email);
@@ -0,0 +1,127 @@
+package com.john.minhasfinancas.api.interceptor;
+
+import javax.servlet.DispatcherType;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import com.john.minhasfinancas.model.entity.Usuario;
+
+public class LimiteRequisicoesInterceptorTest {
+
+	@Test
+	public void deveRejeitarComRetryAfterQuandoOsTokensAcabarem() throws Exception {
+		// cenario
+		LimiteRequisicoesInterceptor interceptor = new LimiteRequisicoesInterceptor(2, 0.5, 10, 10, 10);
+		HandlerMethod handler = new HandlerMethod(this, "leitura");
+
+		// acao
+		boolean primeira = interceptor.preHandle(requisicao("GET", 1l), new MockHttpServletResponse(), handler);
+		boolean segunda = interceptor.preHandle(requisicao("GET", 1l), new MockHttpServletResponse(), handler);
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+		boolean terceira = interceptor.preHandle(requisicao("GET", 1l), resposta, handler);
+		boolean outroUsuario = interceptor.preHandle(requisicao("GET", 2l), new MockHttpServletResponse(), handler);
+
+		// verificacao
+		Assertions.assertTrue(primeira);
+		Assertions.assertTrue(segunda);
+		Assertions.assertFalse(terceira);
+		Assertions.assertTrue(outroUsuario);
+		Assertions.assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), resposta.getStatus());
+		Assertions.assertEquals("2", resposta.getHeader("Retry-After"));
+	}
+
+	@Test
+	public void deveLimitarAsLeiturasPesadasSimultaneas() throws Exception {
+		// cenario
+		LimiteRequisicoesInterceptor interceptor = new LimiteRequisicoesInterceptor(10, 10, 10, 1, 10);
+		HandlerMethod handler = new HandlerMethod(this, "leituraPesada");
+		MockHttpServletRequest primeira = requisicao("GET", 1l);
+
+		// acao
+		interceptor.preHandle(primeira, new MockHttpServletResponse(), handler);
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+		boolean aceitaDuranteAPrimeira = interceptor.preHandle(requisicao("GET", 2l), resposta, handler);
+		interceptor.afterCompletion(primeira, new MockHttpServletResponse(), handler, null);
+		boolean aceitaAposAPrimeira = interceptor.preHandle(requisicao("GET", 2l), new MockHttpServletResponse(),
+				handler);
+
+		// verificacao
+		Assertions.assertFalse(aceitaDuranteAPrimeira);
+		Assertions.assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), resposta.getStatus());
+		Assertions.assertTrue(aceitaAposAPrimeira);
+	}
+
+	@Test
+	public void naoDeveAplicarOBulkheadDeLeituraAsEscritas() throws Exception {
+		// cenario
+		LimiteRequisicoesInterceptor interceptor = new LimiteRequisicoesInterceptor(10, 10, 10, 0, 1);
+		HandlerMethod handler = new HandlerMethod(this, "leitura");
+
+		// acao e verificacao
+		Assertions.assertTrue(interceptor.preHandle(requisicao("POST", 1l), new MockHttpServletResponse(), handler));
+		Assertions.assertFalse(interceptor.preHandle(requisicao("PUT", 1l), new MockHttpServletResponse(), handler));
+	}
+
+	@Test
+	public void deveManterOBulkheadOcupadoAteOFimDoDespachoAssincrono() throws Exception {
+		// cenario
+		LimiteRequisicoesInterceptor interceptor = new LimiteRequisicoesInterceptor(1, 0.001, 10, 1, 10);
+		HandlerMethod handler = new HandlerMethod(this, "leituraPesada");
+		MockHttpServletRequest request = requisicao("GET", 1l);
+
+		// acao
+		interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+		interceptor.afterConcurrentHandlingStarted(request, new MockHttpServletResponse(), handler);
+		boolean aceitaDuranteORelatorio = interceptor.preHandle(requisicao("GET", 2l), new MockHttpServletResponse(),
+				handler);
+		request.setDispatcherType(DispatcherType.ASYNC);
+		boolean aceitaODespacho = interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+		interceptor.afterCompletion(request, new MockHttpServletResponse(), handler, null);
+		boolean aceitaAposORelatorio = interceptor.preHandle(requisicao("GET", 3l), new MockHttpServletResponse(),
+				handler);
+
+		// verificacao
+		Assertions.assertFalse(aceitaDuranteORelatorio);
+		Assertions.assertTrue(aceitaODespacho);
+		Assertions.assertTrue(aceitaAposORelatorio);
+	}
+
+	@Test
+	public void deveDividirUmBucketDeExcedenteQuandoOLimiteDeChavesForAtingido() throws Exception {
+		// cenario
+		LimiteRequisicoesInterceptor interceptor = new LimiteRequisicoesInterceptor(1, 0.001, 1, 10, 10);
+		HandlerMethod handler = new HandlerMethod(this, "leitura");
+		interceptor.preHandle(requisicao("GET", 1l), new MockHttpServletResponse(), handler);
+
+		// acao
+		boolean segundoUsuario = interceptor.preHandle(requisicao("GET", 2l), new MockHttpServletResponse(), handler);
+		boolean terceiroUsuario = interceptor.preHandle(requisicao("GET", 3l), new MockHttpServletResponse(), handler);
+		interceptor.limpar();
+		boolean primeiroUsuarioAposLimpeza = interceptor.preHandle(requisicao("GET", 1l),
+				new MockHttpServletResponse(), handler);
+
+		// verificacao
+		Assertions.assertTrue(segundoUsuario);
+		Assertions.assertFalse(terceiroUsuario);
+		Assertions.assertFalse(primeiroUsuarioAposLimpeza);
+	}
+
+	public void leitura() {
+	}
+
+	@LeituraPesada
+	public void leituraPesada() {
+	}
+
+	private MockHttpServletRequest requisicao(String metodo, Long idUsuario) {
+		MockHttpServletRequest request = new MockHttpServletRequest(metodo, "/api/lancamentos");
+		request.setAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO, Usuario.builder().id(idUsuario).build());
+		return request;
+	}
+
+}
@@ -0,0 +1,346 @@
+package com.john.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.john.minhasfinancas.api.dto.LancamentoDTO;
+import com.john.minhasfinancas.config.ExecutorRelatorios;
+import com.john.minhasfinancas.config.RegistroLatencias;
+import com.john.minhasfinancas.exception.RegraNegocioException;
+import com.john.minhasfinancas.model.entity.HistoricoLancamento;
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.entity.Recorrencia;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.enums.OperacaoHistorico;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.LancamentoFiltro;
+import com.john.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.john.minhasfinancas.service.DuplicidadeService;
+import com.john.minhasfinancas.service.ExclusaoService;
+import com.john.minhasfinancas.service.HistoricoService;
+import com.john.minhasfinancas.service.JwtService;
+import com.john.minhasfinancas.service.LancamentoService;
+import com.john.minhasfinancas.service.ProgressoExclusao;
+import com.john.minhasfinancas.service.RecorrenciaService;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@WebMvcTest(controllers = LancamentoResource.class)
+@AutoConfigureMockMvc
+@Import({ ExecutorRelatorios.class, RegistroLatencias.class })
+public class LancamentoResourceTest {
+
+	static final String API = "/api/lancamentos";
+	static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+	@Autowired
+	MockMvc mvc;
+
+	@MockBean
+	LancamentoService service;
+
+	@MockBean
+	JwtService jwtService;
+
+	@MockBean
+	RecorrenciaService recorrenciaService;
+
+	@MockBean
+	DuplicidadeService duplicidadeService;
+
+	@MockBean
+	HistoricoService historicoService;
+
+	@MockBean
+	ExclusaoService exclusaoService;
+
+	@Test
+	public void deveBuscarLancamentosComFiltrosEOrdenacao() throws Exception {
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(jwtService.obterUsuarioAutorizado("token")).thenReturn(usuario);
+		Mockito.when(service.buscar(Mockito.any(LancamentoFiltro.class), Mockito.any(Sort.class)))
+				.thenReturn(new ArrayList<Lancamento>());
+
+		//acao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+															.get(API)
+															.param("tipo", "DESPESA")
+															.param("status", "PENDENTE")
+															.param("valorMinimo", "500")
+															.param("anoInicial", "2020")
+															.param("mesInicial", "7")
+															.param("sort", "valor,desc")
+															.header("Authorization", "Bearer token")
+															.accept(JSON);
+
+		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk());
+
+		//verificacao
+		ArgumentCaptor<LancamentoFiltro> filtro = ArgumentCaptor.forClass(LancamentoFiltro.class);
+		ArgumentCaptor<Sort> ordenacao = ArgumentCaptor.forClass(Sort.class);
+		Mockito.verify(service).buscar(filtro.capture(), ordenacao.capture());
+
+		Assertions.assertEquals(1l, filtro.getValue().getIdUsuario());
+		Assertions.assertEquals(TipoLancamento.DESPESA, filtro.getValue().getTipo());
+		Assertions.assertEquals(StatusLancamento.PENDENTE, filtro.getValue().getStatus());
+		Assertions.assertEquals(7, filtro.getValue().getMesInicial());
+		Assertions.assertEquals(Sort.Direction.DESC,
+				ordenacao.getValue().getOrderFor("valor").getDirection());
+	}
+
+	@Test
+	public void deveRetornarNaoAutorizadoAoBuscarSemToken() throws Exception {
+		//acao e verificacao
+		mvc.perform(MockMvcRequestBuilders.get(API).accept(JSON))
+			.andExpect(MockMvcResultMatchers.status().isUnauthorized());
+	}
+
+	@Test
+	public void deveObterUmLoteDeLancamentosNaOrdemSolicitada() throws Exception {
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(jwtService.obterUsuarioAutorizado("token")).thenReturn(usuario);
+		Mockito.when(service.obterPorIds(Mockito.eq(1l), Mockito.anyCollection()))
+				.thenReturn(Arrays.asList(criarLancamento(1l, usuario), criarLancamento(3l, usuario)));
+
+		//acao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+															.get(API.concat("/lote"))
+															.param("ids", "3,2,1")
+															.header("Authorization", "Bearer token")
+															.accept(JSON);
+
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("lancamentos[0].id").value(3))
+			.andExpect(MockMvcResultMatchers.jsonPath("lancamentos[1].id").value(1))
+			.andExpect(MockMvcResultMatchers.jsonPath("naoEncontrados[0]").value(2));
+		Mockito.verify(service, Mockito.times(1)).obterPorIds(Mockito.eq(1l), Mockito.anyCollection());
+	}
+
+	@Test
+	public void deveAgruparOsLancamentosDuplicadosDoUsuario() throws Exception {
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(jwtService.obterUsuarioAutorizado("token")).thenReturn(usuario);
+		Mockito.when(duplicidadeService.buscarGrupos(1l))
+				.thenReturn(Collections.singletonList(Arrays.asList(1l, 3l)));
+		Mockito.when(service.obterPorIds(1l, Arrays.asList(1l, 3l)))
+				.thenReturn(Arrays.asList(criarLancamento(3l, usuario), criarLancamento(1l, usuario)));
+
+		//acao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+															.get(API.concat("/duplicados"))
+															.header("Authorization", "Bearer token")
+															.accept(JSON);
+
+		MvcResult resultado = mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.request().asyncStarted())
+			.andReturn();
+
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("[0][0].id").value(1))
+			.andExpect(MockMvcResultMatchers.jsonPath("[0][1].id").value(3));
+	}
+
+	@Test
+	public void deveIniciarAExclusaoPorFiltroEInformarOProgresso() throws Exception {
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		ProgressoExclusao progresso = ProgressoExclusao.builder().id(5l).idUsuario(1l)
+				.situacao(ProgressoExclusao.Situacao.EM_ANDAMENTO).total(1200).excluidos(500).lotes(1).build();
+
+		Mockito.when(jwtService.obterUsuarioAutorizado("token")).thenReturn(usuario);
+		Mockito.when(exclusaoService.iniciar(1l, 2019, 2020, StatusLancamento.CANCELADO)).thenReturn(progresso);
+		Mockito.when(exclusaoService.obterProgresso(1l, 5l)).thenReturn(Optional.of(progresso));
+
+		//acao e verificacao
+		mvc.perform(MockMvcRequestBuilders.post(API.concat("/exclusoes"))
+				.param("anoInicial", "2019")
+				.param("anoFinal", "2020")
+				.param("status", "CANCELADO")
+				.header("Authorization", "Bearer token")
+				.accept(JSON))
+			.andExpect(MockMvcResultMatchers.status().isAccepted())
+			.andExpect(MockMvcResultMatchers.jsonPath("id").value(5))
+			.andExpect(MockMvcResultMatchers.jsonPath("idUsuario").doesNotExist());
+
+		mvc.perform(MockMvcRequestBuilders.get(API.concat("/exclusoes/5"))
+				.header("Authorization", "Bearer token")
+				.accept(JSON))
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("situacao").value("EM_ANDAMENTO"))
+			.andExpect(MockMvcResultMatchers.jsonPath("excluidos").value(500));
+
+		mvc.perform(MockMvcRequestBuilders.get(API.concat("/exclusoes/6"))
+				.header("Authorization", "Bearer token")
+				.accept(JSON))
+			.andExpect(MockMvcResultMatchers.status().isNotFound());
+	}
+
+	@Test
+	public void deveAtualizarOLancamentoPreservandoARecorrenciaEAParcela() throws Exception {
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Recorrencia recorrencia = Recorrencia.builder().id(3l).build();
+		Lancamento parcela = LancamentoRepositoryTest.criarlancamento();
+		parcela.setId(8l);
+		parcela.setUsuario(usuario);
+		parcela.setRecorrencia(recorrencia);
+		parcela.setParcela(4);
+		parcela.setPossivelDuplicado(true);
+		Mockito.when(jwtService.obterUsuarioAutorizado("token")).thenReturn(usuario);
+		Mockito.when(service.obterPorId(8l)).thenReturn(Optional.of(parcela));
+		Mockito.when(service.atualizar(Mockito.any(Lancamento.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+		LancamentoDTO dto = LancamentoDTO.builder().descricao("aluguel reajustado").ano(2020).mes(9)
+				.valor(BigDecimal.valueOf(1200)).tipo("DESPESA").status("PENDENTE").build();
+
+		//acao
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/8"))
+				.header("Authorization", "Bearer token")
+				.contentType(JSON)
+				.accept(JSON)
+				.content(new ObjectMapper().writeValueAsString(dto)))
+			.andExpect(MockMvcResultMatchers.status().isOk());
+
+		//verificacao
+		ArgumentCaptor<Lancamento> atualizado = ArgumentCaptor.forClass(Lancamento.class);
+		Mockito.verify(service).atualizar(atualizado.capture());
+		Assertions.assertEquals(8l, atualizado.getValue().getId());
+		Assertions.assertEquals("aluguel reajustado", atualizado.getValue().getDescricao());
+		Assertions.assertSame(recorrencia, atualizado.getValue().getRecorrencia());
+		Assertions.assertEquals(4, atualizado.getValue().getParcela());
+		Assertions.assertTrue(atualizado.getValue().getPossivelDuplicado());
+		Assertions.assertEquals(parcela.getDataCadastro(), atualizado.getValue().getDataCadastro());
+	}
+
+	@Test
+	public void deveObterOHistoricoDoLancamentoComOsEstadosEmJson() throws Exception {
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(jwtService.obterUsuarioAutorizado("token")).thenReturn(usuario);
+		Mockito.when(historicoService.obterHistorico(5l, 1l)).thenReturn(Collections.singletonList(
+				HistoricoLancamento.builder().idLancamento(5l).idUsuario(1l).operacao(OperacaoHistorico.ALTERACAO)
+						.anterior("{\"status\":\"PENDENTE\"}").atual("{\"status\":\"EFETIVADO\"}")
+						.dataHora(LocalDateTime.of(2020, 9, 1, 10, 0)).build()));
+
+		//acao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+															.get(API.concat("/5/historico"))
+															.header("Authorization", "Bearer token")
+															.accept(JSON);
+
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("[0].operacao").value("ALTERACAO"))
+			.andExpect(MockMvcResultMatchers.jsonPath("[0].anterior.status").value("PENDENTE"))
+			.andExpect(MockMvcResultMatchers.jsonPath("[0].atual.status").value("EFETIVADO"));
+	}
+
+	@Test
+	public void deveBuscarApenasOsCamposSolicitados() throws Exception {
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(jwtService.obterUsuarioAutorizado("token")).thenReturn(usuario);
+		Map<String, Object> lancamento = new LinkedHashMap<>();
+		lancamento.put("id", 1l);
+		lancamento.put("valor", BigDecimal.TEN);
+		Mockito.when(service.buscar(Mockito.any(LancamentoFiltro.class), Mockito.any(Sort.class),
+				Mockito.anyCollection())).thenReturn(Collections.singletonList(lancamento));
+
+		//acao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+															.get(API)
+															.param("fields", "valor")
+															.header("Authorization", "Bearer token")
+															.accept(JSON);
+
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("[0].valor").value(10))
+			.andExpect(MockMvcResultMatchers.jsonPath("[0].descricao").doesNotExist());
+
+		//verificacao
+		Mockito.verify(service, Mockito.never()).buscar(Mockito.any(LancamentoFiltro.class), Mockito.any(Sort.class));
+	}
+
+	@Test
+	public void deveRetornarBadRequestAoSolicitarCampoInvalido() throws Exception {
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(jwtService.obterUsuarioAutorizado("token")).thenReturn(usuario);
+		Mockito.when(service.obterPorIds(Mockito.eq(1l), Mockito.anyCollection(), Mockito.anyCollection()))
+				.thenThrow(new RegraNegocioException("Campo inválido: senha."));
+
+		//acao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+															.get(API.concat("/1"))
+															.param("fields", "senha")
+															.header("Authorization", "Bearer token")
+															.accept(JSON);
+
+		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isBadRequest());
+	}
+
+	@Test
+	public void deveResponderEmSmileOuCborQuandoSolicitado() throws Exception {
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(jwtService.obterUsuarioAutorizado("token")).thenReturn(usuario);
+		Mockito.when(service.obterPorIds(Mockito.eq(1l), Mockito.anyCollection()))
+				.thenReturn(Arrays.asList(criarLancamento(1l, usuario)));
+
+		for (String formato : Arrays.asList("application/x-jackson-smile", "application/cbor")) {
+			//acao e verificacao
+			MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+																.get(API.concat("/lote"))
+																.param("ids", "1")
+																.header("Authorization", "Bearer token")
+																.accept(formato);
+
+			mvc.perform(request)
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.content().contentType(formato));
+		}
+	}
+
+	private Lancamento criarLancamento(Long id, Usuario usuario) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setId(id);
+		lancamento.setUsuario(usuario);
+		lancamento.setTipo(TipoLancamento.DESPESA);
+		return lancamento;
+	}
+
+}
@@ -1,5 +1,8 @@
 package com.john.minhasfinancas.api.resource;
 
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
@@ -7,26 +10,37 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.john.minhasfinancas.api.dto.UsuarioDTO;
+import com.john.minhasfinancas.config.ExecutorRelatorios;
+import com.john.minhasfinancas.config.RegistroLatencias;
 import com.john.minhasfinancas.exception.ErroAutenticacao;
+import com.john.minhasfinancas.exception.ServicoIndisponivelException;
 import com.john.minhasfinancas.exception.RegraNegocioException;
 import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.service.Dashboard;
+import com.john.minhasfinancas.service.DashboardService;
+import com.john.minhasfinancas.service.JwtService;
 import com.john.minhasfinancas.service.LancamentoService;
+import com.john.minhasfinancas.service.PrevisaoSaldo;
+import com.john.minhasfinancas.service.PrevisaoService;
 import com.john.minhasfinancas.service.UsuarioService;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
 @WebMvcTest(controllers = UsuarioResource.class)
 @AutoConfigureMockMvc
+@Import({ ExecutorRelatorios.class, RegistroLatencias.class })
 public class UsuarioResourceTest {
 
 	static final String API = "/api/usuarios";
@@ -41,6 +55,15 @@ public class UsuarioResourceTest {
 	@MockBean
 	LancamentoService lancamentoService;
 
+	@MockBean
+	JwtService jwtService;
+
+	@MockBean
+	PrevisaoService previsaoService;
+
+	@MockBean
+	DashboardService dashboardService;
+
 	@Test
 	public void deveAutenticarUmUsuario() throws Exception{
 		//cenario
@@ -51,6 +74,7 @@ public class UsuarioResourceTest {
 		Usuario usuario = Usuario.builder().id(1l).email(email).senha(senha).build();
 		
 		Mockito.when(service.autenticar(email, senha)).thenReturn(usuario);
+		Mockito.when(jwtService.gerarToken(usuario)).thenReturn("token");
 		
 		String json = new ObjectMapper().writeValueAsString(dto);
 		
@@ -65,7 +89,8 @@ public class UsuarioResourceTest {
 		    .andExpect(MockMvcResultMatchers.status().isOk())
 		    .andExpect(MockMvcResultMatchers.jsonPath("id").value(usuario.getId()))
 		    .andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()))
-		    .andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()));
+		    .andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()))
+		    .andExpect(MockMvcResultMatchers.jsonPath("token").value("token"));
 	}
 	
 	@Test
@@ -140,4 +165,144 @@ public class UsuarioResourceTest {
 		mvc.perform(request)
 		    .andExpect(MockMvcResultMatchers.status().isBadRequest());
 	}
+	
+	@Test
+	public void deveRetornarServicoIndisponivelQuandoOHashDeSenhasEstiverSobrecarregado() throws Exception {
+		// cenario
+		UsuarioDTO dto = UsuarioDTO.builder().nome("usuario").email("usuario@email.com").senha("123").build();
+		Mockito.when(service.salvarUsuario(Mockito.any(Usuario.class)))
+				.thenThrow(new ServicoIndisponivelException("Serviço de autenticação sobrecarregado, tente novamente."));
+
+		// acao e verificacao
+		mvc.perform(MockMvcRequestBuilders.post(API).accept(JSON).contentType(JSON)
+				.content(new ObjectMapper().writeValueAsString(dto)))
+				.andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+				.andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"));
+	}
+
+	@Test
+	public void deveRetornarServicoIndisponivelAoAutenticarComOHashDeSenhasSobrecarregado() throws Exception {
+		// cenario
+		UsuarioDTO dto = UsuarioDTO.builder().email("usuario@email.com").senha("123").build();
+		Mockito.when(service.autenticar("usuario@email.com", "123"))
+				.thenThrow(new ServicoIndisponivelException("Serviço de autenticação sobrecarregado, tente novamente."));
+
+		// acao e verificacao
+		mvc.perform(MockMvcRequestBuilders.post(API.concat("/autenticar")).accept(JSON).contentType(JSON)
+				.content(new ObjectMapper().writeValueAsString(dto)))
+				.andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+				.andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"));
+	}
+
+	@Test
+	public void deveObterOSaldoDoUsuarioAutenticado() throws Exception{
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		
+		Mockito.when(jwtService.obterUsuarioAutorizado("token")).thenReturn(usuario);
+		Mockito.when(lancamentoService.obterSaldoPorUsuario(1l)).thenReturn(BigDecimal.TEN);
+		
+		//acao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+																.get(API.concat("/1/saldo"))
+																.header("Authorization", "Bearer token")
+																.accept(JSON);
+		
+		MvcResult resultado = mvc.perform(request)
+		    .andExpect(MockMvcResultMatchers.request().asyncStarted())
+		    .andReturn();
+
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+		    .andExpect(MockMvcResultMatchers.status().isOk())
+		    .andExpect(MockMvcResultMatchers.content().string("10"));
+	}
+	
+	@Test
+	public void deveRetornarNaoAutorizadoAoObterSaldoSemToken() throws Exception{
+		//acao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+																.get(API.concat("/1/saldo"))
+																.accept(JSON);
+		
+		mvc.perform(request)
+		    .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+	}
+	
+	@Test
+	public void naoDeveObterOSaldoDeOutroUsuario() throws Exception{
+		//cenario
+		Usuario usuario = Usuario.builder().id(2l).build();
+		
+		Mockito.when(jwtService.obterUsuarioAutorizado("token")).thenReturn(usuario);
+		
+		//acao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+																.get(API.concat("/1/saldo"))
+																.header("Authorization", "Bearer token")
+																.accept(JSON);
+		
+		MvcResult resultado = mvc.perform(request)
+		    .andExpect(MockMvcResultMatchers.request().asyncStarted())
+		    .andReturn();
+
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+		    .andExpect(MockMvcResultMatchers.status().isNotFound());
+		Mockito.verify(lancamentoService, Mockito.never()).obterSaldoPorUsuario(1l);
+	}
+
+	@Test
+	public void deveObterAPrevisaoDeSaldoDoUsuarioAutenticado() throws Exception{
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		PrevisaoSaldo previsao = new PrevisaoSaldo(YearMonth.of(2020, 12), 1000,
+				new long[] { 500, 0, 0 }, new long[] { 200, 100, 0 });
+		
+		Mockito.when(jwtService.obterUsuarioAutorizado("token")).thenReturn(usuario);
+		Mockito.when(previsaoService.prever(1l)).thenReturn(previsao);
+		
+		//acao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+																.get(API.concat("/1/previsao"))
+																.param("meses", "2")
+																.header("Authorization", "Bearer token")
+																.accept(JSON);
+		
+		MvcResult resultado = mvc.perform(request)
+		    .andExpect(MockMvcResultMatchers.request().asyncStarted())
+		    .andReturn();
+
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+		    .andExpect(MockMvcResultMatchers.status().isOk())
+		    .andExpect(MockMvcResultMatchers.jsonPath("saldoAtual").value(10))
+		    .andExpect(MockMvcResultMatchers.jsonPath("meses.length()").value(2))
+		    .andExpect(MockMvcResultMatchers.jsonPath("meses[0].saldo").value(13))
+		    .andExpect(MockMvcResultMatchers.jsonPath("meses[1].ano").value(2021))
+		    .andExpect(MockMvcResultMatchers.jsonPath("meses[1].saldo").value(12));
+	}
+
+	@Test
+	public void deveObterOPainelDoUsuarioAutenticadoEmUmaUnicaChamada() throws Exception{
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Dashboard dashboard = Dashboard.builder().saldo(BigDecimal.TEN).pendentes(3l).build();
+		
+		Mockito.when(jwtService.obterUsuarioAutorizado("token")).thenReturn(usuario);
+		Mockito.when(dashboardService.obterDashboard(1l, 50)).thenReturn(dashboard);
+		
+		//acao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+																.get(API.concat("/1/dashboard"))
+																.param("ultimos", "500")
+																.header("Authorization", "Bearer token")
+																.accept(JSON);
+		
+		MvcResult resultado = mvc.perform(request)
+		    .andExpect(MockMvcResultMatchers.request().asyncStarted())
+		    .andReturn();
+
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+		    .andExpect(MockMvcResultMatchers.status().isOk())
+		    .andExpect(MockMvcResultMatchers.jsonPath("saldo").value(10))
+		    .andExpect(MockMvcResultMatchers.jsonPath("pendentes").value(3));
+	}
 }
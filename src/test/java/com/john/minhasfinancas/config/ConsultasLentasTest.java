@@ -0,0 +1,92 @@
+package com.john.minhasfinancas.config;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.john.minhasfinancas.config.ConsultasLentas.ConsultaLenta;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest(properties = { "consultas-lentas.limite=0", "consultas-lentas.analisar=true" })
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import({ MonitoramentoSqlConfiguration.class, ConsultasLentas.class })
+public class ConsultasLentasTest {
+
+	private static final String CONSULTA = "select count(*) from financas.lancamento where id_usuario = ? and ano = ?";
+	private static final String CONSULTA_EMAIL = "select count(*) from financas.usuario where email = ?";
+	private static final String ATUALIZACAO = "update financas.lancamento set status = ? where id = ?";
+
+	@Autowired
+	ConsultasLentas consultasLentas;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Test
+	public void deveCapturarAConsultaComParametrosEPlano() throws InterruptedException {
+		// acao
+		jdbcTemplate.queryForObject(CONSULTA, Long.class, 7L, 2020);
+
+		// verificacao
+		Optional<ConsultaLenta> capturada = aguardarCaptura(CONSULTA);
+		Assertions.assertTrue(capturada.isPresent());
+		Assertions.assertEquals("7", capturada.get().getParametros().get(0).get(0));
+		Assertions.assertEquals("2020", capturada.get().getParametros().get(0).get(1));
+		Assertions.assertTrue(capturada.get().isAnalisada());
+		Assertions.assertTrue(capturada.get().getPlano().toUpperCase().contains("IDX_LANCAMENTO_USUARIO_ANO_MES"),
+				capturada.get().getPlano());
+	}
+
+	@Test
+	public void deveMascararOsParametrosDeTexto() throws InterruptedException {
+		// acao
+		jdbcTemplate.queryForObject(CONSULTA_EMAIL, Long.class, "usuario@email.com");
+
+		// verificacao
+		Optional<ConsultaLenta> capturada = aguardarCaptura(CONSULTA_EMAIL);
+		Assertions.assertTrue(capturada.isPresent());
+		Assertions.assertEquals("***", capturada.get().getParametros().get(0).get(0));
+		Assertions.assertNotNull(capturada.get().getPlano());
+		Assertions.assertFalse(capturada.get().getPlano().startsWith("Falha"), capturada.get().getPlano());
+	}
+
+	@Test
+	public void deveGuardarOsParametrosDeCadaLinhaDoLote() throws InterruptedException {
+		// acao
+		jdbcTemplate.batchUpdate(ATUALIZACAO, Arrays.asList(
+				new Object[] { "EFETIVADO", 1L },
+				new Object[] { "CANCELADO", 2L },
+				new Object[] { "PENDENTE", 3L }));
+
+		// verificacao
+		Optional<ConsultaLenta> capturada = aguardarCaptura(ATUALIZACAO);
+		Assertions.assertTrue(capturada.isPresent());
+		Assertions.assertEquals(3, capturada.get().getLinhas());
+		Assertions.assertEquals(3, capturada.get().getParametros().size());
+		Assertions.assertEquals(Arrays.asList("***", "1"), capturada.get().getParametros().get(0));
+		Assertions.assertEquals(Arrays.asList("***", "3"), capturada.get().getParametros().get(2));
+	}
+
+	private Optional<ConsultaLenta> aguardarCaptura(String sql) throws InterruptedException {
+		Optional<ConsultaLenta> capturada = Optional.empty();
+		for (int tentativa = 0; tentativa < 100 && !capturada.isPresent(); tentativa++) {
+			Thread.sleep(50);
+			capturada = consultasLentas.obterConsultas().stream()
+					.filter(consulta -> consulta.getSql().equals(sql)).findFirst();
+		}
+		return capturada;
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.john.minhasfinancas.config;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+public class ExecutorRelatoriosTest {
+
+	@Test
+	public void deveResponderIndisponivelQuandoOPoolEAFilaEstiveremCheios() throws Exception {
+		// cenario
+		ExecutorRelatorios executor = new ExecutorRelatorios(ExecutorRelatorios.Modo.ASSINCRONO, 1, 1, 10000);
+		CountDownLatch liberar = new CountDownLatch(1);
+
+		try {
+			// acao
+			DeferredResult<ResponseEntity> emExecucao = executor.executar(() -> aguardar(liberar));
+			DeferredResult<ResponseEntity> naFila = executor.executar(() -> ResponseEntity.ok("fila"));
+			DeferredResult<ResponseEntity> recusado = executor.executar(() -> ResponseEntity.ok("recusado"));
+
+			// verificacao
+			Assertions.assertTrue(recusado.hasResult());
+			Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+					((ResponseEntity) recusado.getResult()).getStatusCode());
+			Assertions.assertEquals("1", ((ResponseEntity) recusado.getResult()).getHeaders().getFirst("Retry-After"));
+
+			liberar.countDown();
+			aguardarResultado(emExecucao);
+			aguardarResultado(naFila);
+			Assertions.assertEquals("fila", ((ResponseEntity) naFila.getResult()).getBody());
+		} finally {
+			liberar.countDown();
+			executor.encerrar();
+		}
+	}
+
+	@Test
+	public void deveExecutarNaPropriaThreadNoModoSincrono() {
+		// cenario
+		ExecutorRelatorios executor = new ExecutorRelatorios(ExecutorRelatorios.Modo.SINCRONO, 1, 1, 10000);
+		Thread chamadora = Thread.currentThread();
+
+		// acao
+		DeferredResult<ResponseEntity> resultado = executor
+				.executar(() -> ResponseEntity.ok(Thread.currentThread() == chamadora));
+		executor.encerrar();
+
+		// verificacao
+		Assertions.assertTrue(resultado.hasResult());
+		Assertions.assertEquals(true, ((ResponseEntity) resultado.getResult()).getBody());
+	}
+
+	private static ResponseEntity aguardar(CountDownLatch liberar) {
+		try {
+			liberar.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return ResponseEntity.ok("execucao");
+	}
+
+	private static void aguardarResultado(DeferredResult<ResponseEntity> resultado) throws InterruptedException {
+		long limite = System.currentTimeMillis() + 10000;
+		while (!resultado.hasResult() && System.currentTimeMillis() < limite) {
+			Thread.sleep(10);
+		}
+	}
+
+}
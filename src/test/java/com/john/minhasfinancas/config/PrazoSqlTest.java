@@ -0,0 +1,56 @@
+package com.john.minhasfinancas.config;
+
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCallback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import({ MonitoramentoSqlConfiguration.class, ConsultasLentas.class })
+public class PrazoSqlTest {
+
+	private static final StatementCallback<Integer> TEMPO_LIMITE = Statement::getQueryTimeout;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Test
+	public void deveAplicarOTempoRestanteAosComandosDaThread() throws Exception {
+		// cenario
+		long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500);
+
+		// acao
+		Integer semPrazo = jdbcTemplate.execute(TEMPO_LIMITE);
+		Integer dentroDoPrazo = PrazoSql.limitar(prazo, () -> jdbcTemplate.execute(TEMPO_LIMITE)).call();
+
+		// verificacao
+		Assertions.assertEquals(2, dentroDoPrazo);
+		Assertions.assertEquals(0, semPrazo);
+	}
+
+	@Test
+	public void naoDeveExecutarComandosDepoisDoPrazo() {
+		// cenario
+		long prazo = System.nanoTime() - 1;
+
+		// acao e verificacao
+		Assertions.assertThrows(QueryTimeoutException.class,
+				() -> PrazoSql.limitar(prazo, () -> jdbcTemplate.execute(TEMPO_LIMITE)).call());
+	}
+
+}
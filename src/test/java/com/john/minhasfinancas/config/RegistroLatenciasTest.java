@@ -0,0 +1,60 @@
+package com.john.minhasfinancas.config;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.john.minhasfinancas.config.RegistroLatencias.RequisicaoLenta;
+import com.john.minhasfinancas.config.RegistroLatencias.ResumoLatencia;
+
+public class RegistroLatenciasTest {
+
+	@Test
+	public void deveCalcularOsPercentisSobreAJanelaDeslizante() {
+		// cenario
+		RegistroLatencias registro = new RegistroLatencias(2, 10000, 20);
+		for (int i = 1; i <= 1000; i++) {
+			registro.registrar("LancamentoService.buscar", TimeUnit.MILLISECONDS.toNanos(i));
+		}
+
+		// acao
+		registro.rotacionar();
+		ResumoLatencia resumo = registro.obterResumos().get(0);
+
+		// verificacao
+		Assertions.assertEquals("LancamentoService.buscar", resumo.getNome());
+		Assertions.assertEquals(1000, resumo.getQuantidade());
+		Assertions.assertEquals(500, resumo.getPercentis().get("p50"), 1);
+		Assertions.assertEquals(990, resumo.getPercentis().get("p99"), 1);
+		Assertions.assertEquals(1000, resumo.getPercentis().get("p99.99"), 1);
+
+		registro.rotacionar();
+		Assertions.assertEquals(1000, registro.obterResumos().get(0).getQuantidade());
+		registro.rotacionar();
+		Assertions.assertTrue(registro.obterResumos().isEmpty());
+	}
+
+	@Test
+	public void deveManterApenasAsRequisicoesMaisLentas() {
+		// cenario
+		RegistroLatencias registro = new RegistroLatencias(6, 10000, 2);
+
+		// acao
+		registro.registrarRequisicao("GET /api/lancamentos", "/api/lancamentos?ano=2020",
+				TimeUnit.MILLISECONDS.toNanos(30), 3);
+		registro.registrarRequisicao("GET /api/lancamentos", "/api/lancamentos?ano=2021",
+				TimeUnit.MILLISECONDS.toNanos(10), 1);
+		registro.registrarRequisicao("GET /api/usuarios/{id}/saldo", "/api/usuarios/1/saldo",
+				TimeUnit.MILLISECONDS.toNanos(50), 2);
+
+		// verificacao
+		List<RequisicaoLenta> maisLentas = registro.obterMaisLentas();
+		Assertions.assertEquals(2, maisLentas.size());
+		Assertions.assertEquals("/api/usuarios/1/saldo", maisLentas.get(0).getParametros());
+		Assertions.assertEquals(2, maisLentas.get(0).getComandosSql());
+		Assertions.assertEquals("/api/lancamentos?ano=2020", maisLentas.get(1).getParametros());
+	}
+
+}
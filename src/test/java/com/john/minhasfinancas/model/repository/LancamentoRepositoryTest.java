@@ -2,6 +2,10 @@ package com.john.minhasfinancas.model.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -12,11 +16,15 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.entity.Usuario;
 import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
@@ -39,6 +47,21 @@ public class LancamentoRepositoryTest {
 		assertNotNull(lancamento.getId());
 	}
 
+	@Test
+	public void naoDeveAceitarDoisEnviosComAMesmaChave() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento primeiro = criarlancamento();
+		primeiro.setUsuario(usuario);
+		primeiro.setChaveEnvio(42l);
+		repository.save(primeiro);
+
+		Lancamento reenvio = criarlancamento();
+		reenvio.setUsuario(usuario);
+		reenvio.setChaveEnvio(42l);
+
+		assertThrows(DataIntegrityViolationException.class, () -> repository.save(reenvio));
+	}
+
 	@Test
 	public void deveDeletarUmLancamento() {
 		Lancamento lancamento = criarEPersistirUmLancamento();
@@ -53,6 +76,20 @@ public class LancamentoRepositoryTest {
 
 	}
 
+	@Test
+	public void deveManterOLancamentoDeletadoComoLapide() {
+		Lancamento lancamento = criarEPersistirUmLancamento();
+
+		repository.excluirPorIds(Arrays.asList(lancamento.getId()));
+		entityManager.clear();
+
+		Object deletadoEm = entityManager.getEntityManager()
+				.createNativeQuery("select deletado_em from financas.lancamento where id = :id")
+				.setParameter("id", lancamento.getId()).getSingleResult();
+		assertNotNull(deletadoEm);
+		assertFalse(repository.findById(lancamento.getId()).isPresent());
+	}
+
 	@Test
 	public void deveAtualizarUmLancamento() {
 		Lancamento lancamento = criarEPersistirUmLancamento();
@@ -78,6 +115,116 @@ public class LancamentoRepositoryTest {
 		assertTrue(lancamentoEncontrado.isPresent());
 	}
 	
+	@Test
+	public void deveFiltrarLancamentosPorTipoStatusValorEPeriodo() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		persistirLancamento(usuario, 2020, 7, 600, TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+		persistirLancamento(usuario, 2020, 8, 400, TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+		persistirLancamento(usuario, 2020, 9, 900, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
+		persistirLancamento(usuario, 2020, 10, 700, TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+		persistirLancamento(usuario, 2020, 9, 800, TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+		persistirLancamento(usuario, 2020, 9, 550, TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+
+		LancamentoFiltro filtro = LancamentoFiltro.builder()
+				.idUsuario(usuario.getId())
+				.tipo(TipoLancamento.DESPESA)
+				.status(StatusLancamento.PENDENTE)
+				.valorMinimo(BigDecimal.valueOf(500))
+				.anoInicial(2020).mesInicial(7)
+				.anoFinal(2020).mesFinal(9)
+				.build();
+
+		List<Lancamento> resultado = repository.findAll(LancamentoSpecification.filtrar(filtro),
+				Sort.by(Sort.Direction.DESC, "valor"));
+
+		assertEquals(2, resultado.size());
+		assertEquals(0, BigDecimal.valueOf(600).compareTo(resultado.get(0).getValor()));
+		assertEquals(0, BigDecimal.valueOf(550).compareTo(resultado.get(1).getValor()));
+	}
+
+	@Test
+	public void deveSomarOsLancamentosEfetivadosEntrePeriodos() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		persistirLancamento(usuario, 2019, 12, 100, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+		persistirLancamento(usuario, 2020, 1, 200, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+		persistirLancamento(usuario, 2020, 6, 300, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+		persistirLancamento(usuario, 2020, 6, 400, TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+		persistirLancamento(usuario, 2020, 7, 500, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+
+		BigDecimal saldo = repository.obterSaldoPorTipoLancamentoEUsuarioEStatusEntrePeriodos(usuario.getId(),
+				TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 2019, 12, 2020, 6);
+
+		assertEquals(0, BigDecimal.valueOf(500).compareTo(saldo));
+	}
+
+	@Test
+	public void deveBuscarApenasOsLancamentosDoUsuarioPelosIds() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Usuario outroUsuario = UsuarioRepositoryTest.criarUsuario();
+		outroUsuario.setEmail("outro@email.com");
+		entityManager.persist(outroUsuario);
+
+		Lancamento doUsuario = criarlancamento();
+		doUsuario.setUsuario(usuario);
+		entityManager.persist(doUsuario);
+		Lancamento deOutroUsuario = criarlancamento();
+		deOutroUsuario.setUsuario(outroUsuario);
+		entityManager.persist(deOutroUsuario);
+
+		List<Lancamento> resultado = repository.obterPorUsuarioEIds(usuario.getId(),
+				Arrays.asList(doUsuario.getId(), deOutroUsuario.getId(), -1l));
+
+		assertEquals(1, resultado.size());
+		assertEquals(doUsuario.getId(), resultado.get(0).getId());
+	}
+
+	@Test
+	public void deveProjetarApenasOsCamposSolicitados() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		persistirLancamento(usuario, 2020, 7, 600, TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+		persistirLancamento(usuario, 2020, 8, 400, TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+
+		LancamentoFiltro filtro = LancamentoFiltro.builder().idUsuario(usuario.getId()).build();
+		List<Map<String, Object>> resultado = repository.buscarCampos(LancamentoSpecification.filtrar(filtro),
+				Sort.by(Sort.Direction.DESC, "valor"), Arrays.asList("valor", "tipo", "usuario"));
+
+		assertEquals(2, resultado.size());
+		assertEquals(Arrays.asList("valor", "tipo", "usuario"), new ArrayList<>(resultado.get(0).keySet()));
+		assertEquals(0, BigDecimal.valueOf(600).compareTo((BigDecimal) resultado.get(0).get("valor")));
+		assertEquals(TipoLancamento.RECEITA, resultado.get(1).get("tipo"));
+		assertEquals(usuario.getId(), resultado.get(1).get("usuario"));
+	}
+
+	@Test
+	public void deveTotalizarOMesPorTipoEStatus() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		persistirLancamento(usuario, 2020, 9, 100, TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+		persistirLancamento(usuario, 2020, 9, 50, TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+		persistirLancamento(usuario, 2020, 9, 800, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+		persistirLancamento(usuario, 2020, 10, 700, TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+
+		List<Object[]> totais = repository.obterTotaisPorTipoEStatus(usuario.getId(), 2020, 9);
+
+		assertEquals(2, totais.size());
+		Object[] despesasPendentes = totais.stream().filter(linha -> linha[0] == TipoLancamento.DESPESA)
+				.findFirst().get();
+		assertEquals(2l, despesasPendentes[2]);
+		assertEquals(0, BigDecimal.valueOf(150).compareTo((BigDecimal) despesasPendentes[3]));
+		assertEquals(3l, repository.countByUsuarioIdAndStatus(usuario.getId(), StatusLancamento.PENDENTE));
+	}
+
+	private void persistirLancamento(Usuario usuario, int ano, int mes, int valor, TipoLancamento tipo,
+			StatusLancamento status) {
+		Lancamento lancamento = criarlancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setAno(ano);
+		lancamento.setMes(mes);
+		lancamento.setValor(BigDecimal.valueOf(valor));
+		lancamento.setTipo(tipo);
+		lancamento.setStatus(status);
+		entityManager.persist(lancamento);
+	}
+	
 	private Lancamento criarEPersistirUmLancamento() {
 		Lancamento lancamento = criarlancamento();
 		entityManager.persist(lancamento);
@@ -0,0 +1,186 @@
+package com.john.minhasfinancas.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+
+/**
+ * Plano do Postgres para o SQL que o Hibernate gera a partir de
+ * LancamentoSpecification, com os indices de db/*.sql aplicados. Usa o plano
+ * generico (o mesmo das consultas preparadas), entao nao depende dos valores.
+ */
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+public class LancamentoSpecificationPlanoTest {
+
+	private static final Pattern VARIAVEL = Pattern.compile("\\?");
+
+	private static final Pattern BUSCA_POR_INDICE = Pattern
+			.compile("(Index Scan using|Index Only Scan using|Bitmap Index Scan on) idx_lancamento_");
+
+	@Container
+	static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	private static boolean preparado;
+
+	@DynamicPropertySource
+	static void configurarBanco(DynamicPropertyRegistry registro) {
+		registro.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+		registro.add("spring.datasource.username", POSTGRES::getUsername);
+		registro.add("spring.datasource.password", POSTGRES::getPassword);
+		registro.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+		registro.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+		registro.add("spring.jpa.properties.hibernate.hbm2ddl.create_namespaces", () -> "true");
+	}
+
+	@TestConfiguration
+	static class CapturaSql {
+
+		@Bean
+		SqlGerado sqlGerado() {
+			return new SqlGerado();
+		}
+
+		@Bean
+		HibernatePropertiesCustomizer inspecionarSql(SqlGerado sqlGerado) {
+			return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, sqlGerado);
+		}
+
+	}
+
+	/** Guarda o ultimo select de lancamentos que o Hibernate mandou ao banco. */
+	static class SqlGerado implements StatementInspector {
+
+		private volatile String ultimo;
+
+		@Override
+		public String inspect(String sql) {
+			if (sql.startsWith("select") && sql.contains("financas.lancamento")) {
+				ultimo = sql;
+			}
+			return sql;
+		}
+
+	}
+
+	@Autowired
+	LancamentoRepository repository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	DataSource dataSource;
+
+	@Autowired
+	SqlGerado sqlGerado;
+
+	@BeforeEach
+	public void popularEIndexar() throws SQLException {
+		if (preparado) {
+			return;
+		}
+		jdbcTemplate.update("insert into financas.usuario (nome, email, senha) "
+				+ " select 'usuario' || i, 'usuario' || i || '@email.com', 'senha' from generate_series(1, 500) i ");
+		jdbcTemplate.update("insert into financas.lancamento "
+				+ " (descricao, ano, mes, id_usuario, valor, data_cadastro, tipo, status) "
+				+ " select 'lancamento ' || i, 2013 + i % 8, 1 + i % 12, u.primeiro + i % 500, i % 5000, "
+				+ " date '2013-01-01' + i % 2900, "
+				+ " case when i % 2 = 0 then 'RECEITA' else 'DESPESA' end, "
+				+ " case i % 3 when 0 then 'PENDENTE' when 1 then 'EFETIVADO' else 'CANCELADO' end "
+				+ " from generate_series(1, 200000) i, (select min(id) primeiro from financas.usuario) u ");
+
+		// create/drop index concurrently exigem autocommit, fora da transacao do teste
+		try (Connection conexao = dataSource.getConnection()) {
+			for (String script : Arrays.asList("busca-textual", "lancamento-indices", "exclusao-logica", "previsao")) {
+				ScriptUtils.executeSqlScript(conexao, new ClassPathResource("db/" + script + "-postgresql.sql"));
+			}
+		}
+		jdbcTemplate.execute("analyze financas.lancamento");
+		preparado = true;
+	}
+
+	@Test
+	public void deveUsarUmIndiceParaCadaCombinacaoDeFiltros() {
+		LancamentoFiltro usuario = LancamentoFiltro.builder().idUsuario(1l).build();
+
+		assertUsaIndice(usuario);
+		assertUsaIndice(LancamentoFiltro.builder().idsUsuarios(Arrays.asList(1l, 2l)).build());
+		assertUsaIndice(usuario.toBuilder().ano(2020).mes(9).build());
+		assertUsaIndice(usuario.toBuilder().anoInicial(2020).mesInicial(7).anoFinal(2021).mesFinal(6).build());
+		assertUsaIndice(usuario.toBuilder().tipo(TipoLancamento.DESPESA).status(StatusLancamento.PENDENTE).build());
+		assertUsaIndice(usuario.toBuilder().status(StatusLancamento.PENDENTE).build());
+		assertUsaIndice(usuario.toBuilder().valorMinimo(new BigDecimal(500)).valorMaximo(new BigDecimal(1000)).build());
+		assertUsaIndice(usuario.toBuilder().dataCadastroInicial(LocalDate.of(2020, 7, 1))
+				.dataCadastroFinal(LocalDate.of(2020, 12, 31)).build());
+		assertUsaIndice(usuario.toBuilder().idCategoria(1l).build());
+		assertUsaIndice(usuario.toBuilder().descricao("mercado").build());
+	}
+
+	private void assertUsaIndice(LancamentoFiltro filtro) {
+		sqlGerado.ultimo = null;
+		repository.findAll(LancamentoSpecification.filtrar(filtro));
+		String sql = sqlGerado.ultimo;
+		assertNotNull(sql, filtro.toString());
+
+		String plano = String.join("\n",
+				jdbcTemplate.queryForList("explain (generic_plan) " + numerarVariaveis(sql), String.class));
+
+		assertFalse(plano.contains("Seq Scan"), filtro + "\n" + sql + "\n" + plano);
+		assertTrue(BUSCA_POR_INDICE.matcher(plano).find(), filtro + "\n" + sql + "\n" + plano);
+	}
+
+	/** O plano generico do Postgres recebe $1, $2... no lugar dos ? do JDBC. */
+	private static String numerarVariaveis(String sql) {
+		Matcher variaveis = VARIAVEL.matcher(sql);
+		StringBuffer numerado = new StringBuffer();
+		int posicao = 0;
+		while (variaveis.find()) {
+			variaveis.appendReplacement(numerado, "\\$" + ++posicao);
+		}
+		return variaveis.appendTail(numerado).toString();
+	}
+
+}
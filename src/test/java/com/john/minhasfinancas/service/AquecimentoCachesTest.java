@@ -0,0 +1,96 @@
+package com.john.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.service.impl.AquecimentoCaches;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest(properties = { "aquecimento.ativo=false", "aquecimento.usuarios=2" })
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(AquecimentoCaches.class)
+public class AquecimentoCachesTest {
+
+	@Autowired
+	AquecimentoCaches aquecimento;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@MockBean
+	UsuarioService usuarioService;
+
+	@MockBean
+	LancamentoService lancamentoService;
+
+	@MockBean
+	PrevisaoService previsaoService;
+
+	@Test
+	public void deveAquecerApenasOsUsuariosMaisAtivosRecentemente() {
+		// cenario
+		Usuario primeiro = persistirLancamentos("primeiro@email.com", LocalDate.now(), 3);
+		Usuario segundo = persistirLancamentos("segundo@email.com", LocalDate.now(), 2);
+		Usuario terceiro = persistirLancamentos("terceiro@email.com", LocalDate.now(), 1);
+		Usuario antigo = persistirLancamentos("antigo@email.com", LocalDate.now().minusDays(30), 5);
+		entityManager.flush();
+
+		// acao
+		AquecimentoCaches.Situacao situacao = aquecimento.aquecer();
+
+		// verificacao
+		Assertions.assertEquals(AquecimentoCaches.Situacao.CONCLUIDO, situacao);
+		Mockito.verify(usuarioService).obterPorId(primeiro.getId());
+		Mockito.verify(lancamentoService).obterSaldoPorUsuario(primeiro.getId());
+		Mockito.verify(previsaoService).prever(primeiro.getId());
+		Mockito.verify(usuarioService).obterPorId(segundo.getId());
+		Mockito.verify(lancamentoService).obterSaldoPorUsuario(segundo.getId());
+		Mockito.verify(previsaoService).prever(segundo.getId());
+		Mockito.verify(usuarioService, Mockito.never()).obterPorId(terceiro.getId());
+		Mockito.verify(previsaoService, Mockito.never()).prever(terceiro.getId());
+		Mockito.verify(previsaoService, Mockito.never()).prever(antigo.getId());
+
+		Health saude = aquecimento.saude();
+		Assertions.assertEquals(Status.UP, saude.getStatus());
+		Assertions.assertEquals(2, saude.getDetails().get("aquecidos"));
+	}
+
+	private Usuario persistirLancamentos(String email, LocalDate dataCadastro, int quantidade) {
+		Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").senha("senha").email(email).build());
+		for (int i = 0; i < quantidade; i++) {
+			entityManager.persist(Lancamento.builder()
+					.usuario(usuario)
+					.descricao("lancamento")
+					.ano(dataCadastro.getYear())
+					.mes(dataCadastro.getMonthValue())
+					.valor(BigDecimal.TEN)
+					.tipo(TipoLancamento.DESPESA)
+					.status(StatusLancamento.PENDENTE)
+					.dataCadastro(dataCadastro)
+					.build());
+		}
+		return usuario;
+	}
+
+}
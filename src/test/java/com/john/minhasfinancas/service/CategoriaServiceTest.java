@@ -0,0 +1,113 @@
+package com.john.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.john.minhasfinancas.model.entity.Categoria;
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.entity.TotalCategoria;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.john.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.john.minhasfinancas.service.impl.CategoriaServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(CategoriaServiceImpl.class)
+public class CategoriaServiceTest {
+
+	@Autowired
+	CategoriaService service;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Test
+	public void deveRecalcularOsTotaisDoMesPorCategoria() {
+		// cenario
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Categoria mercado = entityManager.persist(Categoria.builder().nome("Mercado").build());
+		Categoria moradia = entityManager.persist(Categoria.builder().nome("Moradia").build());
+		persistirLancamento(usuario, mercado, 9, 100);
+		persistirLancamento(usuario, mercado, 9, 50);
+		persistirLancamento(usuario, moradia, 9, 1000);
+		persistirLancamento(usuario, null, 9, 30);
+		persistirLancamento(usuario, mercado, 10, 70);
+
+		// acao
+		service.atualizarTotais(usuario.getId(), 2020, 9);
+		Lancamento novo = persistirLancamento(usuario, mercado, 9, 25);
+		service.atualizarTotais(usuario.getId(), 2020, 9);
+
+		// verificacao
+		List<TotalCategoria> totais = service.obterTotais(usuario.getId(), 2020, 9);
+		Assertions.assertEquals(2, totais.size());
+		Assertions.assertEquals(moradia.getId(), totais.get(0).getIdCategoria());
+		Assertions.assertEquals(mercado.getId(), totais.get(1).getIdCategoria());
+		Assertions.assertEquals(3l, totais.get(1).getQuantidade());
+		Assertions.assertEquals(0, BigDecimal.valueOf(175).compareTo(totais.get(1).getValor()));
+		Assertions.assertTrue(service.obterTotais(usuario.getId(), 2020, 10).isEmpty());
+		Assertions.assertNotNull(novo.getId());
+	}
+
+	@Test
+	public void deveManterODicionarioEmMemoria() {
+		// cenario
+		Categoria mercado = entityManager.persist(Categoria.builder().nome("Mercado").palavrasChave("mercado").build());
+		entityManager.flush();
+		service.recarregar();
+
+		// acao e verificacao
+		Assertions.assertEquals(Arrays.asList(mercado), service.listar());
+		Assertions.assertEquals(mercado, service.obterPorId(mercado.getId()).get());
+		Assertions.assertEquals(mercado, service.classificar("Mercado da esquina", TipoLancamento.DESPESA).get());
+	}
+
+	@Test
+	public void deveClassificarApenasComCategoriasDoMesmoTipoDoLancamento() {
+		// cenario
+		Categoria moradia = entityManager.persist(Categoria.builder().nome("Moradia")
+				.palavrasChave("aluguel").tipo(TipoLancamento.DESPESA).build());
+		Categoria salario = entityManager.persist(Categoria.builder().nome("Salário")
+				.palavrasChave("salario").tipo(TipoLancamento.RECEITA).build());
+		Categoria pix = entityManager.persist(Categoria.builder().nome("Pix").palavrasChave("pix").build());
+		entityManager.flush();
+		service.recarregar();
+
+		// acao e verificacao
+		Assertions.assertEquals(moradia, service.classificar("Pagamento aluguel", TipoLancamento.DESPESA).get());
+		Assertions.assertEquals(salario, service.classificar("Salario de março", TipoLancamento.RECEITA).get());
+		Assertions.assertFalse(service.classificar("Adiantamento de salario", TipoLancamento.DESPESA).isPresent());
+		Assertions.assertEquals(pix, service.classificar("pix recebido", TipoLancamento.RECEITA).get());
+		Assertions.assertEquals(pix, service.classificar("pix enviado", TipoLancamento.DESPESA).get());
+		Assertions.assertFalse(service.classificar("Pagamento aluguel", null).isPresent());
+	}
+
+	private Lancamento persistirLancamento(Usuario usuario, Categoria categoria, int mes, int valor) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setCategoria(categoria);
+		lancamento.setAno(2020);
+		lancamento.setMes(mes);
+		lancamento.setValor(BigDecimal.valueOf(valor));
+		lancamento.setTipo(TipoLancamento.DESPESA);
+		return entityManager.persist(lancamento);
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.john.minhasfinancas.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.john.minhasfinancas.model.entity.Categoria;
+import com.john.minhasfinancas.service.impl.ClassificadorCategorias;
+
+public class ClassificadorCategoriasTest {
+
+	@Test
+	public void deveClassificarPelaPalavraChaveMaisLongaIgnorandoAcentos() {
+		// cenario
+		Categoria moradia = Categoria.builder().id(1l).nome("Moradia").palavrasChave("aluguel,água,luz").build();
+		Categoria saude = Categoria.builder().id(2l).nome("Saúde").palavrasChave("plano de saúde,farmácia").build();
+		Categoria transporte = Categoria.builder().id(3l).nome("Transporte").palavrasChave("uber, 99").build();
+		ClassificadorCategorias classificador = new ClassificadorCategorias(Arrays.asList(moradia, saude, transporte));
+
+		// acao e verificacao
+		Assertions.assertEquals(moradia, classificador.classificar("Conta de AGUA - março").get());
+		Assertions.assertEquals(saude, classificador.classificar("Farmacias  do bairro").get());
+		Assertions.assertEquals(saude, classificador.classificar("Plano   de saude da luz").get());
+		Assertions.assertEquals(transporte, classificador.classificar("corrida 99 pop").get());
+		Assertions.assertFalse(classificador.classificar("Suber acessórios").isPresent());
+		Assertions.assertFalse(classificador.classificar("Cinema").isPresent());
+		Assertions.assertFalse(classificador.classificar(null).isPresent());
+	}
+
+	@Test
+	public void naoDeveClassificarSemCategorias() {
+		// acao e verificacao
+		Assertions.assertFalse(new ClassificadorCategorias(Collections.emptyList()).classificar("mercado").isPresent());
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.john.minhasfinancas.service;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.john.minhasfinancas.model.repository.UsuarioRepository;
+import com.john.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.john.minhasfinancas.service.impl.CompactacaoLancamentos;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest(properties = { "lancamento.compactacao.lote=2", "lancamento.compactacao.pausa=0" })
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(CompactacaoLancamentos.class)
+public class CompactacaoLancamentosTest {
+
+	private static final String CONTAR =
+			"select count(*) from financas.lancamento where id_usuario = ? and deletado_em is not null";
+
+	@Autowired
+	CompactacaoLancamentos compactacao;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void deveRemoverApenasAsLapidesMaisAntigasQueARetencao() {
+		// cenario
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		usuario.setEmail("compactacao@email.com");
+		usuario = usuarioRepository.save(usuario);
+		try {
+			for (int i = 0; i < 5; i++) {
+				salvar(usuario, LocalDateTime.now().minusDays(60));
+			}
+			salvar(usuario, LocalDateTime.now().minusDays(1));
+			Lancamento vivo = salvar(usuario, null);
+
+			// acao
+			int removidos = compactacao.compactar();
+
+			// verificacao
+			Assertions.assertEquals(5, removidos);
+			Assertions.assertEquals(1, jdbcTemplate.queryForObject(CONTAR, Long.class, usuario.getId()));
+			Assertions.assertTrue(lancamentoRepository.findById(vivo.getId()).isPresent());
+		} finally {
+			jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+			usuarioRepository.delete(usuario);
+		}
+	}
+
+	private Lancamento salvar(Usuario usuario, LocalDateTime deletadoEm) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setDeletadoEm(deletadoEm);
+		return lancamentoRepository.save(lancamento);
+	}
+
+}
@@ -0,0 +1,115 @@
+package com.john.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.john.minhasfinancas.exception.ServicoIndisponivelException;
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.john.minhasfinancas.service.impl.DashboardServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class DashboardServiceTest {
+
+	@SpyBean
+	DashboardServiceImpl service;
+
+	@MockBean
+	LancamentoRepository repository;
+
+	@MockBean
+	LancamentoService lancamentoService;
+
+	@Test
+	public void deveMontarOPainelComAsConsultasDoUsuario() {
+		// cenario
+		YearMonth atual = YearMonth.now();
+		List<Object[]> totais = new ArrayList<>();
+		totais.add(new Object[] { TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 2l, BigDecimal.valueOf(150) });
+		Lancamento ultimo = LancamentoRepositoryTest.criarlancamento();
+
+		Mockito.when(lancamentoService.obterSaldoPorUsuario(1l)).thenReturn(BigDecimal.TEN);
+		Mockito.when(repository.obterTotaisPorTipoEStatus(1l, atual.getYear(), atual.getMonthValue())).thenReturn(totais);
+		Mockito.when(repository.countByUsuarioIdAndStatus(1l, StatusLancamento.PENDENTE)).thenReturn(7l);
+		Mockito.when(repository.findByUsuarioId(Mockito.eq(1l), Mockito.any(Pageable.class)))
+				.thenReturn(Collections.singletonList(ultimo));
+
+		// acao
+		Dashboard dashboard = service.obterDashboard(1l, 5);
+
+		// verificacao
+		Assertions.assertEquals(BigDecimal.TEN, dashboard.getSaldo());
+		Assertions.assertEquals(atual.getMonthValue(), dashboard.getMes());
+		Assertions.assertEquals(1, dashboard.getTotaisDoMes().size());
+		Assertions.assertEquals(TipoLancamento.DESPESA, dashboard.getTotaisDoMes().get(0).getTipo());
+		Assertions.assertEquals(2l, dashboard.getTotaisDoMes().get(0).getQuantidade());
+		Assertions.assertEquals(7l, dashboard.getPendentes());
+		Assertions.assertSame(ultimo, dashboard.getUltimosLancamentos().get(0));
+	}
+
+	@Test
+	public void devePropagarOErroDeUmaDasConsultas() {
+		// cenario
+		Mockito.when(lancamentoService.obterSaldoPorUsuario(1l)).thenThrow(new IllegalArgumentException());
+
+		// acao e verificacao
+		Assertions.assertThrows(IllegalArgumentException.class, () -> service.obterDashboard(1l, 5));
+	}
+
+	@Test
+	public void deveCancelarAsConsultasAoEsgotarOTempoLimite() throws Exception {
+		// cenario
+		CountDownLatch interrompida = new CountDownLatch(1);
+		Mockito.when(lancamentoService.obterSaldoPorUsuario(1l)).thenAnswer(invocacao -> {
+			try {
+				Thread.sleep(10000);
+			} catch (InterruptedException e) {
+				interrompida.countDown();
+			}
+			return BigDecimal.ZERO;
+		});
+		DashboardServiceImpl painel = new DashboardServiceImpl(repository, lancamentoService, 4, 10, 100);
+
+		// acao
+		Assertions.assertThrows(ServicoIndisponivelException.class, () -> painel.obterDashboard(1l, 5));
+
+		// verificacao
+		Assertions.assertTrue(interrompida.await(1, TimeUnit.SECONDS));
+		painel.encerrar();
+	}
+
+	@Test
+	public void deveRecusarOPainelQuandoOPoolEstiverCheio() {
+		// cenario
+		Mockito.when(lancamentoService.obterSaldoPorUsuario(1l)).thenAnswer(invocacao -> {
+			Thread.sleep(1000);
+			return BigDecimal.ZERO;
+		});
+		DashboardServiceImpl painel = new DashboardServiceImpl(repository, lancamentoService, 1, 1, 2000);
+
+		// acao e verificacao
+		Assertions.assertThrows(ServicoIndisponivelException.class, () -> painel.obterDashboard(1l, 5));
+		Mockito.verify(repository, Mockito.never()).findByUsuarioId(Mockito.anyLong(), Mockito.any(Pageable.class));
+		painel.encerrar();
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.john.minhasfinancas.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.service.impl.DescricaoServiceImpl;
+
+public class DescricaoServiceTest {
+
+	LancamentoRepository repository = Mockito.mock(LancamentoRepository.class);
+
+	DescricaoService service = new DescricaoServiceImpl(repository, "memoria", 2);
+
+	@Test
+	public void naoDeveInstalarUmIndiceLidoAntesDeUmaEscritaConcorrente() {
+		// cenario
+		Lancamento novo = Lancamento.builder().id(2l).descricao("mercado").usuario(Usuario.builder().id(1l).build())
+				.build();
+		Mockito.when(repository.obterDescricoesPorUsuario(1l)).thenAnswer(invocacao -> {
+			service.registrar(novo);
+			return descricoes(1l, "aluguel");
+		}).thenReturn(descricoes(1l, "aluguel", 2l, "mercado"));
+
+		// acao
+		service.sugerir(1l, "mer", 5);
+		List<String> sugestoes = service.sugerir(1l, "mer", 5);
+
+		// verificacao
+		Assertions.assertEquals(Collections.singletonList("mercado"), sugestoes);
+		Mockito.verify(repository, Mockito.times(2)).obterDescricoesPorUsuario(1l);
+	}
+
+	@Test
+	public void deveDespejarOIndiceMenosUsadoAoAtingirOLimite() {
+		// cenario
+		Mockito.when(repository.obterDescricoesPorUsuario(Mockito.anyLong()))
+				.thenAnswer(invocacao -> descricoes(1l, "aluguel"));
+
+		// acao
+		service.sugerir(1l, "alu", 5);
+		service.sugerir(2l, "alu", 5);
+		service.sugerir(1l, "alu", 5);
+		service.sugerir(3l, "alu", 5);
+		service.sugerir(1l, "alu", 5);
+		service.sugerir(2l, "alu", 5);
+
+		// verificacao
+		Mockito.verify(repository, Mockito.times(1)).obterDescricoesPorUsuario(1l);
+		Mockito.verify(repository, Mockito.times(2)).obterDescricoesPorUsuario(2l);
+	}
+
+	private static List<Object[]> descricoes(Object... idsEDescricoes) {
+		List<Object[]> linhas = new ArrayList<>();
+		for (int i = 0; i < idsEDescricoes.length; i += 2) {
+			linhas.add(Arrays.copyOfRange(idsEDescricoes, i, i + 2));
+		}
+		return linhas;
+	}
+
+}
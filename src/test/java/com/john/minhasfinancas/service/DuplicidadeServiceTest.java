@@ -0,0 +1,77 @@
+package com.john.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.john.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.john.minhasfinancas.service.impl.DuplicidadeServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(DuplicidadeServiceImpl.class)
+public class DuplicidadeServiceTest {
+
+	@Autowired
+	DuplicidadeService service;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Test
+	public void deveAssinarOHistoricoEAgruparOsLancamentosIguaisDoUsuario() {
+		// cenario
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Usuario outroUsuario = UsuarioRepositoryTest.criarUsuario();
+		outroUsuario.setEmail("outro@email.com");
+		entityManager.persist(outroUsuario);
+
+		Lancamento original = persistirLancamento(usuario, "Conta de Luz", "150", StatusLancamento.PENDENTE);
+		Lancamento duplicado = persistirLancamento(usuario, "  conta de luz!", "150.00", StatusLancamento.EFETIVADO);
+		persistirLancamento(usuario, "Conta de Luz", "151", StatusLancamento.PENDENTE);
+		persistirLancamento(usuario, "Conta de Luz", "150", StatusLancamento.CANCELADO);
+		persistirLancamento(outroUsuario, "Conta de Luz", "150", StatusLancamento.PENDENTE);
+		entityManager.flush();
+
+		// acao
+		int assinados = service.assinarPendentes();
+		List<List<Long>> grupos = service.buscarGrupos(usuario.getId());
+
+		// verificacao
+		Assertions.assertEquals(5, assinados);
+		Assertions.assertEquals(0, service.assinarPendentes());
+		Assertions.assertEquals(1, grupos.size());
+		Assertions.assertEquals(Arrays.asList(original.getId(), duplicado.getId()), grupos.get(0));
+		Assertions.assertEquals(1, service.verificar());
+	}
+
+	private Lancamento persistirLancamento(Usuario usuario, String descricao, String valor, StatusLancamento status) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setDescricao(descricao);
+		lancamento.setValor(new BigDecimal(valor));
+		lancamento.setTipo(TipoLancamento.DESPESA);
+		lancamento.setStatus(status);
+		return entityManager.persist(lancamento);
+	}
+
+}
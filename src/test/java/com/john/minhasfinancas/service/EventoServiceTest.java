@@ -0,0 +1,173 @@
+package com.john.minhasfinancas.service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.john.minhasfinancas.model.entity.EventoLancamento;
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.entity.TravaAgendamento;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.enums.OperacaoHistorico;
+import com.john.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.john.minhasfinancas.model.repository.TravaAgendamentoRepository;
+import com.john.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.john.minhasfinancas.service.impl.EventoServiceImpl;
+import com.john.minhasfinancas.service.impl.TravaServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest(properties = "eventos.intervalo=3600000")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import({ EventoServiceImpl.class, TravaServiceImpl.class })
+public class EventoServiceTest {
+
+	@Autowired
+	EventoService service;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Autowired
+	TravaAgendamentoRepository travaRepository;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@MockBean
+	AssinanteEventos assinante;
+
+	@Test
+	public void devePublicarEmLotesNaOrdemESomenteUmaVez() {
+		// cenario
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento lancamento = persistirLancamento(usuario);
+		service.registrar(OperacaoHistorico.CRIACAO, lancamento, null, null);
+		service.registrar(OperacaoHistorico.ALTERACAO, lancamento, 2019, 12);
+
+		// acao
+		int publicados = service.publicarPendentes();
+		int publicadosNovamente = service.publicarPendentes();
+
+		// verificacao
+		Assertions.assertEquals(2, publicados);
+		Assertions.assertEquals(0, publicadosNovamente);
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<EventoLancamento>> lote = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(assinante).receber(lote.capture());
+		Assertions.assertEquals(OperacaoHistorico.CRIACAO, lote.getValue().get(0).getOperacao());
+		Assertions.assertEquals(12, lote.getValue().get(1).getMesAnterior());
+	}
+
+	@Test
+	public void deveRegistrarOsEventosDeUmLoteDeLancamentosDoUsuario() {
+		// cenario
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		List<Lancamento> lancamentos = Arrays.asList(persistirLancamento(usuario),
+				persistirLancamento(usuario));
+
+		// acao
+		service.registrar(OperacaoHistorico.EXCLUSAO, lancamentos, usuario.getId());
+		int publicados = service.publicarPendentes();
+
+		// verificacao
+		Assertions.assertEquals(2, publicados);
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<EventoLancamento>> lote = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(assinante).receber(lote.capture());
+		Assertions.assertTrue(lote.getValue().stream()
+				.allMatch(evento -> evento.getOperacao() == OperacaoHistorico.EXCLUSAO
+						&& evento.getIdUsuario().equals(usuario.getId())));
+	}
+
+	@Test
+	public void deveIsolarOUsuarioComFalhaERepetirApenasOsEventosDele() {
+		// cenario
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Usuario outroUsuario = UsuarioRepositoryTest.criarUsuario();
+		outroUsuario.setEmail("outro@email.com");
+		entityManager.persist(outroUsuario);
+		service.registrar(OperacaoHistorico.CRIACAO, persistirLancamento(usuario), null, null);
+		service.registrar(OperacaoHistorico.CRIACAO, persistirLancamento(outroUsuario), null, null);
+
+		Mockito.doAnswer(invocacao -> {
+			List<EventoLancamento> eventos = invocacao.getArgument(0);
+			if (eventos.stream().anyMatch(evento -> evento.getIdUsuario().equals(usuario.getId()))) {
+				throw new IllegalStateException("falha do assinante");
+			}
+			return null;
+		}).when(assinante).receber(Mockito.anyList());
+
+		// acao
+		int publicados = service.publicarPendentes();
+
+		// verificacao
+		Assertions.assertEquals(1, publicados);
+		List<EventoLancamento> pendentes = entityManager.getEntityManager()
+				.createQuery("select e from EventoLancamento e where e.publicado = false", EventoLancamento.class)
+				.getResultList();
+		entityManager.clear();
+		Assertions.assertEquals(1, pendentes.size());
+		Assertions.assertEquals(usuario.getId(), pendentes.get(0).getIdUsuario());
+		Assertions.assertEquals(1, entityManager.find(EventoLancamento.class, pendentes.get(0).getId())
+				.getTentativas());
+
+		Mockito.reset(assinante);
+		Assertions.assertEquals(1, service.publicarPendentes());
+		Assertions.assertEquals(0, entityManager.getEntityManager()
+				.createQuery("select e from EventoLancamento e where e.publicado = false", EventoLancamento.class)
+				.getResultList().size());
+	}
+
+	@Test
+	public void naoDevePublicarEnquantoOutraInstanciaDetiverATrava() {
+		// cenario
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		service.registrar(OperacaoHistorico.CRIACAO, persistirLancamento(usuario), null, null);
+		TransactionTemplate outraInstancia = new TransactionTemplate(transactionManager);
+		outraInstancia.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		outraInstancia.execute(status -> travaRepository.save(TravaAgendamento.builder().nome("eventos")
+				.dono("outra-instancia").bloqueadoAte(LocalDateTime.now().plusMinutes(1)).build()));
+
+		try {
+			// acao
+			int publicados = service.publicarPendentes();
+
+			// verificacao
+			Assertions.assertEquals(0, publicados);
+			Mockito.verify(assinante, Mockito.never()).receber(Mockito.anyList());
+		} finally {
+			outraInstancia.execute(status -> {
+				travaRepository.deleteById("eventos");
+				return null;
+			});
+		}
+	}
+
+	private Lancamento persistirLancamento(Usuario usuario) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setUsuario(usuario);
+		return entityManager.persist(lancamento);
+	}
+
+}
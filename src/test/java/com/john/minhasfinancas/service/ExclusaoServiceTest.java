@@ -0,0 +1,143 @@
+package com.john.minhasfinancas.service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.john.minhasfinancas.exception.RegraNegocioException;
+import com.john.minhasfinancas.model.entity.Fechamento;
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.enums.OperacaoHistorico;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.john.minhasfinancas.model.repository.UsuarioRepository;
+import com.john.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.john.minhasfinancas.service.ProgressoExclusao.Situacao;
+import com.john.minhasfinancas.service.impl.ExclusaoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest(properties = "exclusao.lote=2")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(ExclusaoServiceImpl.class)
+public class ExclusaoServiceTest {
+
+	@Autowired
+	ExclusaoService service;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@MockBean
+	FechamentoService fechamentoService;
+
+	@MockBean
+	HistoricoService historicoService;
+
+	@MockBean
+	DescricaoService descricaoService;
+
+	@MockBean
+	PrevisaoService previsaoService;
+
+	@MockBean
+	GrupoService grupoService;
+
+	@MockBean
+	EventoService eventoService;
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void deveExcluirEmLotesRespeitandoOFiltroEOsPeriodosFechados() throws InterruptedException {
+		// cenario
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		usuario.setEmail("exclusao@email.com");
+		usuario = usuarioRepository.save(usuario);
+		List<Lancamento> lancamentos = new ArrayList<>();
+		try {
+			lancamentos.add(salvar(usuario, YearMonth.of(2019, 12), StatusLancamento.PENDENTE));
+			for (int mes = 1; mes <= 5; mes++) {
+				lancamentos.add(salvar(usuario, YearMonth.of(2020, mes), StatusLancamento.PENDENTE));
+			}
+			lancamentos.add(salvar(usuario, YearMonth.of(2020, 6), StatusLancamento.EFETIVADO));
+			lancamentos.add(salvar(usuario, YearMonth.of(2022, 1), StatusLancamento.PENDENTE));
+
+			Mockito.when(fechamentoService.obterUltimoFechamento(usuario.getId()))
+					.thenReturn(Optional.of(Fechamento.builder().ano(2019).mes(12).build()));
+
+			// acao
+			ProgressoExclusao progresso = service.iniciar(usuario.getId(), 2019, 2021, StatusLancamento.PENDENTE);
+			for (int tentativa = 0; tentativa < 100 && progresso.getSituacao() == Situacao.EM_ANDAMENTO; tentativa++) {
+				Thread.sleep(50);
+				progresso = service.obterProgresso(usuario.getId(), progresso.getId()).get();
+			}
+
+			// verificacao
+			Assertions.assertEquals(Situacao.CONCLUIDA, progresso.getSituacao());
+			Assertions.assertEquals(5, progresso.getTotal());
+			Assertions.assertEquals(5, progresso.getExcluidos());
+			Assertions.assertEquals(3, progresso.getLotes());
+			Assertions.assertEquals(1, progresso.getIgnorados());
+			Assertions.assertEquals(3, lancamentoRepository.findAllById(ids(lancamentos)).size());
+			Assertions.assertFalse(service.obterProgresso(usuario.getId() + 1, progresso.getId()).isPresent());
+			Mockito.verify(historicoService, Mockito.times(5)).registrar(
+					ArgumentMatchers.eq(OperacaoHistorico.EXCLUSAO), ArgumentMatchers.isNull(), ArgumentMatchers.any());
+			Mockito.verify(eventoService, Mockito.times(3)).registrar(ArgumentMatchers.eq(OperacaoHistorico.EXCLUSAO),
+					ArgumentMatchers.anyCollection(), ArgumentMatchers.eq(usuario.getId()));
+			Mockito.verify(previsaoService, Mockito.times(3)).invalidar(usuario.getId());
+		} finally {
+			jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+			usuarioRepository.delete(usuario);
+		}
+	}
+
+	@Test
+	public void naoDeveIniciarUmaExclusaoComPeriodoInvalido() {
+		// acao e verificacao
+		Assertions.assertThrows(RegraNegocioException.class, () -> service.iniciar(1l, 2021, 2020, null));
+	}
+
+	private Lancamento salvar(Usuario usuario, YearMonth periodo, StatusLancamento status) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setAno(periodo.getYear());
+		lancamento.setMes(periodo.getMonthValue());
+		lancamento.setTipo(TipoLancamento.DESPESA);
+		lancamento.setStatus(status);
+		return lancamentoRepository.save(lancamento);
+	}
+
+	private static List<Long> ids(List<Lancamento> lancamentos) {
+		List<Long> ids = new ArrayList<>();
+		lancamentos.forEach(lancamento -> ids.add(lancamento.getId()));
+		return ids;
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.john.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.john.minhasfinancas.exception.RegraNegocioException;
+import com.john.minhasfinancas.model.entity.Fechamento;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.FechamentoRepository;
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.model.repository.UsuarioRepository;
+import com.john.minhasfinancas.service.impl.FechamentoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class FechamentoServiceTest {
+
+	@SpyBean
+	FechamentoServiceImpl service;
+
+	@MockBean
+	FechamentoRepository repository;
+
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+
+	@MockBean
+	UsuarioRepository usuarioRepository;
+
+	@Test
+	public void deveFecharUmPeriodoSomandoOSaldoDoFechamentoAnterior() {
+		// cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Fechamento anterior = Fechamento.builder().usuario(usuario).ano(2019).mes(12).saldo(BigDecimal.valueOf(100))
+				.build();
+		Mockito.when(repository.findFirstByUsuarioIdOrderByAnoDescMesDesc(1l)).thenReturn(Optional.of(anterior));
+		Mockito.when(lancamentoRepository.obterSaldoPorTipoLancamentoEUsuarioEStatusEntrePeriodos(1l,
+				TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 2019, 12, 2020, 6)).thenReturn(BigDecimal.valueOf(80));
+		Mockito.when(lancamentoRepository.obterSaldoPorTipoLancamentoEUsuarioEStatusEntrePeriodos(1l,
+				TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 2019, 12, 2020, 6)).thenReturn(BigDecimal.valueOf(30));
+		Mockito.when(repository.save(Mockito.any(Fechamento.class))).thenAnswer(i -> i.getArgument(0));
+
+		// acao
+		Fechamento fechamento = service.fechar(usuario, 2020, 6);
+
+		// verificacao
+		Assertions.assertEquals(BigDecimal.valueOf(150), fechamento.getSaldo());
+		Assertions.assertEquals(2020, fechamento.getAno());
+		Assertions.assertEquals(6, fechamento.getMes());
+
+		InOrder ordem = Mockito.inOrder(usuarioRepository, repository);
+		ordem.verify(usuarioRepository).bloquear(Collections.singleton(1l));
+		ordem.verify(repository).findFirstByUsuarioIdOrderByAnoDescMesDesc(1l);
+	}
+
+	@Test
+	public void naoDeveFecharUmPeriodoJaFechado() {
+		// cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Fechamento anterior = Fechamento.builder().usuario(usuario).ano(2020).mes(6).saldo(BigDecimal.TEN).build();
+		Mockito.when(repository.findFirstByUsuarioIdOrderByAnoDescMesDesc(1l)).thenReturn(Optional.of(anterior));
+
+		// acao e verificacao
+		Assertions.assertThrows(RegraNegocioException.class, () -> service.fechar(usuario, 2020, 3));
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any(Fechamento.class));
+	}
+
+	@Test
+	public void deveIndicarQueUmPeriodoEstaFechado() {
+		// cenario
+		Fechamento anterior = Fechamento.builder().ano(2020).mes(6).build();
+		Mockito.when(repository.findFirstByUsuarioIdOrderByAnoDescMesDesc(1l)).thenReturn(Optional.of(anterior));
+
+		// acao e verificacao
+		Assertions.assertTrue(service.periodoFechado(1l, 2020, 6));
+		Assertions.assertTrue(service.periodoFechado(1l, 2019, 12));
+		Assertions.assertFalse(service.periodoFechado(1l, 2020, 7));
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.john.minhasfinancas.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.john.minhasfinancas.service.impl.FilaCircular;
+
+public class FilaCircularTest {
+
+	@Test
+	public void deveEntregarNaOrdemERecusarQuandoCheia() {
+		// cenario
+		FilaCircular<Integer> fila = new FilaCircular<>(4);
+		for (int i = 0; i < 4; i++) {
+			Assertions.assertTrue(fila.oferecer(i));
+		}
+
+		// acao e verificacao
+		Assertions.assertFalse(fila.oferecer(4));
+
+		List<Integer> drenados = new ArrayList<>();
+		Assertions.assertEquals(3, fila.drenar(drenados, 3));
+		Assertions.assertTrue(fila.oferecer(5));
+		Assertions.assertEquals(2, fila.drenar(drenados, 10));
+		Assertions.assertEquals(java.util.Arrays.asList(0, 1, 2, 3, 5), drenados);
+		Assertions.assertEquals(0, fila.tamanho());
+	}
+
+	@Test
+	public void deveEntregarCadaElementoUmaVezComVariosProdutores() throws InterruptedException {
+		// cenario
+		FilaCircular<Integer> fila = new FilaCircular<>(64);
+		int produtores = 4;
+		int porProdutor = 50_000;
+		ExecutorService executor = Executors.newFixedThreadPool(produtores);
+		CountDownLatch inicio = new CountDownLatch(1);
+
+		// acao
+		for (int p = 0; p < produtores; p++) {
+			int base = p * porProdutor;
+			executor.execute(() -> {
+				try {
+					inicio.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < porProdutor; i++) {
+					while (!fila.oferecer(base + i)) {
+						Thread.yield();
+					}
+				}
+			});
+		}
+		inicio.countDown();
+
+		Set<Integer> recebidos = new HashSet<>();
+		List<Integer> lote = new ArrayList<>();
+		long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (recebidos.size() < produtores * porProdutor && System.nanoTime() < limite) {
+			lote.clear();
+			fila.drenar(lote, 16);
+			for (Integer elemento : lote) {
+				Assertions.assertTrue(recebidos.add(elemento));
+			}
+		}
+		executor.shutdown();
+
+		// verificacao
+		Assertions.assertEquals(produtores * porProdutor, recebidos.size());
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.john.minhasfinancas.service;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.john.minhasfinancas.model.repository.UsuarioRepository;
+import com.john.minhasfinancas.service.impl.FiltroEmails;
+
+public class FiltroEmailsTest {
+
+	UsuarioRepository repository = Mockito.mock(UsuarioRepository.class);
+
+	FiltroEmails filtro = new FiltroEmails(repository, 1000, 0.01);
+
+	@Test
+	public void deveConsiderarQueTodoEmailPodeExistirAntesDoAquecimento() {
+		// acao e verificacao
+		Assertions.assertTrue(filtro.podeExistir("email@email.com"));
+	}
+
+	@Test
+	public void deveReconhecerOsEmailsCarregadosNoAquecimento() {
+		// cenario
+		Mockito.when(repository.streamAllEmails()).thenReturn(Stream.of("usuario@email.com", "outro@email.com"));
+
+		// acao
+		filtro.aquecer();
+
+		// verificacao
+		Assertions.assertTrue(filtro.podeExistir("usuario@email.com"));
+		Assertions.assertTrue(filtro.podeExistir("outro@email.com"));
+		Assertions.assertFalse(filtro.podeExistir("novo@email.com"));
+	}
+
+	@Test
+	public void deveManterATaxaDeFalsosPositivosProximaDaConfigurada() {
+		// cenario
+		Mockito.when(repository.streamAllEmails()).thenReturn(Stream.empty());
+		filtro.aquecer();
+		for (int i = 0; i < 1000; i++) {
+			filtro.adicionar("usuario" + i + "@email.com");
+		}
+
+		// acao
+		int falsosPositivos = 0;
+		for (int i = 0; i < 10000; i++) {
+			if (filtro.podeExistir("novo" + i + "@email.com")) {
+				falsosPositivos++;
+			}
+		}
+
+		// verificacao
+		Assertions.assertTrue(falsosPositivos < 300, "falsos positivos: " + falsosPositivos);
+	}
+
+}
@@ -0,0 +1,213 @@
+package com.john.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.john.minhasfinancas.model.entity.Fechamento;
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.entity.Recorrencia;
+import com.john.minhasfinancas.model.entity.TravaAgendamento;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.enums.OperacaoHistorico;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.TravaAgendamentoRepository;
+import com.john.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.john.minhasfinancas.service.impl.GeradorRecorrencias;
+import com.john.minhasfinancas.service.impl.TravaServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import({ GeradorRecorrencias.class, TravaServiceImpl.class })
+public class GeradorRecorrenciasTest {
+
+	@Autowired
+	GeradorRecorrencias gerador;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	TravaAgendamentoRepository travaRepository;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@MockBean
+	DescricaoService descricaoService;
+
+	@MockBean
+	PrevisaoService previsaoService;
+
+	@MockBean
+	GrupoService grupoService;
+
+	@MockBean
+	EventoService eventoService;
+
+	@Test
+	public void deveGerarAsParcelasUmaUnicaVez() {
+		// cenario
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Recorrencia recorrencia = persistirRecorrencia(usuario, YearMonth.now(), 3);
+
+		// acao
+		int geradas = gerador.gerar(Collections.singleton(usuario.getId()));
+		int geradasNovamente = gerador.gerar(Collections.singleton(usuario.getId()));
+
+		// verificacao
+		Assertions.assertEquals(2, geradas);
+		Assertions.assertEquals(0, geradasNovamente);
+
+		List<Lancamento> parcelas = obterParcelas(recorrencia);
+		Assertions.assertEquals(2, parcelas.size());
+		Assertions.assertEquals(2, parcelas.get(0).getParcela());
+		Assertions.assertEquals(YearMonth.now().plusMonths(2).getMonthValue(), parcelas.get(1).getMes());
+
+		entityManager.refresh(recorrencia);
+		Assertions.assertEquals(3, recorrencia.getUltimaParcela());
+		Assertions.assertFalse(recorrencia.getAtiva());
+	}
+
+	@Test
+	public void deveRegistrarNoOutboxApenasAsParcelasInseridas() {
+		// cenario
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Recorrencia recorrencia = persistirRecorrencia(usuario, YearMonth.now(), 3);
+		jdbcTemplate.update("insert into financas.lancamento (descricao, mes, ano, id_usuario, valor, data_cadastro, tipo, "
+				+ "status, id_recorrencia, parcela) values ('aluguel', 1, 2000, ?, 1000, current_date, 'DESPESA', "
+				+ "'PENDENTE', ?, 2)", usuario.getId(), recorrencia.getId());
+
+		// acao
+		gerador.gerar(Collections.singleton(usuario.getId()));
+
+		// verificacao
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Lancamento>> lancamentos = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(eventoService).registrar(Mockito.eq(OperacaoHistorico.CRIACAO), lancamentos.capture(),
+				Mockito.eq(usuario.getId()));
+		Assertions.assertEquals(1, lancamentos.getValue().size());
+		Lancamento terceira = obterParcelas(recorrencia).get(1);
+		Assertions.assertEquals(terceira.getId(), lancamentos.getValue().get(0).getId());
+		Assertions.assertEquals(terceira.getMes(), lancamentos.getValue().get(0).getMes());
+	}
+
+	@Test
+	public void deveGerarAteOHorizonteEPularPeriodosFechados() {
+		// cenario
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		YearMonth inicio = YearMonth.now().minusMonths(3);
+		Recorrencia recorrencia = persistirRecorrencia(usuario, inicio, null);
+
+		YearMonth fechado = YearMonth.now().minusMonths(1);
+		entityManager.persist(Fechamento.builder().usuario(usuario).ano(fechado.getYear())
+				.mes(fechado.getMonthValue()).saldo(BigDecimal.ZERO).dataFechamento(LocalDate.now()).build());
+
+		// acao
+		int geradas = gerador.gerar(Collections.singleton(usuario.getId()));
+
+		// verificacao
+		Assertions.assertEquals(13, geradas);
+		Assertions.assertEquals(4, obterParcelas(recorrencia).get(0).getParcela());
+
+		entityManager.refresh(recorrencia);
+		Assertions.assertEquals(16, recorrencia.getUltimaParcela());
+		Assertions.assertTrue(recorrencia.getAtiva());
+	}
+
+	@Test
+	public void naoDeveReativarUmaRecorrenciaEncerradaDuranteAGeracao() {
+		// cenario
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Recorrencia recorrencia = persistirRecorrencia(usuario, YearMonth.now(), null);
+		Mockito.doAnswer(invocacao -> jdbcTemplate.update(
+				"update financas.recorrencia set ativa = false where id = ?", recorrencia.getId()))
+				.when(descricaoService).invalidar(Mockito.anyCollection());
+
+		// acao
+		gerador.gerar(Collections.singleton(usuario.getId()));
+
+		// verificacao
+		entityManager.refresh(recorrencia);
+		Assertions.assertFalse(recorrencia.getAtiva());
+		Assertions.assertEquals(1, recorrencia.getUltimaParcela());
+	}
+
+	@Test
+	public void naoDeveGerarEnquantoOutraInstanciaDetiverATrava() {
+		// cenario
+		LocalDateTime bloqueadoAte = LocalDateTime.now().plusMinutes(1);
+		TransactionTemplate outraInstancia = new TransactionTemplate(transactionManager);
+		outraInstancia.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		outraInstancia.execute(status -> travaRepository.save(TravaAgendamento.builder().nome("recorrencias")
+				.dono("outra-instancia").bloqueadoAte(bloqueadoAte).build()));
+
+		try {
+			// acao
+			int geradas = gerador.gerarPendentes();
+
+			// verificacao
+			Assertions.assertEquals(0, geradas);
+			TravaAgendamento trava = outraInstancia.execute(status -> travaRepository.findById("recorrencias").get());
+			Assertions.assertEquals("outra-instancia", trava.getDono());
+			Assertions.assertFalse(trava.getBloqueadoAte().isBefore(bloqueadoAte.withNano(0)));
+		} finally {
+			outraInstancia.execute(status -> {
+				travaRepository.deleteById("recorrencias");
+				return null;
+			});
+		}
+	}
+
+	private Recorrencia persistirRecorrencia(Usuario usuario, YearMonth inicio, Integer parcelas) {
+		Recorrencia recorrencia = entityManager.persist(Recorrencia.builder()
+				.usuario(usuario)
+				.descricao("aluguel")
+				.valor(BigDecimal.valueOf(1000))
+				.tipo(TipoLancamento.DESPESA)
+				.anoInicial(inicio.getYear())
+				.mesInicial(inicio.getMonthValue())
+				.quantidadeParcelas(parcelas)
+				.ultimaParcela(1)
+				.ativa(true)
+				.build());
+		entityManager.flush();
+		return recorrencia;
+	}
+
+	private List<Lancamento> obterParcelas(Recorrencia recorrencia) {
+		return entityManager.getEntityManager()
+				.createQuery("select l from Lancamento l where l.recorrencia = :recorrencia order by l.parcela",
+						Lancamento.class)
+				.setParameter("recorrencia", recorrencia)
+				.getResultList();
+	}
+
+}
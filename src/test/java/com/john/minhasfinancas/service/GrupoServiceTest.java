@@ -0,0 +1,200 @@
+package com.john.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.john.minhasfinancas.exception.RegraNegocioException;
+import com.john.minhasfinancas.model.entity.Fechamento;
+import com.john.minhasfinancas.model.entity.Grupo;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.GrupoRepository;
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.model.repository.UsuarioRepository;
+import com.john.minhasfinancas.service.impl.GrupoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class GrupoServiceTest {
+
+	@SpyBean
+	GrupoServiceImpl service;
+
+	@MockBean
+	GrupoRepository repository;
+
+	@MockBean
+	UsuarioRepository usuarioRepository;
+
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+
+	@MockBean
+	FechamentoService fechamentoService;
+
+	@Test
+	public void deveSomarOSaldoDosMembrosEAgruparOsTotaisDoMes() {
+		// cenario
+		Grupo grupo = criarGrupo(10l, 1l, 2l);
+		YearMonth atual = YearMonth.now();
+
+		Mockito.when(fechamentoService.obterUltimoFechamento(1l)).thenReturn(Optional.empty());
+		Mockito.when(fechamentoService.calcularSaldoEntrePeriodos(1l, 0, 0, 9999, 12)).thenReturn(BigDecimal.valueOf(100));
+		Mockito.when(fechamentoService.obterUltimoFechamento(2l)).thenReturn(Optional.of(
+				Fechamento.builder().ano(2020).mes(3).saldo(BigDecimal.valueOf(50)).build()));
+		Mockito.when(fechamentoService.calcularSaldoEntrePeriodos(2l, 2020, 3, 9999, 12)).thenReturn(BigDecimal.valueOf(25));
+
+		List<Object[]> totais = new ArrayList<>();
+		totais.add(new Object[] { TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 2l, BigDecimal.valueOf(300) });
+		Mockito.when(lancamentoRepository.obterTotaisPorTipoEStatusDosUsuarios(ArgumentMatchers.anyCollection(),
+				ArgumentMatchers.eq(atual.getYear()), ArgumentMatchers.eq(atual.getMonthValue()))).thenReturn(totais);
+
+		// acao
+		RelatorioGrupo relatorio = service.obterRelatorio(grupo);
+
+		// verificacao
+		Assertions.assertEquals(BigDecimal.valueOf(175), relatorio.getSaldo());
+		Assertions.assertEquals(2, relatorio.getMembros().size());
+		Assertions.assertEquals(BigDecimal.valueOf(100), relatorio.getMembros().get(0).getSaldo());
+		Assertions.assertEquals(BigDecimal.valueOf(75), relatorio.getMembros().get(1).getSaldo());
+		Assertions.assertEquals(1, relatorio.getTotaisDoMes().size());
+		Assertions.assertEquals(BigDecimal.valueOf(300), relatorio.getTotaisDoMes().get(0).getValor());
+		Mockito.verify(lancamentoRepository, Mockito.times(1)).obterTotaisPorTipoEStatusDosUsuarios(
+				ArgumentMatchers.<Collection<Long>>argThat(ids -> ids.containsAll(Arrays.asList(1l, 2l))),
+				ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
+	}
+
+	@Test
+	public void deveReutilizarORelatorioAteQueUmMembroAltereSeusLancamentos() {
+		// cenario
+		Grupo grupo = criarGrupo(20l, 3l, 4l);
+		Mockito.when(fechamentoService.obterUltimoFechamento(ArgumentMatchers.anyLong())).thenReturn(Optional.empty());
+		Mockito.when(fechamentoService.calcularSaldoEntrePeriodos(ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt(),
+				ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt()))
+				.thenReturn(BigDecimal.TEN);
+
+		// acao
+		RelatorioGrupo primeiro = service.obterRelatorio(grupo);
+		RelatorioGrupo emCache = service.obterRelatorio(grupo);
+		service.invalidarMembro(4l);
+		RelatorioGrupo recalculado = service.obterRelatorio(grupo);
+
+		// verificacao
+		Assertions.assertSame(primeiro, emCache);
+		Assertions.assertNotSame(primeiro, recalculado);
+		Mockito.verify(fechamentoService, Mockito.times(2)).obterUltimoFechamento(3l);
+	}
+
+	@Test
+	public void naoDeveConvidarQuandoOSolicitanteNaoForOResponsavel() {
+		// cenario
+		Grupo grupo = criarGrupo(30l, 5l, 6l);
+		Usuario membro = Usuario.builder().id(6l).build();
+
+		// acao
+		Assertions.assertThrows(RegraNegocioException.class,
+				() -> service.convidar(grupo, membro, "outro@email.com"));
+
+		// verificacao
+		Mockito.verify(repository, Mockito.never()).saveAndFlush(ArgumentMatchers.any(Grupo.class));
+	}
+
+	@Test
+	public void naoDeveGuardarORelatorioQuandoUmMembroMudarDuranteOCalculo() {
+		// cenario
+		Grupo grupo = criarGrupo(40l, 7l, 8l);
+		Mockito.when(fechamentoService.obterUltimoFechamento(7l)).thenReturn(Optional.empty());
+		Mockito.when(fechamentoService.obterUltimoFechamento(8l)).thenAnswer(invocacao -> {
+			service.invalidarMembro(8l);
+			return Optional.empty();
+		}).thenReturn(Optional.empty());
+		Mockito.when(fechamentoService.calcularSaldoEntrePeriodos(ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt(),
+				ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt()))
+				.thenReturn(BigDecimal.TEN);
+
+		// acao
+		RelatorioGrupo durante = service.obterRelatorio(grupo);
+		RelatorioGrupo depois = service.obterRelatorio(grupo);
+		RelatorioGrupo emCache = service.obterRelatorio(grupo);
+
+		// verificacao
+		Assertions.assertNotSame(durante, depois);
+		Assertions.assertSame(depois, emCache);
+		Mockito.verify(fechamentoService, Mockito.times(2)).obterUltimoFechamento(7l);
+	}
+
+	@Test
+	public void deveRecusarAAlteracaoQuandoOGrupoForAlteradoAoMesmoTempo() {
+		// cenario
+		Grupo grupo = criarGrupo(50l, 9l, 10l);
+		Usuario novoMembro = Usuario.builder().id(11l).build();
+		Mockito.when(usuarioRepository.findByEmail("novo@email.com")).thenReturn(Optional.of(novoMembro));
+		Mockito.when(repository.saveAndFlush(grupo)).thenThrow(new ObjectOptimisticLockingFailureException(Grupo.class, 50l));
+
+		// acao
+		RegraNegocioException erro = Assertions.assertThrows(RegraNegocioException.class,
+				() -> service.convidar(grupo, grupo.getResponsavel(), "novo@email.com"));
+
+		// verificacao
+		Assertions.assertTrue(erro.getMessage().contains("alterado"));
+	}
+
+	@Test
+	public void deveIncluirOConvidadoNosMembrosApenasDepoisDoAceite() {
+		// cenario
+		Grupo grupo = criarGrupo(60l, 12l, 13l);
+		Usuario convidado = Usuario.builder().id(14l).build();
+		Mockito.when(usuarioRepository.findByEmail("convidado@email.com")).thenReturn(Optional.of(convidado));
+		Mockito.when(repository.saveAndFlush(grupo)).thenReturn(grupo);
+
+		// acao
+		service.convidar(grupo, grupo.getResponsavel(), "convidado@email.com");
+		boolean membroAntesDoAceite = grupo.getMembros().contains(convidado);
+		service.aceitarConvite(grupo, convidado);
+
+		// verificacao
+		Assertions.assertFalse(membroAntesDoAceite);
+		Assertions.assertTrue(grupo.getMembros().contains(convidado));
+		Assertions.assertTrue(grupo.getConvidados().isEmpty());
+	}
+
+	@Test
+	public void naoDeveAceitarSemConvitePendente() {
+		// cenario
+		Grupo grupo = criarGrupo(70l, 15l, 16l);
+		Usuario usuario = Usuario.builder().id(17l).build();
+
+		// acao
+		Assertions.assertThrows(RegraNegocioException.class, () -> service.aceitarConvite(grupo, usuario));
+
+		// verificacao
+		Assertions.assertFalse(grupo.getMembros().contains(usuario));
+		Mockito.verify(repository, Mockito.never()).saveAndFlush(ArgumentMatchers.any(Grupo.class));
+	}
+
+	private static Grupo criarGrupo(Long id, Long idResponsavel, Long idMembro) {
+		Usuario responsavel = Usuario.builder().id(idResponsavel).nome("responsavel").build();
+		Usuario membro = Usuario.builder().id(idMembro).nome("membro").build();
+		return Grupo.builder().id(id).nome("familia").responsavel(responsavel)
+				.membros(new HashSet<>(Arrays.asList(responsavel, membro))).convidados(new HashSet<>()).build();
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.john.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.john.minhasfinancas.model.entity.HistoricoLancamento;
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.enums.OperacaoHistorico;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.john.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.john.minhasfinancas.service.impl.HistoricoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(HistoricoServiceImpl.class)
+public class HistoricoServiceTest {
+
+	@Autowired
+	HistoricoService service;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void deveGravarOHistoricoEmSegundoPlanoNaOrdemDosEventos() throws InterruptedException {
+		// cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setId(900001l);
+		lancamento.setUsuario(Usuario.builder().id(7l).build());
+		Map<String, Object> anterior = Collections.singletonMap("status", "PENDENTE");
+
+		// acao
+		service.registrar(OperacaoHistorico.CRIACAO, null, lancamento);
+		lancamento.setStatus(StatusLancamento.EFETIVADO);
+		service.registrar(OperacaoHistorico.ALTERACAO, anterior, lancamento);
+		service.registrar(OperacaoHistorico.EXCLUSAO, null, lancamento);
+
+		// verificacao
+		List<HistoricoLancamento> historico = Collections.emptyList();
+		for (int tentativa = 0; tentativa < 100 && historico.size() < 3; tentativa++) {
+			Thread.sleep(50);
+			historico = service.obterHistorico(900001l, 7l);
+		}
+		Assertions.assertEquals(3, historico.size());
+		Assertions.assertEquals(OperacaoHistorico.CRIACAO, historico.get(0).getOperacao());
+		Assertions.assertNull(historico.get(0).getAnterior());
+		Assertions.assertEquals("{\"status\":\"PENDENTE\"}", historico.get(1).getAnterior());
+		Assertions.assertTrue(historico.get(1).getAtual().contains("\"status\":\"EFETIVADO\""));
+		Assertions.assertNull(historico.get(2).getAtual());
+		Assertions.assertTrue(service.obterHistorico(900001l, 8l).isEmpty());
+	}
+
+	@Test
+	public void deveCapturarOEstadoGravadoDoLancamento() {
+		// cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setUsuario(entityManager.persist(UsuarioRepositoryTest.criarUsuario()));
+		entityManager.persist(lancamento);
+		entityManager.flush();
+
+		// acao
+		Map<String, Object> foto = service.capturar(lancamento.getId());
+
+		// verificacao
+		Assertions.assertEquals("lancamento qualquer", foto.get("descricao"));
+		Assertions.assertEquals(new BigDecimal("10.00"), foto.get("valor"));
+		Assertions.assertEquals("PENDENTE", foto.get("status"));
+		Assertions.assertNull(service.capturar(-1l));
+	}
+
+}
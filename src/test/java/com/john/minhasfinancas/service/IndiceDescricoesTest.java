@@ -0,0 +1,75 @@
+package com.john.minhasfinancas.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.john.minhasfinancas.service.impl.DescricaoServiceImpl;
+import com.john.minhasfinancas.service.impl.IndiceDescricoes;
+
+public class IndiceDescricoesTest {
+
+	@Test
+	public void deveBuscarPorPrefixoDosTermosIgnorandoAcentosEMaiusculas() {
+		// cenario
+		IndiceDescricoes indice = new IndiceDescricoes();
+		indice.adicionar(1l, "Conta de Água");
+		indice.adicionar(2l, "Conta de luz");
+		indice.adicionar(3l, "Mercado do mês");
+
+		// acao e verificacao
+		Assertions.assertEquals(new HashSet<>(Arrays.asList(1l, 2l)), indice.buscar("conta"));
+		Assertions.assertEquals(Collections.singleton(1l), indice.buscar("CONTA agua"));
+		Assertions.assertEquals(Collections.singleton(3l), indice.buscar("merc"));
+		Assertions.assertTrue(indice.buscar("aluguel").isEmpty());
+	}
+
+	@Test
+	public void deveEncontrarDescricoesAcentuadasComOuSemAcento() {
+		// cenario
+		IndiceDescricoes indice = new IndiceDescricoes();
+		indice.adicionar(1l, "Salário de março");
+
+		// acao e verificacao
+		Assertions.assertEquals(Collections.singleton(1l), indice.buscar("salário"));
+		Assertions.assertEquals(Collections.singleton(1l), indice.buscar("salario marco"));
+		Assertions.assertEquals("salario:* & marco:*", DescricaoServiceImpl.consultaTextual("Salário Março"));
+	}
+
+	@Test
+	public void deveAtualizarOIndiceAoAlterarERemoverDescricoes() {
+		// cenario
+		IndiceDescricoes indice = new IndiceDescricoes();
+		indice.adicionar(1l, "Mercado");
+
+		// acao
+		indice.adicionar(1l, "Farmácia");
+
+		// verificacao
+		Assertions.assertTrue(indice.buscar("mercado").isEmpty());
+		Assertions.assertEquals(Collections.singleton(1l), indice.buscar("farmacia"));
+		Assertions.assertTrue(indice.sugerir("mer", 10).isEmpty());
+
+		indice.remover(1l);
+		Assertions.assertTrue(indice.buscar("farmacia").isEmpty());
+		Assertions.assertTrue(indice.sugerir("far", 10).isEmpty());
+	}
+
+	@Test
+	public void deveSugerirAsDescricoesMaisUsadasPrimeiro() {
+		// cenario
+		IndiceDescricoes indice = new IndiceDescricoes();
+		indice.adicionar(1l, "Mercado bairro");
+		indice.adicionar(2l, "Mercado central");
+		indice.adicionar(3l, "Mercado central");
+		indice.adicionar(4l, "Salário");
+
+		// acao e verificacao
+		Assertions.assertEquals(Arrays.asList("Mercado central", "Mercado bairro"), indice.sugerir("merc", 10));
+		Assertions.assertEquals(Arrays.asList("Mercado central"), indice.sugerir("mercado", 1));
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.john.minhasfinancas.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.john.minhasfinancas.exception.ErroAutenticacao;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.service.impl.JwtServiceImpl;
+
+public class JwtServiceTest {
+
+	JwtService service = new JwtServiceImpl("chave-de-teste", 30);
+
+	@Test
+	public void deveObterOUsuarioDeUmTokenGerado() {
+		// cenario
+		Usuario usuario = Usuario.builder().id(1l).nome("usuario").email("usuario@email.com").build();
+		String token = service.gerarToken(usuario);
+
+		// acao
+		Usuario usuarioAutorizado = service.obterUsuarioAutorizado(token);
+
+		// verificacao
+		Assertions.assertEquals(1l, usuarioAutorizado.getId());
+		Assertions.assertEquals("usuario", usuarioAutorizado.getNome());
+		Assertions.assertEquals("usuario@email.com", usuarioAutorizado.getEmail());
+	}
+
+	@Test
+	public void deveLancarErroQuandoOTokenForAlterado() {
+		// cenario
+		Usuario usuario = Usuario.builder().id(1l).nome("usuario").email("usuario@email.com").build();
+		String token = service.gerarToken(usuario);
+		String tokenAlterado = token.substring(0, token.lastIndexOf('.')) + ".assinatura";
+
+		// acao e verificacao
+		Assertions.assertThrows(ErroAutenticacao.class, () -> service.obterUsuarioAutorizado(tokenAlterado));
+		Assertions.assertThrows(ErroAutenticacao.class, () -> service.obterUsuarioAutorizado("token"));
+	}
+
+	@Test
+	public void deveLancarErroQuandoOTokenForAssinadoComOutraChave() {
+		// cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		String token = new JwtServiceImpl("outra-chave", 30).gerarToken(usuario);
+
+		// acao e verificacao
+		Assertions.assertThrows(ErroAutenticacao.class, () -> service.obterUsuarioAutorizado(token));
+	}
+
+	@Test
+	public void deveLancarErroQuandoOTokenEstiverExpirado() {
+		// cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		String token = new JwtServiceImpl("chave-de-teste", -1).gerarToken(usuario);
+
+		// acao e verificacao
+		ErroAutenticacao erro = Assertions.assertThrows(ErroAutenticacao.class,
+				() -> service.obterUsuarioAutorizado(token));
+		Assertions.assertEquals("Token expirado.", erro.getMessage());
+	}
+
+}
@@ -2,24 +2,37 @@ package com.john.minhasfinancas.service;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.assertj.core.util.Arrays;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.john.minhasfinancas.exception.RegraNegocioException;
+import com.john.minhasfinancas.model.entity.Categoria;
+import com.john.minhasfinancas.model.entity.Fechamento;
 import com.john.minhasfinancas.model.entity.Lancamento;
 import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.enums.OperacaoHistorico;
 import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.LancamentoFiltro;
 import com.john.minhasfinancas.model.repository.LancamentoRepository;
 import com.john.minhasfinancas.model.repository.LancamentoRepositoryTest;
 import com.john.minhasfinancas.service.impl.LancamentoServiceImp;
@@ -34,6 +47,27 @@ public class LancamentoServiceTest {
 	@MockBean
 	LancamentoRepository repository;
 
+	@MockBean
+	FechamentoService fechamentoService;
+
+	@MockBean
+	DescricaoService descricaoService;
+
+	@MockBean
+	PrevisaoService previsaoService;
+
+	@MockBean
+	CategoriaService categoriaService;
+
+	@MockBean
+	HistoricoService historicoService;
+
+	@MockBean
+	EventoService eventoService;
+
+	@MockBean
+	GrupoService grupoService;
+
 	@Test
 	public void deveSalvarUmLancamento() {
 		// cenario
@@ -54,6 +88,50 @@ public class LancamentoServiceTest {
 		Assertions.assertEquals(lancamento.getStatus(), StatusLancamento.PENDENTE);
 	}
 
+	@Test
+	public void deveCategorizarPelaDescricaoERegistrarUmEventoAoSalvar() {
+		// cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		Categoria mercado = Categoria.builder().id(5l).nome("Mercado").build();
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(categoriaService.classificar(lancamento.getDescricao(), lancamento.getTipo())).thenReturn(Optional.of(mercado));
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+
+		// acao
+		service.salvar(lancamento);
+
+		// verificacao
+		Assertions.assertEquals(mercado, lancamento.getCategoria());
+		Mockito.verify(eventoService).registrar(OperacaoHistorico.CRIACAO, lancamento, null, null);
+	}
+
+	@Test
+	public void naoDeveSalvarUmLancamentoComCategoriaInexistente() {
+		// cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setCategoria(Categoria.builder().id(99l).build());
+
+		// acao e verificacao
+		Assertions.assertThrows(RegraNegocioException.class, () -> service.salvar(lancamento));
+		Mockito.verify(repository, Mockito.never()).save(lancamento);
+	}
+
+	@Test
+	public void deveInvalidarAPrevisaoDoUsuarioAoSalvarUmLancamento() {
+		// cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+
+		// acao
+		service.salvar(lancamento);
+
+		// verificacao
+		Mockito.verify(previsaoService).invalidar(1l);
+	}
+
 	@Test
 	public void naoDeveSalvarUmLancamentoQuandoHouverUmErroDeValidacao() {
 		// cenario
@@ -65,6 +143,63 @@ public class LancamentoServiceTest {
 		Mockito.verify(repository, Mockito.never()).save(lancamento);
 	}
 
+	@Test
+	public void deveMarcarUmLancamentoPossivelmenteDuplicadoSemRejeitar() {
+		// cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		lancamento.setTipo(TipoLancamento.DESPESA);
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.existsByUsuarioIdAndAssinaturaAndStatusNot(Mockito.eq(1l), Mockito.anyLong(),
+				Mockito.eq(StatusLancamento.CANCELADO))).thenReturn(true);
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+
+		// acao
+		service.salvar(lancamento);
+
+		// verificacao
+		Assertions.assertTrue(lancamento.getPossivelDuplicado());
+		Assertions.assertNotNull(lancamento.getAssinatura());
+		Assertions.assertNotNull(lancamento.getChaveEnvio());
+		Mockito.verify(repository).save(lancamento);
+	}
+
+	@Test
+	public void naoDeveSalvarUmReenvioDentroDaJanela() {
+		// cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		lancamento.setTipo(TipoLancamento.DESPESA);
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.save(lancamento)).thenThrow(new DataIntegrityViolationException("uk_lancamento_usuario_chave_envio"));
+
+		// acao
+		RegraNegocioException erro = Assertions.assertThrows(RegraNegocioException.class, () -> service.salvar(lancamento));
+
+		// verificacao
+		Assertions.assertEquals("Este lançamento acabou de ser enviado.", erro.getMessage());
+		Mockito.verify(eventoService, Mockito.never()).registrar(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void naoDeveMarcarNemBloquearQuandoODuplicadoForPermitido() {
+		// cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		lancamento.setTipo(TipoLancamento.DESPESA);
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+
+		// acao
+		service.salvar(lancamento, true);
+
+		// verificacao
+		Assertions.assertFalse(lancamento.getPossivelDuplicado());
+		Assertions.assertNull(lancamento.getChaveEnvio());
+		Mockito.verify(repository, Mockito.never()).existsByUsuarioIdAndAssinaturaAndStatusNot(Mockito.anyLong(),
+				Mockito.anyLong(), Mockito.any());
+	}
+
 	@Test
 	public void deveAtualizarUmLancamento() {
 		// cenario
@@ -86,6 +221,27 @@ public class LancamentoServiceTest {
 
 	}
 
+	@Test
+	public void deveRegistrarOEstadoAnteriorEOPeriodoAnteriorAoAtualizar() {
+		// cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setId(1l);
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		Map<String, Object> anterior = new HashMap<>();
+		anterior.put("ano", 2019);
+		anterior.put("mes", 12);
+		Mockito.when(historicoService.capturar(1l)).thenReturn(anterior);
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+
+		// acao
+		service.atualizar(lancamento);
+
+		// verificacao
+		Mockito.verify(historicoService).registrar(OperacaoHistorico.ALTERACAO, anterior, lancamento);
+		Mockito.verify(eventoService).registrar(OperacaoHistorico.ALTERACAO, lancamento, 2019, 12);
+	}
+
 	@Test
 	public void deveLancarErroAoTentarAtualizarUmLancamentoQueAindaNaoFoiSalvo() {
 		// cenario
@@ -245,4 +401,133 @@ public class LancamentoServiceTest {
 		
 	}
 
+	@Test
+	public void naoDeveValidarUmLancamentoDeUmPeriodoFechado() {
+		// cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		lancamento.setTipo(TipoLancamento.RECEITA);
+
+		Mockito.when(fechamentoService.periodoFechado(1l, lancamento.getAno(), lancamento.getMes())).thenReturn(true);
+
+		// acao e verificacao
+		Assertions.assertThrows(RegraNegocioException.class, () -> service.validar(lancamento));
+	}
+
+	@Test
+	public void naoDeveDeletarUmLancamentoDeUmPeriodoFechado() {
+		// cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setId(1l);
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+
+		Mockito.when(fechamentoService.periodoFechado(1l, lancamento.getAno(), lancamento.getMes())).thenReturn(true);
+
+		// acao
+		Assertions.assertThrows(RegraNegocioException.class, () -> service.deletar(lancamento));
+
+		// verificacao
+		Mockito.verify(repository, Mockito.never()).delete(lancamento);
+	}
+
+	@Test
+	public void naoDeveMoverUmLancamentoParaForaDeUmPeriodoFechado() {
+		// cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarlancamento();
+		lancamento.setId(1l);
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		Map<String, Object> anterior = new HashMap<>();
+		anterior.put("ano", 2019);
+		anterior.put("mes", 12);
+		Mockito.when(historicoService.capturar(1l)).thenReturn(anterior);
+		Mockito.when(fechamentoService.periodoFechado(1l, 2019, 12)).thenReturn(true);
+		Mockito.doNothing().when(service).validar(lancamento);
+
+		// acao
+		Assertions.assertThrows(RegraNegocioException.class, () -> service.atualizar(lancamento));
+
+		// verificacao
+		Mockito.verify(repository, Mockito.never()).save(lancamento);
+	}
+
+	@Test
+	public void deveSomarOSaldoDoUltimoFechamentoAoSaldoDoPeriodoAberto() {
+		// cenario
+		Fechamento fechamento = Fechamento.builder().ano(2019).mes(12).saldo(BigDecimal.valueOf(100)).build();
+		Mockito.when(fechamentoService.obterUltimoFechamento(1l)).thenReturn(Optional.of(fechamento));
+		Mockito.when(fechamentoService.calcularSaldoEntrePeriodos(1l, 2019, 12, 9999, 12))
+				.thenReturn(BigDecimal.valueOf(50));
+
+		// acao
+		BigDecimal saldo = service.obterSaldoPorUsuario(1l);
+
+		// verificacao
+		Assertions.assertEquals(BigDecimal.valueOf(150), saldo);
+	}
+
+	@Test
+	public void deveFiltrarLancamentosPorEspecificacao() {
+		// cenario
+		LancamentoFiltro filtro = LancamentoFiltro.builder().idUsuario(1l).tipo(TipoLancamento.DESPESA).build();
+		Sort ordenacao = Sort.by(Sort.Direction.DESC, "valor");
+
+		Mockito.when(repository.findAll(Mockito.any(Specification.class), Mockito.eq(ordenacao)))
+				.thenReturn(new ArrayList<Lancamento>());
+
+		// acao
+		List<Lancamento> resultado = service.buscar(filtro, ordenacao);
+
+		// verificacao
+		Assertions.assertNotNull(resultado);
+	}
+
+	@Test
+	public void naoDeveOrdenarPorUmCampoInvalido() {
+		// cenario
+		LancamentoFiltro filtro = LancamentoFiltro.builder().idUsuario(1l).build();
+
+		// acao e verificacao
+		Assertions.assertThrows(RegraNegocioException.class, () -> service.buscar(filtro, Sort.by("usuario.senha")));
+		Mockito.verify(repository, Mockito.never()).findAll(Mockito.any(Specification.class), Mockito.any(Sort.class));
+	}
+
+	@Test
+	public void deveUsarABuscaTextualQuandoInformarADescricao() {
+		// cenario
+		LancamentoFiltro filtro = LancamentoFiltro.builder().idUsuario(1l).descricao("mercado").build();
+		Specification<Lancamento> buscaTextual = (root, query, cb) -> cb.conjunction();
+		Mockito.when(descricaoService.buscarTexto(1l, "mercado")).thenReturn(buscaTextual);
+
+		// acao
+		service.buscar(filtro, Sort.unsorted());
+
+		// verificacao
+		Mockito.verify(descricaoService).buscarTexto(1l, "mercado");
+		Assertions.assertEquals("mercado", filtro.getDescricao());
+	}
+
+	@Test
+	public void deveProjetarOIdJuntoComOsCamposSolicitados() {
+		// cenario
+		LancamentoFiltro filtro = LancamentoFiltro.builder().idUsuario(1l).build();
+
+		// acao
+		service.buscar(filtro, Sort.unsorted(), Collections.singletonList("valor"));
+
+		// verificacao
+		ArgumentCaptor<Collection<String>> campos = ArgumentCaptor.forClass(Collection.class);
+		Mockito.verify(repository).buscarCampos(Mockito.any(Specification.class), Mockito.any(Sort.class),
+				campos.capture());
+		Assertions.assertEquals(java.util.Arrays.asList("id", "valor"), new ArrayList<>(campos.getValue()));
+	}
+
+	@Test
+	public void naoDeveProjetarUmCampoInvalido() {
+		// acao e verificacao
+		Assertions.assertThrows(RegraNegocioException.class,
+				() -> service.obterPorIds(1l, Collections.singletonList(1l), Collections.singletonList("senha")));
+		Mockito.verify(repository, Mockito.never()).buscarCampos(Mockito.any(Specification.class),
+				Mockito.any(Sort.class), Mockito.anyCollection());
+	}
+
 }
@@ -0,0 +1,133 @@
+package com.john.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.john.minhasfinancas.model.entity.Recorrencia;
+import com.john.minhasfinancas.model.enums.StatusLancamento;
+import com.john.minhasfinancas.model.enums.TipoLancamento;
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.model.repository.RecorrenciaRepository;
+import com.john.minhasfinancas.service.impl.PrevisaoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class PrevisaoServiceTest {
+
+	@SpyBean
+	PrevisaoServiceImpl service;
+
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+
+	@MockBean
+	RecorrenciaRepository recorrenciaRepository;
+
+	@MockBean
+	FechamentoService fechamentoService;
+
+	@Test
+	public void deveProjetarOSaldoComPendentesERecorrencias() {
+		// cenario
+		YearMonth atual = YearMonth.now();
+		YearMonth atrasado = atual.minusMonths(2);
+		YearMonth proximo = atual.plusMonths(1);
+
+		List<Object[]> pendentes = new ArrayList<>();
+		pendentes.add(new Object[] { atrasado.getYear(), atrasado.getMonthValue(), TipoLancamento.DESPESA, BigDecimal.valueOf(30) });
+		pendentes.add(new Object[] { proximo.getYear(), proximo.getMonthValue(), TipoLancamento.RECEITA, BigDecimal.valueOf(500) });
+		Mockito.when(lancamentoRepository.obterTotaisPorPeriodoETipo(1l, StatusLancamento.PENDENTE)).thenReturn(pendentes);
+
+		Recorrencia aluguel = Recorrencia.builder().tipo(TipoLancamento.DESPESA).valor(BigDecimal.valueOf(100))
+				.anoInicial(atual.getYear()).mesInicial(atual.getMonthValue()).quantidadeParcelas(3).ultimaParcela(1)
+				.build();
+		Mockito.when(recorrenciaRepository.findByUsuarioIdAndAtivaTrue(1l)).thenReturn(Arrays.asList(aluguel));
+
+		Mockito.when(fechamentoService.obterUltimoFechamento(1l)).thenReturn(Optional.empty());
+		Mockito.when(fechamentoService.calcularSaldoEntrePeriodos(1l, 0, 0, 9999, 12)).thenReturn(BigDecimal.valueOf(1000));
+
+		// acao
+		PrevisaoSaldo previsao = service.prever(1l);
+
+		// verificacao
+		Assertions.assertEquals(24, previsao.getMeses());
+		Assertions.assertEquals(atual, previsao.getPeriodo(0));
+		Assertions.assertEquals(new BigDecimal("970.00"), previsao.getSaldo(0));
+		Assertions.assertEquals(new BigDecimal("1370.00"), previsao.getSaldo(1));
+		Assertions.assertEquals(new BigDecimal("1270.00"), previsao.getSaldo(2));
+		Assertions.assertEquals(new BigDecimal("1270.00"), previsao.getSaldo(23));
+	}
+
+	@Test
+	public void deveReutilizarAPrevisaoAteQueSejaInvalidada() {
+		// cenario
+		Mockito.when(lancamentoRepository.obterTotaisPorPeriodoETipo(2l, StatusLancamento.PENDENTE))
+				.thenReturn(Collections.emptyList());
+		Mockito.when(fechamentoService.obterUltimoFechamento(2l)).thenReturn(Optional.empty());
+		Mockito.when(fechamentoService.calcularSaldoEntrePeriodos(2l, 0, 0, 9999, 12)).thenReturn(BigDecimal.TEN);
+
+		// acao
+		PrevisaoSaldo primeira = service.prever(2l);
+		PrevisaoSaldo segunda = service.prever(2l);
+		service.invalidar(2l);
+		PrevisaoSaldo terceira = service.prever(2l);
+
+		// verificacao
+		Assertions.assertSame(primeira, segunda);
+		Assertions.assertNotSame(primeira, terceira);
+		Mockito.verify(lancamentoRepository, Mockito.times(2)).obterTotaisPorPeriodoETipo(2l, StatusLancamento.PENDENTE);
+	}
+
+	@Test
+	public void deveCachearMesmoComEscritasDeOutrosUsuariosDuranteOCalculo() {
+		// cenario
+		Mockito.when(lancamentoRepository.obterTotaisPorPeriodoETipo(3l, StatusLancamento.PENDENTE))
+				.thenReturn(Collections.emptyList());
+		Mockito.when(fechamentoService.obterUltimoFechamento(3l)).thenReturn(Optional.empty());
+		Mockito.when(fechamentoService.calcularSaldoEntrePeriodos(3l, 0, 0, 9999, 12)).thenAnswer(invocacao -> {
+			service.invalidar(4l);
+			return BigDecimal.TEN;
+		});
+
+		// acao
+		PrevisaoSaldo primeira = service.prever(3l);
+		PrevisaoSaldo segunda = service.prever(3l);
+
+		// verificacao
+		Assertions.assertSame(primeira, segunda);
+	}
+
+	@Test
+	public void naoDeveCachearUmaPrevisaoInvalidadaDuranteOCalculo() {
+		// cenario
+		Mockito.when(lancamentoRepository.obterTotaisPorPeriodoETipo(5l, StatusLancamento.PENDENTE))
+				.thenReturn(Collections.emptyList());
+		Mockito.when(fechamentoService.obterUltimoFechamento(5l)).thenReturn(Optional.empty());
+		Mockito.when(fechamentoService.calcularSaldoEntrePeriodos(5l, 0, 0, 9999, 12)).thenAnswer(invocacao -> {
+			service.invalidar(5l);
+			return BigDecimal.TEN;
+		}).thenReturn(BigDecimal.ONE);
+
+		// acao
+		service.prever(5l);
+		PrevisaoSaldo recalculada = service.prever(5l);
+
+		// verificacao
+		Assertions.assertEquals(new BigDecimal("1.00"), recalculada.getSaldoAtual());
+	}
+
+}
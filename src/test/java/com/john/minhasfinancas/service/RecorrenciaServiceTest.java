@@ -0,0 +1,87 @@
+package com.john.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.john.minhasfinancas.exception.RegraNegocioException;
+import com.john.minhasfinancas.model.entity.Lancamento;
+import com.john.minhasfinancas.model.entity.Recorrencia;
+import com.john.minhasfinancas.model.entity.Usuario;
+import com.john.minhasfinancas.model.repository.LancamentoRepository;
+import com.john.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.john.minhasfinancas.model.repository.RecorrenciaRepository;
+import com.john.minhasfinancas.service.impl.GeradorRecorrencias;
+import com.john.minhasfinancas.service.impl.RecorrenciaServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class RecorrenciaServiceTest {
+
+	@SpyBean
+	RecorrenciaServiceImpl service;
+
+	@MockBean
+	RecorrenciaRepository repository;
+
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+
+	@MockBean
+	GeradorRecorrencias gerador;
+
+	@MockBean
+	PrevisaoService previsaoService;
+
+	@Test
+	public void deveCriarUmaRecorrenciaAPartirDoLancamentoModelo() {
+		// cenario
+		Lancamento modelo = criarModelo();
+		Mockito.when(repository.save(Mockito.any(Recorrencia.class))).thenAnswer(i -> i.getArgument(0));
+
+		// acao
+		Recorrencia recorrencia = service.criar(modelo, Recorrencia.builder().quantidadeParcelas(10).build());
+
+		// verificacao
+		Assertions.assertEquals(BigDecimal.valueOf(10), recorrencia.getValor());
+		Assertions.assertEquals(1, recorrencia.getUltimaParcela());
+		Assertions.assertEquals(1, modelo.getParcela());
+		Assertions.assertSame(recorrencia, modelo.getRecorrencia());
+		Mockito.verify(lancamentoRepository).saveAndFlush(modelo);
+		Mockito.verify(gerador).gerar(Collections.singleton(1l));
+	}
+
+	@Test
+	public void naoDeveCriarUmaRecorrenciaInvalida() {
+		// cenario
+		Lancamento modelo = criarModelo();
+
+		// acao e verificacao
+		Assertions.assertThrows(RegraNegocioException.class,
+				() -> service.criar(modelo, Recorrencia.builder().quantidadeParcelas(1).build()));
+		Assertions.assertThrows(RegraNegocioException.class,
+				() -> service.criar(modelo, Recorrencia.builder().anoFinal(2020).build()));
+		Assertions.assertThrows(RegraNegocioException.class,
+				() -> service.criar(modelo, Recorrencia.builder().anoFinal(2019).mesFinal(12).build()));
+
+		modelo.setRecorrencia(Recorrencia.builder().id(1l).build());
+		Assertions.assertThrows(RegraNegocioException.class, () -> service.criar(modelo, new Recorrencia()));
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any(Recorrencia.class));
+	}
+
+	private Lancamento criarModelo() {
+		Lancamento modelo = LancamentoRepositoryTest.criarlancamento();
+		modelo.setId(1l);
+		modelo.setUsuario(Usuario.builder().id(1l).build());
+		return modelo;
+	}
+
+}
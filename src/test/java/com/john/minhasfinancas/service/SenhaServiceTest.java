@@ -0,0 +1,55 @@
+package com.john.minhasfinancas.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.john.minhasfinancas.exception.ServicoIndisponivelException;
+import com.john.minhasfinancas.service.impl.SenhaServiceImpl;
+
+public class SenhaServiceTest {
+
+	SenhaService service = new SenhaServiceImpl(4, 250, 1, 10, 10, 300);
+
+	@Test
+	public void deveVerificarUmaSenhaCriptografada() {
+		// cenario
+		String hash = service.criptografar("senha");
+
+		// acao e verificacao
+		Assertions.assertNotEquals("senha", hash);
+		Assertions.assertTrue(service.verificar("senha", hash));
+		Assertions.assertTrue(service.verificar("senha", hash));
+		Assertions.assertFalse(service.verificar("outra", hash));
+		Assertions.assertFalse(service.precisaAtualizar(hash));
+	}
+
+	@Test
+	public void deveVerificarUmaSenhaEmTextoPuroEIndicarQuePrecisaAtualizar() {
+		// acao e verificacao
+		Assertions.assertTrue(service.verificar("senha", "senha"));
+		Assertions.assertFalse(service.verificar("outra", "senha"));
+		Assertions.assertTrue(service.precisaAtualizar("senha"));
+	}
+
+	@Test
+	public void deveIndicarQueUmHashComCustoMenorPrecisaAtualizar() {
+		// cenario
+		String hash = new SenhaServiceImpl(5, 250, 1, 10, 10, 300).criptografar("senha");
+		SenhaService servicoComCustoMaior = new SenhaServiceImpl(6, 250, 1, 10, 10, 300);
+
+		// acao e verificacao
+		Assertions.assertTrue(servicoComCustoMaior.verificar("senha", hash));
+		Assertions.assertTrue(servicoComCustoMaior.precisaAtualizar(hash));
+	}
+
+	@Test
+	public void deveSinalizarServicoIndisponivelQuandoOExecutorRecusarATarefa() {
+		// cenario
+		SenhaServiceImpl servicoEncerrado = new SenhaServiceImpl(4, 250, 1, 1, 10, 300);
+		servicoEncerrado.encerrar();
+
+		// acao e verificacao
+		Assertions.assertThrows(ServicoIndisponivelException.class, () -> servicoEncerrado.criptografar("senha"));
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.john.minhasfinancas.service;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.john.minhasfinancas.model.entity.EventoLancamento;
+import com.john.minhasfinancas.service.impl.TotaisCategoriaAssinante;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class TotaisCategoriaAssinanteTest {
+
+	@SpyBean
+	TotaisCategoriaAssinante assinante;
+
+	@MockBean
+	CategoriaService categoriaService;
+
+	@Test
+	public void deveRecalcularCadaPeriodoAfetadoUmaUnicaVezPorLote() {
+		// cenario
+		EventoLancamento criacao = EventoLancamento.builder().idUsuario(1l).ano(2020).mes(9).build();
+		EventoLancamento mudancaDeMes = EventoLancamento.builder().idUsuario(1l).ano(2020).mes(10)
+				.anoAnterior(2020).mesAnterior(9).build();
+		EventoLancamento deOutroUsuario = EventoLancamento.builder().idUsuario(2l).ano(2020).mes(9).build();
+
+		// acao
+		assinante.receber(Arrays.asList(criacao, mudancaDeMes, deOutroUsuario));
+
+		// verificacao
+		Mockito.verify(categoriaService).atualizarTotais(1l, 2020, 9);
+		Mockito.verify(categoriaService).atualizarTotais(1l, 2020, 10);
+		Mockito.verify(categoriaService).atualizarTotais(2l, 2020, 9);
+		Mockito.verifyNoMoreInteractions(categoriaService);
+	}
+
+}
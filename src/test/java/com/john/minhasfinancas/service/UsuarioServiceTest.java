@@ -8,6 +8,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -15,6 +16,7 @@ import com.john.minhasfinancas.exception.ErroAutenticacao;
 import com.john.minhasfinancas.exception.RegraNegocioException;
 import com.john.minhasfinancas.model.entity.Usuario;
 import com.john.minhasfinancas.model.repository.UsuarioRepository;
+import com.john.minhasfinancas.service.impl.FiltroEmails;
 import com.john.minhasfinancas.service.impl.UsuarioServiceImpl;
 
 @ExtendWith(SpringExtension.class)
@@ -27,6 +29,12 @@ public class UsuarioServiceTest {
 	@MockBean
 	UsuarioRepository repository;
 
+	@MockBean
+	SenhaService senhaService;
+
+	@MockBean
+	FiltroEmails filtroEmails;
+
 	@Test
 	public void deveSalvarUmUsuario() {
 		// cenario
@@ -69,6 +77,7 @@ public class UsuarioServiceTest {
 
 		Usuario usuario = Usuario.builder().email(email).senha(senha).id(1l).build();
 		Mockito.when(repository.findByEmail(email)).thenReturn(Optional.of(usuario));
+		Mockito.when(senhaService.verificar(senha, senha)).thenReturn(true);
 
 		// acao
 		Usuario result = service.autenticar(email, senha);
@@ -77,6 +86,41 @@ public class UsuarioServiceTest {
 		Assertions.assertNotNull(result);
 	}
 
+	@Test
+	public void deveAtualizarOHashDaSenhaAoAutenticar() {
+		// cenario
+		String email = "email@email.com";
+		String senha = "senha";
+
+		Usuario usuario = Usuario.builder().email(email).senha(senha).id(1l).build();
+		Mockito.when(repository.findByEmail(email)).thenReturn(Optional.of(usuario));
+		Mockito.when(senhaService.verificar(senha, senha)).thenReturn(true);
+		Mockito.when(senhaService.precisaAtualizar(senha)).thenReturn(true);
+		Mockito.when(senhaService.criptografar(senha)).thenReturn("hash");
+
+		// acao
+		Usuario result = service.autenticar(email, senha);
+
+		// verificacao
+		Assertions.assertEquals("hash", result.getSenha());
+		Mockito.verify(repository).save(usuario);
+	}
+
+	@Test
+	public void deveCriptografarASenhaAoSalvarUmUsuario() {
+		// cenario
+		Mockito.doNothing().when(service).validarEmail(Mockito.anyString());
+		Usuario usuario = Usuario.builder().nome("nome").email("email@email.com").senha("senha").build();
+		Mockito.when(senhaService.criptografar("senha")).thenReturn("hash");
+		Mockito.when(repository.save(usuario)).thenReturn(usuario);
+
+		// acao
+		Usuario usuarioSalvo = service.salvarUsuario(usuario);
+
+		// verificacao
+		Assertions.assertEquals("hash", usuarioSalvo.getSenha());
+	}
+
 	@Test
 	public void deveLancarErroQUandoNaoEncontrarUsuarioCadastradoComOEmailInformado() {
 		// cenário
@@ -105,11 +149,38 @@ public class UsuarioServiceTest {
 		// Usuario usuario =
 		// Usuario.builder().nome("usuario").email("email@email.com").build();
 		// repository.save(usuario);
+		Mockito.when(filtroEmails.podeExistir(Mockito.anyString())).thenReturn(true);
 		Mockito.when(repository.existsByEmail(Mockito.anyString())).thenReturn(true);
 		// acao
 		Assertions.assertThrows(RegraNegocioException.class, () -> service.validarEmail("email@email.com"));
 	}
 
+	@Test
+	public void naoDeveConsultarABaseQuandoOFiltroGarantirQueOEmailENovo() {
+		// cenario
+		Mockito.when(filtroEmails.podeExistir(Mockito.anyString())).thenReturn(false);
+		// acao
+		service.validarEmail("email@email.com");
+		// verificacao
+		Mockito.verify(repository, Mockito.never()).existsByEmail(Mockito.anyString());
+	}
+
+	@Test
+	public void deveLancarErroQuandoAConstraintDeEmailForViolada() {
+		// cenario
+		Mockito.doNothing().when(service).validarEmail(Mockito.anyString());
+		Usuario usuario = Usuario.builder().email("email@email.com").build();
+		Mockito.when(repository.save(usuario)).thenThrow(DataIntegrityViolationException.class);
+
+		// acao
+		RegraNegocioException erro = Assertions.assertThrows(RegraNegocioException.class,
+				() -> service.salvarUsuario(usuario));
+
+		// verificacao
+		Assertions.assertEquals("Ja existe um usuario cadastrado com este email", erro.getMessage());
+		Mockito.verify(filtroEmails, Mockito.never()).adicionar(Mockito.anyString());
+	}
+
 	@Test
 	public void deveValidarEmail() {
 		// cenario